@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.api;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the configuration commits made through the admin bundles. The common classes are embedded
+ * in every admin bundle, each with its own caches, while this count is shared by all of them. A
+ * bundle notices that another bundle committed when the count differs from the one it cached a
+ * result under.
+ */
+public class ConfigurationCommits {
+
+  private static final AtomicLong COMMITS = new AtomicLong();
+
+  private ConfigurationCommits() {}
+
+  /** @return the number of commits made so far */
+  public static long current() {
+    return COMMITS.get();
+  }
+
+  /**
+   * Records a commit, whether or not it succeeded.
+   *
+   * @return the number of commits made so far, including this one
+   */
+  public static long committed() {
+    return COMMITS.incrementAndGet();
+  }
+}
@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.api.fields;
+
+import java.util.List;
+import java.util.Map;
+import org.codice.ddf.admin.api.Field;
+import org.codice.ddf.admin.api.report.FunctionReport;
+
+/**
+ * A {@code BatchFunctionField} is a {@link FunctionField} that can process several invocations in a
+ * single call. All invocations of the function requested within one execution pass of a request are
+ * collected and handed to {@link #executeBatch(List, List)} together.
+ *
+ * @param <T> the return type
+ */
+public interface BatchFunctionField<T extends Field> extends FunctionField<T> {
+
+  /**
+   * Executes every invocation of the function. {@code args} and {@code functionPaths} have the same
+   * size, the nth entry of each belonging to the nth invocation. If the batch fails with an
+   * exception, each invocation is executed again in a batch of its own, so executing an invocation
+   * must be safe to repeat.
+   *
+   * @param args the arguments of each invocation
+   * @param functionPaths the path of each invocation
+   * @return one report per invocation, in the order of the invocations
+   */
+  List<FunctionReport<T>> executeBatch(
+      List<Map<String, Object>> args, List<List<Object>> functionPaths);
+}
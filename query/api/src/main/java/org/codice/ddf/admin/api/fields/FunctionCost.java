@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.api.fields;
+
+/**
+ * Hint of how expensive executing a {@link FunctionField} is, used to budget the complexity of
+ * queries.
+ */
+public enum FunctionCost {
+  /** Computes its result from its arguments and in-memory state. */
+  COMPUTE(1),
+
+  /** Reads configurations or other local state of the system. */
+  CONFIG_READ(2),
+
+  /** Contacts a remote system, which may take seconds to respond. */
+  NETWORK_PROBE(20);
+
+  private final int weight;
+
+  FunctionCost(int weight) {
+    this.weight = weight;
+  }
+
+  /** @return the complexity a single execution of the function adds to a query */
+  public int getWeight() {
+    return weight;
+  }
+}
@@ -40,5 +40,13 @@ public interface FunctionField<T extends Field> {
 
   FunctionField<T> newInstance();
 
+  /**
+   * @return a hint of how expensive executing this function is. Functions are assumed to be pure
+   *     computations unless they override this.
+   */
+  default FunctionCost getCost() {
+    return FunctionCost.COMPUTE;
+  }
+
   List<Object> getPath();
 }
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.api.metrics;
+
+import java.beans.ConstructorProperties;
+
+/** Wall time, call count and error count of a single GraphQL field. */
+public class FieldTiming {
+
+  private final String field;
+
+  private final boolean function;
+
+  private final long count;
+
+  private final long errors;
+
+  private final double meanMillis;
+
+  private final double p50Millis;
+
+  private final double p95Millis;
+
+  private final double p99Millis;
+
+  private final double maxMillis;
+
+  @ConstructorProperties({
+    "field",
+    "function",
+    "count",
+    "errors",
+    "meanMillis",
+    "p50Millis",
+    "p95Millis",
+    "p99Millis",
+    "maxMillis"
+  })
+  public FieldTiming(
+      String field,
+      boolean function,
+      long count,
+      long errors,
+      double meanMillis,
+      double p50Millis,
+      double p95Millis,
+      double p99Millis,
+      double maxMillis) {
+    this.field = field;
+    this.function = function;
+    this.count = count;
+    this.errors = errors;
+    this.meanMillis = meanMillis;
+    this.p50Millis = p50Millis;
+    this.p95Millis = p95Millis;
+    this.p99Millis = p99Millis;
+    this.maxMillis = maxMillis;
+  }
+
+  /** @return the field, as the name of its parent type and its own name separated by a dot */
+  public String getField() {
+    return field;
+  }
+
+  /** @return whether the field executes a function */
+  public boolean isFunction() {
+    return function;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public long getErrors() {
+    return errors;
+  }
+
+  public double getMeanMillis() {
+    return meanMillis;
+  }
+
+  public double getP50Millis() {
+    return p50Millis;
+  }
+
+  public double getP95Millis() {
+    return p95Millis;
+  }
+
+  public double getP99Millis() {
+    return p99Millis;
+  }
+
+  public double getMaxMillis() {
+    return maxMillis;
+  }
+}
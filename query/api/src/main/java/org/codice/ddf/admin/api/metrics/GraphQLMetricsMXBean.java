@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.api.metrics;
+
+import java.util.List;
+
+/**
+ * Timings of the fields and functions executed by the GraphQL servlet, and counts of its schema
+ * rebuilds and parsed document cache lookups.
+ */
+public interface GraphQLMetricsMXBean {
+
+  String OBJECT_NAME = "org.codice.ddf.admin.graphql:type=GraphQLMetrics";
+
+  /** @return the timings of every field executed since the metrics were last reset */
+  List<FieldTiming> getFieldTimings();
+
+  /** @return the number of times the schema was rebuilt since the metrics were last reset */
+  long getSchemaRebuilds();
+
+  /**
+   * @return the number of schema refreshes skipped since the metrics were last reset because the
+   *     schema they would have built was identical to the current one
+   */
+  long getSkippedSchemaRebuilds();
+
+  /**
+   * @return the number of queries whose parsed and validated document was reused since the metrics
+   *     were last reset
+   */
+  long getDocumentCacheHits();
+
+  /**
+   * @return the number of queries parsed and validated since the metrics were last reset because
+   *     their document was not cached
+   */
+  long getDocumentCacheMisses();
+
+  void reset();
+}
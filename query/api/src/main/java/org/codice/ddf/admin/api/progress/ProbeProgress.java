@@ -0,0 +1,209 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.api.progress;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.codice.ddf.admin.api.request.RequestBinding;
+
+/**
+ * Progress of a probe, the discovery functions executed by a single request, identified by an ID
+ * chosen by the client. Discovery functions report the steps they take to the probe bound to their
+ * thread, which are passed on to the listeners of the probe, and stop early once the probe is
+ * cancelled.
+ *
+ * <p>Probes are shared by all bundles through this class, so that the bundles executing the
+ * functions and the bundle streaming their progress see the same probes. Probes are removed once
+ * completed, and are completed after {@link #MAX_AGE_MINUTES} if they never are, so that their
+ * listeners do not wait forever.
+ */
+public class ProbeProgress {
+
+  public static final long MAX_AGE_MINUTES = 5;
+
+  private static final ConcurrentMap<String, ProbeProgress> PROBES = new ConcurrentHashMap<>();
+
+  // Bound when no probe is, so that functions can report steps without checking for a probe
+  private static final ProbeProgress NONE = new ProbeProgress(null);
+
+  private static final RequestBinding<ProbeProgress> CURRENT = new RequestBinding<>(NONE);
+
+  private final String id;
+
+  private final long created = System.nanoTime();
+
+  private final List<ProgressEvent> events = new ArrayList<>();
+
+  private final List<Listener> listeners = new ArrayList<>();
+
+  private final List<Runnable> cancelCallbacks = new ArrayList<>();
+
+  private volatile boolean cancelled;
+
+  private boolean completed;
+
+  private ProbeProgress(String id) {
+    this.id = id;
+  }
+
+  /** @return the probe with the given ID, created if there is none */
+  public static ProbeProgress open(String id) {
+    completeExpired();
+    return PROBES.computeIfAbsent(id, ProbeProgress::new);
+  }
+
+  /** @return the probe with the given ID, if it has not completed yet */
+  public static Optional<ProbeProgress> find(String id) {
+    completeExpired();
+    return Optional.ofNullable(PROBES.get(id));
+  }
+
+  private static void completeExpired() {
+    long now = System.nanoTime();
+    for (ProbeProgress probe : PROBES.values()) {
+      if (now - probe.created > TimeUnit.MINUTES.toNanos(MAX_AGE_MINUTES)) {
+        probe.complete();
+      }
+    }
+  }
+
+  /**
+   * @return the probe bound to the current thread, or a probe discarding the steps reported to it
+   *     if there is none
+   */
+  public static ProbeProgress current() {
+    return CURRENT.current();
+  }
+
+  /** @return the ID of the probe, or null if the probe discards the steps reported to it */
+  public String getId() {
+    return id;
+  }
+
+  /** Executes {@code task} with this probe bound to the current thread. */
+  public <T> T run(Supplier<T> task) {
+    return CURRENT.run(this, task);
+  }
+
+  /** @return {@code task}, executing with this probe bound to the thread it is called on */
+  public <T> Callable<T> wrap(Callable<T> task) {
+    return CURRENT.wrap(this, task);
+  }
+
+  /** Reports a step to the listeners of this probe. */
+  public void report(String stage, String detail, boolean success) {
+    if (id == null) {
+      return;
+    }
+
+    ProgressEvent event = new ProgressEvent(stage, detail, success, System.currentTimeMillis());
+    synchronized (this) {
+      if (completed) {
+        return;
+      }
+      events.add(event);
+      // Notified while holding the lock so that each listener receives the steps in order
+      listeners.forEach(listener -> listener.onEvent(event));
+    }
+  }
+
+  /**
+   * Listens to the steps of this probe. Steps reported before the listener was added are passed on
+   * first. Listeners are notified on the threads reporting the steps and must not block.
+   *
+   * @return removes the listener
+   */
+  public synchronized Runnable listen(Listener listener) {
+    events.forEach(listener::onEvent);
+    if (completed) {
+      listener.onComplete();
+      return () -> {};
+    }
+
+    listeners.add(listener);
+    return () -> {
+      synchronized (this) {
+        listeners.remove(listener);
+      }
+    };
+  }
+
+  /** Completes this probe, notifying its listeners. Steps reported afterwards are discarded. */
+  public void complete() {
+    if (id == null) {
+      return;
+    }
+
+    PROBES.remove(id, this);
+    synchronized (this) {
+      if (completed) {
+        return;
+      }
+      completed = true;
+      listeners.forEach(Listener::onComplete);
+      listeners.clear();
+      cancelCallbacks.clear();
+    }
+  }
+
+  /** Cancels this probe, the functions executing it stop waiting for their remaining steps. */
+  public void cancel() {
+    if (id == null) {
+      return;
+    }
+
+    List<Runnable> callbacks;
+    synchronized (this) {
+      if (cancelled || completed) {
+        return;
+      }
+      cancelled = true;
+      callbacks = new ArrayList<>(cancelCallbacks);
+      cancelCallbacks.clear();
+    }
+    callbacks.forEach(Runnable::run);
+  }
+
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /** Runs {@code callback} once this probe is cancelled, right away if it already is. */
+  public void onCancel(Runnable callback) {
+    synchronized (this) {
+      if (!cancelled) {
+        if (id != null && !completed) {
+          cancelCallbacks.add(callback);
+        }
+        return;
+      }
+    }
+    callback.run();
+  }
+
+  /** Receives the steps of a probe. */
+  public interface Listener {
+
+    void onEvent(ProgressEvent event);
+
+    /** Called once the probe has completed, no more steps follow. */
+    void onComplete();
+  }
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.api.progress;
+
+/** A step taken by a discovery function while it probes an external service. */
+public class ProgressEvent {
+
+  /** A URL is about to be requested, the detail is the URL. */
+  public static final String URL_TRIED = "URL_TRIED";
+
+  /** Whether a URL could be connected to, the detail is the URL. */
+  public static final String REACHABILITY = "REACHABILITY";
+
+  /** Whether a configuration could be read from a response, the detail is the URL. */
+  public static final String PARSE = "PARSE";
+
+  /** A stage of connecting to an LDAP server, the detail describes the stage. */
+  public static final String LDAP_STAGE = "LDAP_STAGE";
+
+  private final String stage;
+
+  private final String detail;
+
+  private final boolean success;
+
+  private final long time;
+
+  public ProgressEvent(String stage, String detail, boolean success, long time) {
+    this.stage = stage;
+    this.detail = detail;
+    this.success = success;
+    this.time = time;
+  }
+
+  public String getStage() {
+    return stage;
+  }
+
+  public String getDetail() {
+    return detail;
+  }
+
+  public boolean isSuccess() {
+    return success;
+  }
+
+  /** @return when the step was taken, in milliseconds since the epoch */
+  public long getTime() {
+    return time;
+  }
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.api.progress;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.codice.ddf.admin.api.request.RequestBinding;
+
+/**
+ * Deadline of a request, bound to the threads executing its functions. Functions bound their waits
+ * and the timeouts of the services they call by the time remaining, and stop once the deadline has
+ * passed or the request is cancelled, for instance because it has been timed out.
+ */
+public class RequestDeadline {
+
+  // Bound when no deadline is, it never passes
+  private static final RequestDeadline NONE = new RequestDeadline(0, false);
+
+  private static final RequestBinding<RequestDeadline> CURRENT = new RequestBinding<>(NONE);
+
+  private final long deadlineNanos;
+
+  private final boolean bounded;
+
+  private final List<Runnable> cancelCallbacks = new ArrayList<>();
+
+  private volatile boolean cancelled;
+
+  private RequestDeadline(long deadlineNanos, boolean bounded) {
+    this.deadlineNanos = deadlineNanos;
+    this.bounded = bounded;
+  }
+
+  /** @return a deadline passing after the given {@code timeout} */
+  public static RequestDeadline after(long timeout, TimeUnit unit) {
+    return new RequestDeadline(System.nanoTime() + unit.toNanos(timeout), true);
+  }
+
+  /** @return the deadline bound to the current thread, or one that never passes if there is none */
+  public static RequestDeadline current() {
+    return CURRENT.current();
+  }
+
+  /** @return the time remaining, 0 once passed, or {@link Long#MAX_VALUE} if unbounded */
+  public long remaining(TimeUnit unit) {
+    if (!bounded) {
+      return cancelled ? 0 : Long.MAX_VALUE;
+    }
+    return cancelled
+        ? 0
+        : unit.convert(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * @param timeout a timeout of a step of the request
+   * @return the {@code timeout}, shortened to the time remaining
+   */
+  public long limit(long timeout, TimeUnit unit) {
+    return Math.min(timeout, remaining(unit));
+  }
+
+  /** @return whether the deadline has passed or the request has been cancelled */
+  public boolean isExpired() {
+    return remaining(TimeUnit.NANOSECONDS) == 0;
+  }
+
+  /** Cancels the request, its deadline passes right away. */
+  public void cancel() {
+    List<Runnable> callbacks;
+    synchronized (this) {
+      if (cancelled || this == NONE) {
+        return;
+      }
+      cancelled = true;
+      callbacks = new ArrayList<>(cancelCallbacks);
+      cancelCallbacks.clear();
+    }
+    callbacks.forEach(Runnable::run);
+  }
+
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  /** Runs {@code callback} once the request is cancelled, right away if it already is. */
+  public void onCancel(Runnable callback) {
+    synchronized (this) {
+      if (!cancelled) {
+        if (this != NONE) {
+          cancelCallbacks.add(callback);
+        }
+        return;
+      }
+    }
+    callback.run();
+  }
+
+  /** Executes {@code task} with this deadline bound to the current thread. */
+  public <T> T run(Supplier<T> task) {
+    return CURRENT.run(this, task);
+  }
+
+  /** @return {@code task}, executing with this deadline bound to the thread it is called on */
+  public <T> Callable<T> wrap(Callable<T> task) {
+    return CURRENT.wrap(this, task);
+  }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.api.request;
+
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+
+/**
+ * Binds a value of a request, such as its deadline, to the threads executing its functions, so that
+ * functions reach it without it being passed through every call.
+ *
+ * @param <T> the type of the bound value
+ */
+public final class RequestBinding<T> {
+
+  private final ThreadLocal<T> current = new ThreadLocal<>();
+
+  private final T none;
+
+  /**
+   * @param none the value standing in when no value is bound, it is never bound by {@link #wrap}
+   */
+  public RequestBinding(T none) {
+    this.none = none;
+  }
+
+  /** @return the value bound to the current thread, or the value standing in for none */
+  public T current() {
+    T value = current.get();
+    return value == null ? none : value;
+  }
+
+  /** Executes {@code task} with {@code value} bound to the current thread. */
+  public <R> R run(T value, Supplier<R> task) {
+    T previous = current.get();
+    current.set(value);
+    try {
+      return task.get();
+    } finally {
+      restore(previous);
+    }
+  }
+
+  /** @return {@code task}, executing with {@code value} bound to the thread it is called on */
+  public <R> Callable<R> wrap(T value, Callable<R> task) {
+    if (value == none) {
+      return task;
+    }
+
+    return () -> {
+      T previous = current.get();
+      current.set(value);
+      try {
+        return task.call();
+      } finally {
+        restore(previous);
+      }
+    };
+  }
+
+  private void restore(T previous) {
+    if (previous == null) {
+      current.remove();
+    } else {
+      current.set(previous);
+    }
+  }
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.api.request;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Supplier;
+
+/**
+ * Values read by the functions of a single request, such as configurations, bound to the threads
+ * executing its functions. The operations of a batched request share one, so that operations
+ * reading the same value read it once, even when they execute concurrently.
+ *
+ * <p>Values are only cached for the duration of the request and must be invalidated whenever the
+ * request changes what they are read from.
+ */
+public class RequestCache {
+
+  // Bound when no cache is, it reads every value
+  private static final RequestCache NONE = new RequestCache();
+
+  private static final RequestBinding<RequestCache> CURRENT = new RequestBinding<>(NONE);
+
+  private final ConcurrentMap<String, FutureTask<Object>> values = new ConcurrentHashMap<>();
+
+  public static RequestCache create() {
+    return new RequestCache();
+  }
+
+  /** @return the cache bound to the current thread, or one that caches nothing if there is none */
+  public static RequestCache current() {
+    return CURRENT.current();
+  }
+
+  /**
+   * @param key key unique to the value and what it is read from
+   * @param loader reads the value if it is not cached yet. Only one thread reads a value, the
+   *     others wait for it. Values that fail to be read are not cached.
+   * @return the cached value
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(String key, Supplier<T> loader) {
+    if (this == NONE) {
+      return loader.get();
+    }
+
+    FutureTask<Object> task = new FutureTask<>(loader::get);
+    FutureTask<Object> existing = values.putIfAbsent(key, task);
+    if (existing == null) {
+      existing = task;
+      task.run();
+    }
+
+    try {
+      return (T) existing.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return loader.get();
+    } catch (ExecutionException e) {
+      values.remove(key, existing);
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /** Discards all values, used once the request may have changed what they are read from. */
+  public void invalidateAll() {
+    values.clear();
+  }
+
+  public int size() {
+    return values.size();
+  }
+
+  /** Executes {@code task} with this cache bound to the current thread. */
+  public <T> T run(Supplier<T> task) {
+    return CURRENT.run(this, task);
+  }
+
+  /** @return {@code task}, executing with this cache bound to the thread it is called on */
+  public <T> Callable<T> wrap(Callable<T> task) {
+    return CURRENT.wrap(this, task);
+  }
+}
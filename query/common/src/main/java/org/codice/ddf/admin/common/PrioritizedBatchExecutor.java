@@ -26,6 +26,8 @@ import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import org.apache.commons.lang.Validate;
+import org.codice.ddf.admin.api.progress.ProbeProgress;
+import org.codice.ddf.admin.api.progress.RequestDeadline;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,12 +45,18 @@ public class PrioritizedBatchExecutor<T, R> {
 
   private static final int DEFAULT_WAIT_TIME_SEC = 60;
 
+  private static final long CANCELLATION_CHECK_MILLIS = 250;
+
   private final ExecutorService threadPool;
 
   private final List<List<Callable<T>>> tasks;
 
   private final Function<T, R> taskHandler;
 
+  private ProbeProgress probe;
+
+  private RequestDeadline deadline;
+
   /**
    * Creates a new {@code PrioritizedBatchExecutor}.
    *
@@ -102,6 +110,11 @@ public class PrioritizedBatchExecutor<T, R> {
    * not been polled, each remaining batch will be polled at least once until a result is found or
    * until all batches have been polled.
    *
+   * <p>Tasks execute with the {@link ProbeProgress} of the calling thread bound. Once the probe is
+   * cancelled, the remaining tasks are cleaned up and no result is returned. The same goes for the
+   * {@link RequestDeadline} of the calling thread, which also shortens the {@code totalWaitTime} to
+   * the time remaining.
+   *
    * @param totalWaitTime total wait time for execution
    * @param timeUnit {@code TimeUnit} to use for the {@code batchWaitTime}
    * @return an {@code Optional} containing a task's result, if there was one
@@ -110,13 +123,20 @@ public class PrioritizedBatchExecutor<T, R> {
     Validate.isTrue(totalWaitTime >= 1, "Batch wait time must be greater than 0.");
     Validate.notNull(timeUnit, "Argument {timeUnit} cannot be null.");
 
+    probe = ProbeProgress.current();
+    probe.onCancel(this::cleanUp);
+    deadline = RequestDeadline.current();
+    deadline.onCancel(this::cleanUp);
+
     try {
       List<CompletionService<T>> prioritizedCompletionServices = getPrioritizedCompletionServices();
 
-      long totalWaitTimeMillis = TimeUnit.MILLISECONDS.convert(totalWaitTime, timeUnit);
+      long totalWaitTimeMillis =
+          deadline.limit(
+              TimeUnit.MILLISECONDS.convert(totalWaitTime, timeUnit), TimeUnit.MILLISECONDS);
       long endTime = System.currentTimeMillis() + totalWaitTimeMillis;
 
-      for (int i = 0; i < tasks.size(); i++) {
+      for (int i = 0; i < tasks.size() && !isCancelled(); i++) {
         Optional<R> result =
             getResult(totalWaitTime, timeUnit, prioritizedCompletionServices, endTime, i);
         if (result.isPresent()) {
@@ -142,7 +162,7 @@ public class PrioritizedBatchExecutor<T, R> {
     int currentBatchSize = tasks.get(index).size();
 
     long lastBatchPollTime = System.currentTimeMillis();
-    for (int j = 0; j < currentBatchSize; j++) {
+    for (int j = 0; j < currentBatchSize && !isCancelled(); j++) {
 
       Future<T> taskFuture;
 
@@ -161,7 +181,7 @@ public class PrioritizedBatchExecutor<T, R> {
               index + 1,
               pollTime);
 
-          taskFuture = completionService.poll(pollTime, TimeUnit.MILLISECONDS);
+          taskFuture = poll(completionService, pollTime);
           lastBatchPollTime = System.currentTimeMillis();
         } catch (InterruptedException e) {
           LOGGER.debug(
@@ -206,6 +226,36 @@ public class PrioritizedBatchExecutor<T, R> {
     return Optional.empty();
   }
 
+  /**
+   * Polls the {@code completionService} in short intervals, so that a cancelled probe or request
+   * stops waiting for the remaining tasks.
+   */
+  private Future<T> poll(CompletionService<T> completionService, long pollTimeMillis)
+      throws InterruptedException {
+    long pollEndTime = System.currentTimeMillis() + pollTimeMillis;
+    Future<T> taskFuture = null;
+    for (long remaining = pollTimeMillis;
+        taskFuture == null && remaining > 0 && !isCancelled();
+        remaining = pollEndTime - System.currentTimeMillis()) {
+      taskFuture =
+          completionService.poll(
+              Math.min(remaining, CANCELLATION_CHECK_MILLIS), TimeUnit.MILLISECONDS);
+    }
+    return taskFuture;
+  }
+
+  private boolean isCancelled() {
+    if (probe.isCancelled()) {
+      LOGGER.debug("Probe [{}] cancelled, abandoning the remaining tasks.", probe.getId());
+      return true;
+    }
+    if (deadline.isExpired()) {
+      LOGGER.debug("Request deadline passed, abandoning the remaining tasks.");
+      return true;
+    }
+    return false;
+  }
+
   private List<CompletionService<T>> getPrioritizedCompletionServices() {
     List<CompletionService<T>> prioritizedCompletionServices = new ArrayList<>();
 
@@ -213,7 +263,7 @@ public class PrioritizedBatchExecutor<T, R> {
       CompletionService<T> completionService = new ExecutorCompletionService<>(threadPool);
 
       for (Callable<T> task : taskBatch) {
-        completionService.submit(task);
+        completionService.submit(deadline.wrap(probe.wrap(task)));
       }
 
       prioritizedCompletionServices.add(completionService);
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.common.fields.base;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.codice.ddf.admin.api.Field;
+import org.codice.ddf.admin.api.fields.BatchFunctionField;
+import org.codice.ddf.admin.api.progress.RequestDeadline;
+import org.codice.ddf.admin.api.report.ErrorMessage;
+import org.codice.ddf.admin.api.report.FunctionReport;
+import org.codice.ddf.admin.common.report.message.DefaultMessages;
+
+/**
+ * Base class of functions that process all of their invocations within a request in a single call
+ * to {@link #performBatchFunction(List)}. Each invocation is populated and validated on its own
+ * instance created by {@link #newInstance()}; only invocations that pass validation are handed to
+ * {@link #performBatchFunction(List)}. As with {@link #execute(Map, List)}, the batch is not
+ * performed once the {@link RequestDeadline} of the request has passed, each valid invocation
+ * reporting a {@link DefaultMessages#REQUEST_TIMED_OUT} error instead.
+ *
+ * @param <T> the return type
+ */
+public abstract class BaseBatchFunctionField<T extends Field> extends BaseFunctionField<T>
+    implements BatchFunctionField<T> {
+
+  public BaseBatchFunctionField(String name, String description) {
+    super(name, description);
+  }
+
+  /**
+   * Performs the function for a batch of invocations. Errors that apply to a single invocation can
+   * be reported with {@link #addErrorMessage(BaseBatchFunctionField, ErrorMessage)}.
+   *
+   * @param functions instances of this function, each populated with the arguments and path of one
+   *     invocation
+   * @return the result of each function, in the order of {@code functions}
+   */
+  public abstract List<T> performBatchFunction(List<BaseBatchFunctionField<T>> functions);
+
+  @Override
+  public T performFunction() {
+    return performBatchFunction(Collections.singletonList(this)).get(0);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public List<FunctionReport<T>> executeBatch(
+      List<Map<String, Object>> args, List<List<Object>> functionPaths) {
+    List<BaseBatchFunctionField<T>> functions = new ArrayList<>(args.size());
+    List<BaseBatchFunctionField<T>> validFunctions = new ArrayList<>(args.size());
+
+    for (int i = 0; i < args.size(); i++) {
+      BaseBatchFunctionField<T> function = (BaseBatchFunctionField<T>) newInstance();
+      function.prepare(args.get(i), functionPaths.get(i));
+      functions.add(function);
+      if (!function.containsErrorMsgs()) {
+        validFunctions.add(function);
+      }
+    }
+
+    if (!validFunctions.isEmpty() && RequestDeadline.current().isExpired()) {
+      validFunctions.forEach(
+          function -> function.addErrorMessage(DefaultMessages.requestTimedOutError()));
+      validFunctions.clear();
+    }
+
+    if (!validFunctions.isEmpty()) {
+      List<T> results = performBatchFunction(validFunctions);
+      if (results.size() != validFunctions.size()) {
+        throw new IllegalStateException(
+            String.format(
+                "Function %s returned %d results for %d invocations.",
+                getFunctionName(), results.size(), validFunctions.size()));
+      }
+
+      for (int i = 0; i < results.size(); i++) {
+        validFunctions.get(i).getReport().setResult(results.get(i));
+      }
+    }
+
+    return functions.stream().map(BaseFunctionField::getReport).collect(Collectors.toList());
+  }
+
+  protected void addErrorMessage(BaseBatchFunctionField<T> function, ErrorMessage msg) {
+    function.addErrorMessage(msg);
+  }
+}
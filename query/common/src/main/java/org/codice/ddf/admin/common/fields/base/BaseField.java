@@ -15,7 +15,6 @@ package org.codice.ddf.admin.common.fields.base;
 
 import static org.codice.ddf.admin.common.report.message.DefaultMessages.missingRequiredFieldError;
 
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import java.util.ArrayList;
 import java.util.List;
@@ -24,7 +23,7 @@ import org.codice.ddf.admin.api.Field;
 import org.codice.ddf.admin.api.report.ErrorMessage;
 import org.codice.ddf.admin.common.report.message.DefaultMessages;
 
-public abstract class BaseField<T> implements Field<T> {
+public abstract class BaseField<T> implements Field<T>, Cloneable {
 
   private String name;
 
@@ -32,7 +31,7 @@ public abstract class BaseField<T> implements Field<T> {
 
   private String description;
 
-  private List<Object> path;
+  private FieldPath path;
 
   private boolean isRequired;
 
@@ -42,7 +41,7 @@ public abstract class BaseField<T> implements Field<T> {
     this.name = name;
     this.typeName = typeName;
     this.description = description;
-    path = new ArrayList<>();
+    path = FieldPath.EMPTY;
     isRequired = false;
   }
 
@@ -105,12 +104,21 @@ public abstract class BaseField<T> implements Field<T> {
 
   @Override
   public List<Object> getPath() {
-    return new ImmutableList.Builder().addAll(path).build();
+    return path;
   }
 
   @Override
   public void setPath(List<Object> path) {
-    this.path.clear();
-    this.path.addAll(path);
+    this.path = FieldPath.of(path);
+  }
+
+  /** @return a copy of this field sharing all of its state, see {@link FieldPrototypes} */
+  @SuppressWarnings("unchecked")
+  BaseField<T> shallowCopy() {
+    try {
+      return (BaseField<T>) super.clone();
+    } catch (CloneNotSupportedException e) {
+      throw new IllegalStateException(e);
+    }
   }
 }
@@ -13,24 +13,26 @@
  */
 package org.codice.ddf.admin.common.fields.base;
 
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
-import java.util.ArrayList;
-import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import org.codice.ddf.admin.api.ConfigurationCommits;
 import org.codice.ddf.admin.api.Field;
 import org.codice.ddf.admin.api.fields.FunctionField;
+import org.codice.ddf.admin.api.progress.RequestDeadline;
 import org.codice.ddf.admin.api.report.ErrorMessage;
 import org.codice.ddf.admin.api.report.FunctionReport;
 import org.codice.ddf.admin.api.report.Report;
 import org.codice.ddf.admin.common.report.FunctionReportImpl;
+import org.codice.ddf.admin.common.report.message.DefaultMessages;
 import org.codice.ddf.admin.common.report.message.ErrorMessageImpl;
+import org.codice.ddf.admin.common.services.FunctionResultCache;
 
-public abstract class BaseFunctionField<T extends Field> implements FunctionField<T> {
+public abstract class BaseFunctionField<T extends Field> implements FunctionField<T>, Cloneable {
 
   private FunctionReportImpl<T> report;
 
@@ -38,12 +40,12 @@ public abstract class BaseFunctionField<T extends Field> implements FunctionFiel
 
   private String description;
 
-  private List<Object> path;
+  private FieldPath path;
 
   public BaseFunctionField(String name, String description) {
     this.name = name;
     this.description = description;
-    path = new ArrayList<>();
+    path = FieldPath.EMPTY;
     report = new FunctionReportImpl<>();
   }
 
@@ -89,45 +91,130 @@ public abstract class BaseFunctionField<T extends Field> implements FunctionFiel
         .forEach(field -> field.setValue(args.get(field.getFieldName())));
   }
 
+  /**
+   * Validates the arguments and performs the function, unless the {@link RequestDeadline} of the
+   * request has passed, in which case a {@link DefaultMessages#REQUEST_TIMED_OUT} error is reported
+   * instead.
+   */
   @Override
   public FunctionReport<T> execute(Map<String, Object> args, List<Object> functionPath) {
+    prepare(args, functionPath);
+    if (!report.containsErrorMessages() && RequestDeadline.current().isExpired()) {
+      addErrorMessage(DefaultMessages.requestTimedOutError());
+    }
+
+    if (!report.containsErrorMessages()) {
+      Object resultSource = getResultSource();
+      report.setResult(
+          resultSource == null ? performFunction() : performCachedFunction(resultSource));
+    }
+
+    return report;
+  }
+
+  /**
+   * Read-only functions whose result is costly to compute may return the service their result is
+   * read from. Successful results are then shared for a short time, through the {@link
+   * FunctionResultCache}, with invocations of the same function reading from the same service.
+   * Results that reflect live state, such as the availability of a remote service, must not be
+   * cached.
+   *
+   * @return the service the result is read from, or null if the result should not be cached
+   */
+  protected Object getResultSource() {
+    return null;
+  }
+
+  /**
+   * @return the pids and factory pids of the configurations a cached result is read from. A change
+   *     to any of them evicts the result. If empty, any configuration change evicts it.
+   */
+  protected Set<String> getResultDependencies() {
+    return Collections.emptySet();
+  }
+
+  /**
+   * Invocations are handed copies of the cached result, so that the fields of the result read by
+   * one invocation are never modified by another.
+   */
+  private T performCachedFunction(Object resultSource) {
+    FunctionResultCache cache = FunctionResultCache.getInstance();
+    String functionKey = getClass().getName() + "." + getFunctionName();
+    List<Object> argValues =
+        getArguments().stream().map(Field::getValue).collect(Collectors.toList());
+
+    long commits = ConfigurationCommits.current();
+    T cached = cache.get(resultSource, functionKey, argValues);
+    if (cached != null) {
+      return FieldPrototypes.copy(cached);
+    }
+
+    T result = performFunction();
+    if (result != null && !containsErrorMsgs()) {
+      cache.put(
+          resultSource,
+          functionKey,
+          argValues,
+          FieldPrototypes.copy(result),
+          getResultDependencies(),
+          commits);
+    }
+    return result;
+  }
+
+  /**
+   * Copies this function along with its arguments, instead of running its constructor. Functions
+   * may return a copy from {@link #newInstance()} when the rest of their state is either immutable
+   * or meant to be shared by all invocations, such as services. The function being copied must not
+   * have been executed.
+   */
+  protected BaseFunctionField<T> copy() {
+    BaseFunctionField<T> copy = FieldPrototypes.copy(this);
+    copy.report = new FunctionReportImpl<>();
+    return copy;
+  }
+
+  /** @return a copy of this function sharing all of its state, see {@link FieldPrototypes} */
+  @SuppressWarnings("unchecked")
+  BaseFunctionField<T> shallowCopy() {
+    try {
+      return (BaseFunctionField<T>) super.clone();
+    } catch (CloneNotSupportedException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** Populates the arguments and path of this function and validates the arguments. */
+  void prepare(Map<String, Object> args, List<Object> functionPath) {
     setArguments(args);
     setPath(functionPath);
     validate();
-    if (!report.containsErrorMessages()) {
-      report.setResult(performFunction());
-    }
+  }
 
+  FunctionReportImpl<T> getReport() {
     return report;
   }
 
   @Override
   public List<Object> getPath() {
-    return new ImmutableList.Builder<>().addAll(path).build();
+    return path;
   }
 
   protected void setPath(List<Object> path) {
     if (path == null) {
       return;
     }
-    this.path.clear();
-    this.path.addAll(path);
-    getArguments()
-        .forEach(
-            arg ->
-                arg.setPath(
-                    new ImmutableList.Builder<>()
-                        .addAll(getPath())
-                        .add(arg.getFieldName())
-                        .build()));
+    this.path = FieldPath.of(path);
+    getArguments().forEach(arg -> arg.setPath(this.path.child(arg.getFieldName())));
   }
 
   public void validate() {
-    getArguments()
-        .stream()
-        .map(Field::validate)
-        .flatMap(Collection<ErrorMessage>::stream)
-        .forEach(this::addErrorMessage);
+    for (Field argument : getArguments()) {
+      List<ErrorMessage> errors = argument.validate();
+      for (ErrorMessage error : errors) {
+        addErrorMessage(error);
+      }
+    }
   }
 
   protected boolean containsErrorMsgs() {
@@ -13,14 +13,14 @@
  */
 package org.codice.ddf.admin.common.fields.base;
 
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Callable;
-import java.util.stream.Collectors;
 import org.codice.ddf.admin.api.Field;
 import org.codice.ddf.admin.api.fields.ListField;
 import org.codice.ddf.admin.api.report.ErrorMessage;
@@ -42,14 +42,16 @@ public abstract class BaseListField<T extends Field> extends BaseField<List>
     return elements;
   }
 
+  /** @return a read-only view of the values of the elements */
   @Override
   public List getValue() {
-    return elements.stream().map(Field::getValue).collect(Collectors.toList());
+    return Collections.unmodifiableList(Lists.transform(elements, Field::getValue));
   }
 
+  /** @return a read-only view of the sanitized values of the elements */
   @Override
   public List getSanitizedValue() {
-    return elements.stream().map(Field::getSanitizedValue).collect(Collectors.toList());
+    return Collections.unmodifiableList(Lists.transform(elements, Field::getSanitizedValue));
   }
 
   @Override
@@ -96,13 +98,9 @@ public abstract class BaseListField<T extends Field> extends BaseField<List>
     List<ErrorMessage> validationMsgs = super.validate();
 
     if (validationMsgs.isEmpty() && (getList() != null)) {
-      List<ErrorMessage> fieldValidationMsgs =
-          getList()
-              .stream()
-              .map(field -> (List<ErrorMessage>) field.validate())
-              .flatMap(Collection::stream)
-              .collect(Collectors.toList());
-      validationMsgs.addAll(fieldValidationMsgs);
+      for (T field : getList()) {
+        validationMsgs.addAll(field.validate());
+      }
     }
 
     return validationMsgs;
@@ -117,8 +115,9 @@ public abstract class BaseListField<T extends Field> extends BaseField<List>
   @Override
   public void setPath(List<Object> path) {
     super.setPath(path);
+    FieldPath fieldPath = FieldPath.of(getPath());
     for (int i = 0; i < getList().size(); i++) {
-      getList().get(i).setPath(createElemPath(getPath(), i));
+      getList().get(i).setPath(fieldPath.child(i));
     }
   }
 
@@ -130,10 +129,6 @@ public abstract class BaseListField<T extends Field> extends BaseField<List>
         .build();
   }
 
-  private List<Object> createElemPath(List<Object> path, int index) {
-    return new ImmutableList.Builder<>().addAll(path).add(index).build();
-  }
-
   public BaseListField<T> useDefaultRequired() {
     return this;
   }
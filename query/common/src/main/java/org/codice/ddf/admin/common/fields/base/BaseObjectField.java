@@ -13,10 +13,8 @@
  */
 package org.codice.ddf.admin.common.fields.base;
 
-import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -33,26 +31,16 @@ public abstract class BaseObjectField extends BaseField<Map<String, Object>>
     super(fieldName, fieldTypeName, description);
   }
 
+  /** @return a read-only view of the values of the inner fields, keyed by field name */
   @Override
   public Map<String, Object> getValue() {
-    Map<String, Object> values = new HashMap<>();
-
-    for (Field field : getFields()) {
-      values.put(field.getFieldName(), field.getValue());
-    }
-
-    return values;
+    return new FieldValueMap(getFields(), false);
   }
 
+  /** @return a read-only view of the sanitized values of the inner fields, keyed by field name */
   @Override
   public Map<String, Object> getSanitizedValue() {
-    Map<String, Object> values = new HashMap<>();
-
-    for (Field field : getFields()) {
-      values.put(field.getFieldName(), field.getSanitizedValue());
-    }
-
-    return values;
+    return new FieldValueMap(getFields(), true);
   }
 
   @Override
@@ -75,22 +63,20 @@ public abstract class BaseObjectField extends BaseField<Map<String, Object>>
       return validationErrors;
     }
 
-    validationErrors.addAll(
-        getFields()
-            .stream()
-            .map(field -> (List<ErrorMessage>) field.validate())
-            .flatMap(Collection::stream)
-            .collect(Collectors.toList()));
+    for (Field field : getFields()) {
+      validationErrors.addAll(field.validate());
+    }
     return validationErrors;
   }
 
   @Override
   public void setPath(List<Object> path) {
     super.setPath(path);
+    FieldPath fieldPath = FieldPath.of(getPath());
     getFields()
         .stream()
         .filter(Objects::nonNull)
-        .forEach(child -> child.setPath(createInnerFieldPath(getPath(), child.getFieldName())));
+        .forEach(child -> child.setPath(fieldPath.child(child.getFieldName())));
   }
 
   @Override
@@ -105,8 +91,4 @@ public abstract class BaseObjectField extends BaseField<Map<String, Object>>
                 .collect(Collectors.toList()))
         .build();
   }
-
-  private List<Object> createInnerFieldPath(List<Object> path, String childName) {
-    return new ImmutableList.Builder<>().addAll(path).add(childName).build();
-  }
 }
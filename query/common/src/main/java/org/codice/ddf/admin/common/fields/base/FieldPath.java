@@ -0,0 +1,83 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.common.fields.base;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Immutable path of a field, linked to the path of its parent so that the fields of a tree share
+ * the segments their paths have in common. Setting the path of a field therefore only allocates a
+ * single segment per field. The segments are collected the first time the path is read, which
+ * usually only happens when an error is reported for the field.
+ */
+public final class FieldPath extends AbstractList<Object> implements RandomAccess {
+
+  public static final FieldPath EMPTY = new FieldPath(null, null, 0);
+
+  private final FieldPath parent;
+
+  private final Object segment;
+
+  private final int size;
+
+  private volatile Object[] segments;
+
+  private FieldPath(FieldPath parent, Object segment, int size) {
+    this.parent = parent;
+    this.segment = segment;
+    this.size = size;
+  }
+
+  /** @return the {@code path} itself if it is a {@link FieldPath}, otherwise a copy of it */
+  public static FieldPath of(List<Object> path) {
+    if (path instanceof FieldPath) {
+      return (FieldPath) path;
+    }
+
+    FieldPath fieldPath = EMPTY;
+    for (Object pathSegment : path) {
+      fieldPath = fieldPath.child(pathSegment);
+    }
+    return fieldPath;
+  }
+
+  /** @return the path of the child field, or list element, with the given name or index */
+  public FieldPath child(Object childSegment) {
+    return new FieldPath(this, childSegment, size + 1);
+  }
+
+  @Override
+  public Object get(int index) {
+    return segments()[index];
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  private Object[] segments() {
+    Object[] collected = segments;
+    if (collected == null) {
+      collected = new Object[size];
+      for (FieldPath node = this; node.size > 0; node = node.parent) {
+        collected[node.size - 1] = node.segment;
+      }
+      segments = collected;
+    }
+    return collected;
+  }
+}
@@ -0,0 +1,265 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.common.fields.base;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.codice.ddf.admin.api.Field;
+
+/**
+ * Copies fields and functions from a prototype instead of running their constructors.
+ *
+ * <p>Every member of a field or function is copied according to the value it holds:
+ *
+ * <ul>
+ *   <li>fields and functions are copied
+ *   <li>lists and maps are copied along with the fields they hold. Immutable lists and maps stay
+ *       immutable, and are shared when they hold no fields
+ *   <li>everything else, such as services, utilities and scalar values, is shared with the
+ *       prototype. Scalar values are replaced rather than modified when set, so the copy and the
+ *       prototype never see each other's values
+ * </ul>
+ *
+ * Fields held any other way, for instance in a set, an array, an {@link Optional} or captured by a
+ * lambda, cannot be copied and fail the copy with an {@link IllegalStateException} rather than
+ * being shared.
+ */
+final class FieldPrototypes {
+
+  private static final String UNMODIFIABLE_PREFIX = "java.util.Collections$Unmodifiable";
+
+  private static final ClassValue<List<java.lang.reflect.Field>> MEMBERS =
+      new ClassValue<List<java.lang.reflect.Field>>() {
+        @Override
+        protected List<java.lang.reflect.Field> computeValue(Class<?> type) {
+          List<java.lang.reflect.Field> members = new ArrayList<>();
+          for (Class<?> current = type;
+              current != Object.class;
+              current = current.getSuperclass()) {
+            for (java.lang.reflect.Field member : current.getDeclaredFields()) {
+              if (!Modifier.isStatic(member.getModifiers()) && !member.getType().isPrimitive()) {
+                member.setAccessible(true);
+                members.add(member);
+              }
+            }
+          }
+          return members;
+        }
+      };
+
+  private FieldPrototypes() {}
+
+  /**
+   * @param prototype the field or function to copy
+   * @return a copy of the {@code prototype} that shares none of its fields with it
+   * @throws IllegalStateException if the {@code prototype} holds fields that cannot be copied
+   */
+  static <T> T copy(T prototype) {
+    return copy(prototype, new IdentityHashMap<>());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T copy(T original, Map<Object, Object> copies) {
+    if (original == null) {
+      return null;
+    }
+
+    Object copy = copies.get(original);
+    if (copy != null) {
+      return (T) copy;
+    }
+
+    if (original instanceof BaseField) {
+      copy = copyMembers(original, ((BaseField) original).shallowCopy(), copies);
+    } else if (original instanceof BaseFunctionField) {
+      copy = copyMembers(original, ((BaseFunctionField) original).shallowCopy(), copies);
+    } else if (original instanceof List) {
+      copy = copyList((List<Object>) original, copies);
+    } else if (original instanceof Map) {
+      copy = copyMap((Map<Object, Object>) original, copies);
+    } else {
+      checkHoldsNoFields(original);
+      copy = original;
+    }
+    return (T) copy;
+  }
+
+  private static Object copyMembers(Object original, Object copy, Map<Object, Object> copies) {
+    copies.put(original, copy);
+    for (java.lang.reflect.Field member : MEMBERS.get(original.getClass())) {
+      try {
+        member.set(copy, copyMember(original, member, copies));
+      } catch (IllegalAccessException e) {
+        throw new IllegalStateException(
+            String.format(
+                "Unable to copy %s of %s.", member.getName(), original.getClass().getName()),
+            e);
+      }
+    }
+    return copy;
+  }
+
+  private static Object copyMember(
+      Object original, java.lang.reflect.Field member, Map<Object, Object> copies)
+      throws IllegalAccessException {
+    Object value = member.get(original);
+    try {
+      return copy(value, copies);
+    } catch (IllegalStateException e) {
+      throw new IllegalStateException(
+          String.format(
+              "Unable to copy %s of %s, %s",
+              member.getName(), original.getClass().getName(), e.getMessage()),
+          e);
+    }
+  }
+
+  private static List<Object> copyList(List<Object> original, Map<Object, Object> copies) {
+    boolean immutable = isImmutable(original);
+    if (immutable && !containsFields(original)) {
+      copies.put(original, original);
+      return original;
+    }
+
+    List<Object> list =
+        original instanceof LinkedList ? new LinkedList<>() : new ArrayList<>(original.size());
+    copies.put(original, list);
+    for (Object element : original) {
+      list.add(copy(element, copies));
+    }
+
+    if (!immutable) {
+      return list;
+    }
+
+    List<Object> copy =
+        original instanceof ImmutableList
+            ? ImmutableList.copyOf(list)
+            : Collections.unmodifiableList(list);
+    copies.put(original, copy);
+    return copy;
+  }
+
+  private static Map<Object, Object> copyMap(
+      Map<Object, Object> original, Map<Object, Object> copies) {
+    boolean immutable = isImmutable(original);
+    if (immutable && !containsFields(original.values())) {
+      copies.put(original, original);
+      return original;
+    }
+
+    Map<Object, Object> map =
+        original instanceof HashMap && !(original instanceof LinkedHashMap)
+            ? new HashMap<>()
+            : new LinkedHashMap<>();
+    copies.put(original, map);
+    original.forEach((key, value) -> map.put(key, copy(value, copies)));
+
+    if (!immutable) {
+      return map;
+    }
+
+    Map<Object, Object> copy =
+        original instanceof ImmutableMap
+            ? ImmutableMap.copyOf(map)
+            : Collections.unmodifiableMap(map);
+    copies.put(original, copy);
+    return copy;
+  }
+
+  private static boolean isImmutable(Object container) {
+    return container instanceof ImmutableList
+        || container instanceof ImmutableMap
+        || container instanceof FieldPath
+        || container.getClass().getName().startsWith(UNMODIFIABLE_PREFIX);
+  }
+
+  private static boolean containsFields(Collection<?> values) {
+    for (Object value : values) {
+      if (isFieldHolder(value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static boolean isFieldHolder(Object value) {
+    if (value instanceof Field || value instanceof BaseFunctionField) {
+      return true;
+    }
+
+    if (value instanceof Collection) {
+      return containsFields((Collection<?>) value);
+    }
+
+    if (value instanceof Map) {
+      return containsFields(((Map<?, ?>) value).values());
+    }
+
+    if (value instanceof Optional) {
+      return ((Optional<?>) value).map(FieldPrototypes::isFieldHolder).orElse(false);
+    }
+
+    if (value instanceof Object[]) {
+      for (Object element : (Object[]) value) {
+        if (isFieldHolder(element)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Values that are shared with the prototype must not hold fields, or the copy would modify the
+   * fields of the prototype. Lambdas are checked for the values they capture.
+   */
+  private static void checkHoldsNoFields(Object value) {
+    if (isFieldHolder(value)) {
+      throw new IllegalStateException(
+          String.format("a %s holding fields cannot be copied.", value.getClass().getName()));
+    }
+
+    if (!value.getClass().isSynthetic()) {
+      return;
+    }
+
+    for (java.lang.reflect.Field captured : value.getClass().getDeclaredFields()) {
+      if (Modifier.isStatic(captured.getModifiers()) || captured.getType().isPrimitive()) {
+        continue;
+      }
+
+      captured.setAccessible(true);
+      try {
+        if (isFieldHolder(captured.get(value))) {
+          throw new IllegalStateException(
+              "a lambda capturing fields cannot be copied, capture the values it needs instead.");
+        }
+      } catch (IllegalAccessException e) {
+        throw new IllegalStateException("the values captured by a lambda cannot be checked.", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.common.fields.base;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.codice.ddf.admin.api.Field;
+
+/**
+ * Read-only view of the values of a list of fields, keyed by field name. The value of a field is
+ * only read when it is looked up, so nested object and list fields are not copied into maps and
+ * lists up front. The view reflects later changes to the fields.
+ *
+ * <p>Fields are looked up by name through an index built on the first lookup, so looking up every
+ * field of an object does not scan its fields once per lookup.
+ */
+class FieldValueMap extends AbstractMap<String, Object> {
+
+  private final List<Field> fields;
+
+  private final boolean sanitized;
+
+  private volatile Map<String, Field> index;
+
+  /** @param sanitized whether to return the sanitized values of the fields */
+  FieldValueMap(List<Field> fields, boolean sanitized) {
+    this.fields = fields;
+    this.sanitized = sanitized;
+  }
+
+  @Override
+  public Object get(Object key) {
+    Field field = find(key);
+    return field == null ? null : valueOf(field);
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return find(key) != null;
+  }
+
+  @Override
+  public int size() {
+    return fields.size();
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    return new AbstractSet<Entry<String, Object>>() {
+      @Override
+      public Iterator<Entry<String, Object>> iterator() {
+        Iterator<Field> iterator = fields.iterator();
+        return new Iterator<Entry<String, Object>>() {
+          @Override
+          public boolean hasNext() {
+            return iterator.hasNext();
+          }
+
+          @Override
+          public Entry<String, Object> next() {
+            Field field = iterator.next();
+            return new SimpleImmutableEntry<>(field.getFieldName(), valueOf(field));
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return fields.size();
+      }
+    };
+  }
+
+  private Field find(Object key) {
+    Map<String, Field> byName = index;
+    if (byName == null) {
+      byName = new HashMap<>();
+      for (Field field : fields) {
+        // The first of fields sharing a name is the one looked up
+        byName.putIfAbsent(field.getFieldName(), field);
+      }
+      index = byName;
+    }
+    return byName.get(key);
+  }
+
+  private Object valueOf(Field field) {
+    return sanitized ? field.getSanitizedValue() : field.getValue();
+  }
+}
@@ -16,6 +16,7 @@ package org.codice.ddf.admin.common.fields.base.function;
 import java.util.Collections;
 import java.util.List;
 import org.codice.ddf.admin.api.Field;
+import org.codice.ddf.admin.api.fields.FunctionCost;
 import org.codice.ddf.admin.common.fields.base.BaseFunctionField;
 
 public abstract class GetFunctionField<T extends Field> extends BaseFunctionField<T> {
@@ -28,4 +29,9 @@ public abstract class GetFunctionField<T extends Field> extends BaseFunctionFiel
   public List<Field> getArguments() {
     return Collections.emptyList();
   }
+
+  @Override
+  public FunctionCost getCost() {
+    return FunctionCost.CONFIG_READ;
+  }
 }
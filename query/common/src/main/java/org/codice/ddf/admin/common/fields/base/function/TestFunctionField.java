@@ -13,6 +13,7 @@
  */
 package org.codice.ddf.admin.common.fields.base.function;
 
+import org.codice.ddf.admin.api.fields.FunctionCost;
 import org.codice.ddf.admin.common.fields.base.BaseFunctionField;
 import org.codice.ddf.admin.common.fields.base.scalar.BooleanField;
 
@@ -28,4 +29,9 @@ public abstract class TestFunctionField extends BaseFunctionField<BooleanField>
   public BooleanField getReturnType() {
     return RETURN_TYPE;
   }
+
+  @Override
+  public FunctionCost getCost() {
+    return FunctionCost.NETWORK_PROBE;
+  }
 }
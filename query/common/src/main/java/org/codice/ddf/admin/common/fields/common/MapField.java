@@ -18,17 +18,24 @@ import static org.codice.ddf.admin.common.report.message.DefaultMessages.duplica
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.Callable;
-import java.util.stream.Collectors;
 import org.codice.ddf.admin.api.Field;
 import org.codice.ddf.admin.api.report.ErrorMessage;
 import org.codice.ddf.admin.common.fields.base.BaseListField;
 import org.codice.ddf.admin.common.fields.base.BaseObjectField;
 import org.codice.ddf.admin.common.report.message.DefaultMessages;
 
+/**
+ * Map of string keys to string values, exposed as a list of {@link PairField}s. The entries are
+ * indexed by key, so keys are looked up without scanning the entries. The index is kept in sync by
+ * {@link #put(String, String)} and {@link #setValue(Map)}; the keys of the entries must not be
+ * changed through the entries themselves.
+ */
 public class MapField extends BaseObjectField {
 
   public static final String DEFAULT_FIELD_NAME = "map";
@@ -39,9 +46,13 @@ public class MapField extends BaseObjectField {
 
   private PairField.ListImpl entries;
 
+  // Key to the first entry with that key
+  private Map<String, PairField> index;
+
   public MapField() {
     super(DEFAULT_FIELD_NAME, FIELD_TYPE_NAME, DESCRIPTION);
     entries = new PairField.ListImpl();
+    index = new HashMap<>();
   }
 
   @Override
@@ -49,30 +60,42 @@ public class MapField extends BaseObjectField {
     return ImmutableList.of(entries);
   }
 
+  @Override
+  public void setValue(Map<String, Object> values) {
+    super.setValue(values);
+    index.clear();
+    for (PairField pair : entries.getList()) {
+      index.putIfAbsent(pair.key(), pair);
+    }
+  }
+
   public MapField put(String key, String value) {
-    if (containsKey(key)) {
-      entries
-          .getList()
-          .stream()
-          .filter(p -> p.key().equals(key))
-          .findFirst()
-          .ifPresent(pair -> pair.value(value));
+    PairField entry = index.get(key);
+    if (entry != null) {
+      entry.value(value);
     } else {
       entries.add(new PairField().key(key).value(value));
+      List<PairField> pairs = entries.getList();
+      index.put(key, pairs.get(pairs.size() - 1));
     }
     return this;
   }
 
   public boolean containsValue(String value) {
-    return entries.getList().stream().anyMatch(pair -> pair.value().equals(value));
+    for (PairField pair : entries.getList()) {
+      if (pair.value().equals(value)) {
+        return true;
+      }
+    }
+    return false;
   }
 
   public boolean containsKey(String key) {
-    return entries.getList().stream().anyMatch(pair -> pair.key().equals(key));
+    return index.containsKey(key);
   }
 
   public Optional<PairField> getEntry(String key) {
-    return entries.getList().stream().filter(entry -> entry.key().equals(key)).findFirst();
+    return Optional.ofNullable(index.get(key));
   }
 
   public boolean isEmpty() {
@@ -86,19 +109,22 @@ public class MapField extends BaseObjectField {
       return validationMsgs;
     }
 
-    for (PairField toMatch : entries.getList()) {
-      List<PairField> duplicatePairs =
-          entries
-              .getList()
-              .stream()
-              .filter(pair -> pair.key().equals(toMatch.key()))
-              .collect(Collectors.toList());
-
-      if (duplicatePairs.size() > 1) {
-        validationMsgs.add(duplicateMapKeyError(duplicatePairs.get(1).getPath()));
-        break;
+    // Reports the second entry of the duplicated key whose first entry comes first
+    List<PairField> pairs = entries.getList();
+    Map<String, Integer> firstIndices = new HashMap<>();
+    int firstDuplicated = pairs.size();
+    PairField duplicate = null;
+    for (int i = 0; i < pairs.size(); i++) {
+      Integer first = firstIndices.putIfAbsent(pairs.get(i).key(), i);
+      if (first != null && first < firstDuplicated) {
+        firstDuplicated = first;
+        duplicate = pairs.get(i);
       }
     }
+
+    if (duplicate != null) {
+      validationMsgs.add(duplicateMapKeyError(duplicate.getPath()));
+    }
     return validationMsgs;
   }
 
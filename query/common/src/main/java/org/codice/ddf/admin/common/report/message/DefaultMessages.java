@@ -56,6 +56,8 @@ public class DefaultMessages {
 
   public static final String DIRECTORY_DOES_NOT_EXIST = "DIRECTORY_DOES_NOT_EXIST";
 
+  public static final String REQUEST_TIMED_OUT = "REQUEST_TIMED_OUT";
+
   private DefaultMessages() {}
 
   public static ErrorMessage failedTestSetup() {
@@ -66,6 +68,10 @@ public class DefaultMessages {
     return new ErrorMessageImpl(FAILED_PERSIST);
   }
 
+  public static ErrorMessage requestTimedOutError() {
+    return new ErrorMessageImpl(REQUEST_TIMED_OUT);
+  }
+
   public static ErrorMessage cannotConnectError() {
     return new ErrorMessageImpl(CANNOT_CONNECT);
   }
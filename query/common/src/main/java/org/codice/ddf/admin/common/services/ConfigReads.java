@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.common.services;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.codice.ddf.admin.api.request.RequestCache;
+import org.codice.ddf.internal.admin.configurator.actions.ManagedServiceActions;
+import org.codice.ddf.internal.admin.configurator.actions.ServiceActions;
+
+/**
+ * Reads configurations through the {@link RequestCache} bound to the current thread, so that the
+ * functions of a request, and of all the operations of a batched request, read each configuration
+ * once. Reads return a copy of the cached properties, which callers are free to modify.
+ */
+public class ConfigReads {
+
+  private static final String SERVICE_KEY = "service:";
+
+  private static final String MANAGED_SERVICES_KEY = "managedServices:";
+
+  private ConfigReads() {}
+
+  /** @return the properties of the configuration with the given pid */
+  public static Map<String, Object> read(ServiceActions serviceActions, String pid) {
+    return copy(RequestCache.current().get(SERVICE_KEY + pid, () -> serviceActions.read(pid)));
+  }
+
+  /** @return the properties of the configurations of the given factory, by pid */
+  public static Map<String, Map<String, Object>> read(
+      ManagedServiceActions managedServiceActions, String factoryPid) {
+    Map<String, Map<String, Object>> services =
+        RequestCache.current()
+            .get(MANAGED_SERVICES_KEY + factoryPid, () -> managedServiceActions.read(factoryPid));
+    if (services == null) {
+      return null;
+    }
+
+    Map<String, Map<String, Object>> copy = new LinkedHashMap<>();
+    services.forEach((pid, properties) -> copy.put(pid, copy(properties)));
+    return copy;
+  }
+
+  /** Discards the configurations read so far, used once the request has changed any of them. */
+  public static void invalidateAll() {
+    RequestCache.current().invalidateAll();
+  }
+
+  private static Map<String, Object> copy(Map<String, Object> properties) {
+    return properties == null ? null : new LinkedHashMap<>(properties);
+  }
+}
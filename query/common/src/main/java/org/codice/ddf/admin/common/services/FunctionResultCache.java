@@ -0,0 +1,225 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.common.services;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.codice.ddf.admin.api.ConfigurationCommits;
+import org.codice.ddf.admin.api.Field;
+import org.osgi.service.cm.ConfigurationEvent;
+import org.osgi.service.cm.ConfigurationListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Short lived cache of the results of read-only discovery functions, shared by all requests handled
+ * by the bundle the cache is loaded in. Results are keyed by the service they are read from, the
+ * function and the argument values of the invocation. The argument values are copied when a result
+ * is cached, so later changes to the arguments of the invocation do not change the key. The cache
+ * stores and returns results as they are given, callers sharing results across invocations are
+ * responsible for copying them.
+ *
+ * <p>Results expire after {@link #DEFAULT_TTL_SECONDS} and are evicted as soon as a configuration
+ * they depend on changes, either through a {@link ConfigurationEvent} when the cache is registered
+ * as a {@link ConfigurationListener} or after a commit made with {@link ServiceCommons#commit}.
+ * Every bundle embedding this class has its own cache, so results are cached under the {@link
+ * ConfigurationCommits} count and are no longer handed out once any bundle has committed since.
+ */
+public class FunctionResultCache implements ConfigurationListener {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(FunctionResultCache.class);
+
+  public static final long DEFAULT_TTL_SECONDS = 10;
+
+  private static final FunctionResultCache INSTANCE =
+      new FunctionResultCache(DEFAULT_TTL_SECONDS, TimeUnit.SECONDS, Ticker.systemTicker());
+
+  private final Cache<Key, Entry> entries;
+
+  @VisibleForTesting
+  FunctionResultCache(long ttl, TimeUnit unit, Ticker ticker) {
+    entries = CacheBuilder.newBuilder().expireAfterWrite(ttl, unit).ticker(ticker).build();
+  }
+
+  public static FunctionResultCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * @param source the service the result is read from
+   * @param functionKey key unique to the function that produced the result
+   * @param args the argument values of the invocation
+   * @return the cached result, or null if there is none
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends Field> T get(Object source, String functionKey, List<Object> args) {
+    Key key = new Key(source, functionKey, args);
+    Entry entry = entries.getIfPresent(key);
+    if (entry == null) {
+      return null;
+    }
+
+    if (entry.commits != ConfigurationCommits.current()) {
+      entries.invalidate(key);
+      return null;
+    }
+    return (T) entry.result;
+  }
+
+  /**
+   * @param source the service the result is read from
+   * @param functionKey key unique to the function that produced the result
+   * @param args the argument values of the invocation
+   * @param result the result to cache
+   * @param dependencies the pids and factory pids of the configurations the result is read from. If
+   *     empty, the result is evicted on any configuration change.
+   */
+  public void put(
+      Object source,
+      String functionKey,
+      List<Object> args,
+      Field result,
+      Set<String> dependencies) {
+    put(source, functionKey, args, result, dependencies, ConfigurationCommits.current());
+  }
+
+  /**
+   * Caches a result read after the given number of {@link ConfigurationCommits}. Results read
+   * before a commit that completed in the meantime are not cached.
+   *
+   * @see #put(Object, String, List, Field, Set)
+   */
+  public void put(
+      Object source,
+      String functionKey,
+      List<Object> args,
+      Field result,
+      Set<String> dependencies,
+      long commits) {
+    if (commits != ConfigurationCommits.current()) {
+      return;
+    }
+    entries.put(
+        new Key(source, functionKey, snapshot(args)), new Entry(result, dependencies, commits));
+  }
+
+  /** Evicts the results that depend on the configuration with the given pid or factory pid. */
+  public void invalidate(String pid) {
+    entries.asMap().values().removeIf(entry -> entry.dependsOn(pid));
+  }
+
+  public void invalidateAll() {
+    entries.invalidateAll();
+  }
+
+  public long size() {
+    return entries.size();
+  }
+
+  /**
+   * Argument values may be views of the argument fields, so nested lists and maps are copied along
+   * with the list of values. Values may be null, which rules out the immutable collections of
+   * Guava.
+   */
+  @SuppressWarnings("unchecked")
+  private static <V> V snapshot(V value) {
+    if (value instanceof List) {
+      List<Object> copy = new ArrayList<>();
+      ((List<Object>) value).forEach(element -> copy.add(snapshot(element)));
+      return (V) Collections.unmodifiableList(copy);
+    }
+
+    if (value instanceof Map) {
+      Map<Object, Object> copy = new LinkedHashMap<>();
+      ((Map<Object, Object>) value).forEach((key, element) -> copy.put(key, snapshot(element)));
+      return (V) Collections.unmodifiableMap(copy);
+    }
+    return value;
+  }
+
+  @Override
+  public void configurationEvent(ConfigurationEvent event) {
+    LOGGER.debug("Evicting function results depending on configuration [{}].", event.getPid());
+    invalidate(event.getPid());
+    if (event.getFactoryPid() != null) {
+      invalidate(event.getFactoryPid());
+    }
+  }
+
+  private static class Entry {
+
+    private final Field result;
+
+    private final Set<String> dependencies;
+
+    private final long commits;
+
+    private Entry(Field result, Set<String> dependencies, long commits) {
+      this.result = result;
+      this.dependencies = ImmutableSet.copyOf(dependencies);
+      this.commits = commits;
+    }
+
+    private boolean dependsOn(String pid) {
+      return dependencies.isEmpty() || dependencies.contains(pid);
+    }
+  }
+
+  private static class Key {
+
+    private final Object source;
+
+    private final String functionKey;
+
+    private final List<Object> args;
+
+    private Key(Object source, String functionKey, List<Object> args) {
+      this.source = source;
+      this.functionKey = functionKey;
+      this.args = args;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+
+      if (!(o instanceof Key)) {
+        return false;
+      }
+
+      Key that = (Key) o;
+      return source == that.source
+          && functionKey.equals(that.functionKey)
+          && Objects.equals(args, that.args);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(System.identityHashCode(source), functionKey, args);
+    }
+  }
+}
@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import org.apache.commons.lang.text.StrSubstitutor;
+import org.codice.ddf.admin.api.ConfigurationCommits;
 import org.codice.ddf.admin.api.Events;
 import org.codice.ddf.admin.api.Field;
 import org.codice.ddf.admin.api.report.Report;
@@ -65,7 +66,8 @@ public class ServiceCommons {
     Configurator configurator = configuratorSuite.getConfiguratorFactory().getConfigurator();
     configurator.add(configuratorSuite.getManagedServiceActions().create(factoryPid, serviceProps));
 
-    if (configurator.commit("Service saved for [{}]", factoryPid).containsFailedResults()) {
+    OperationReport operationReport = commit(configurator, "Service saved for [{}]", factoryPid);
+    if (operationReport.containsFailedResults()) {
       return Reports.from(failedPersistError());
     }
 
@@ -82,7 +84,7 @@ public class ServiceCommons {
     Configurator configurator = configuratorSuite.getConfiguratorFactory().getConfigurator();
     configurator.add(configuratorSuite.getServiceActions().build(pid, newConfig, true));
 
-    OperationReport operationReport = configurator.commit("Updated config with pid [{}]", pid);
+    OperationReport operationReport = commit(configurator, "Updated config with pid [{}]", pid);
     if (operationReport.containsFailedResults()) {
       report.addErrorMessage(failedPersistError());
     }
@@ -93,9 +95,9 @@ public class ServiceCommons {
   public Report<Void> deleteService(PidField servicePid) {
     Configurator configurator = configuratorSuite.getConfiguratorFactory().getConfigurator();
     configurator.add(configuratorSuite.getManagedServiceActions().delete(servicePid.getValue()));
-    if (configurator
-        .commit("Deleted service with pid [{}].", servicePid.getValue())
-        .containsFailedResults()) {
+    OperationReport operationReport =
+        commit(configurator, "Deleted service with pid [{}].", servicePid.getValue());
+    if (operationReport.containsFailedResults()) {
       return Reports.from(failedPersistError());
     }
     return Reports.emptyReport();
@@ -122,7 +124,9 @@ public class ServiceCommons {
    * @return with the serviceExists or not
    */
   public boolean serviceConfigurationExists(String servicePid) {
-    return !configuratorSuite.getServiceActions().read(servicePid).isEmpty();
+    Map<String, Object> properties =
+        ConfigReads.read(configuratorSuite.getServiceActions(), servicePid);
+    return properties != null && !properties.isEmpty();
   }
 
   public static <T> T mapValue(Map<String, Object> props, String key) {
@@ -164,6 +168,22 @@ public class ServiceCommons {
     }
   }
 
+  /**
+   * Commits the changes added to the {@code configurator}. The configurations read and the function
+   * results cached before the commit, by this bundle or any other admin bundle, are no longer
+   * handed out, whether or not the commit succeeded.
+   */
+  public static OperationReport commit(
+      Configurator configurator, String auditMessage, String... auditParams) {
+    try {
+      return configurator.commit(auditMessage, auditParams);
+    } finally {
+      ConfigurationCommits.committed();
+      FunctionResultCache.getInstance().invalidateAll();
+      ConfigReads.invalidateAll();
+    }
+  }
+
   public static void updateGraphQLSchema(Class clazz, String eventReason) {
     getEventAdmin(clazz).postEvent(getUpdateSchemaEvent(eventReason));
   }
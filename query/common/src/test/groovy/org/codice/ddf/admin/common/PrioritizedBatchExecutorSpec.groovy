@@ -13,6 +13,8 @@
  **/
 package org.codice.ddf.admin.common
 
+import org.codice.ddf.admin.api.progress.ProbeProgress
+import org.codice.ddf.admin.api.progress.RequestDeadline
 import spock.lang.Specification
 
 import java.util.concurrent.Callable
@@ -164,6 +166,84 @@ class PrioritizedBatchExecutorSpec extends Specification {
         thrown(IllegalArgumentException)
     }
 
+    def 'Tasks execute with the probe of the calling thread bound'() {
+        setup:
+        def probe = ProbeProgress.open('bound')
+        def task = new Callable<String>() {
+            @Override
+            String call() throws Exception {
+                return ProbeProgress.current().getId()
+            }
+        }
+        prioritizedBatchExecutor = new PrioritizedBatchExecutor<String, String>(1, [[task]], createTaskHandler(['bound']))
+
+        when:
+        def result = probe.run { prioritizedBatchExecutor.getFirst(500, TimeUnit.MILLISECONDS) }
+
+        then:
+        result.get() == 'bound'
+
+        cleanup:
+        probe.complete()
+    }
+
+    def 'Cancelling the probe abandons the remaining tasks'() {
+        setup:
+        def probe = ProbeProgress.open('cancelled')
+        def taskList = createTaskList([[EXPECTED_RESULT], [EXPECTED_RESULT]], 10000)
+        prioritizedBatchExecutor = new PrioritizedBatchExecutor<String, String>(2, taskList, createTaskHandler([EXPECTED_RESULT]))
+        Thread.start {
+            Thread.sleep(100)
+            probe.cancel()
+        }
+
+        when:
+        def start = System.nanoTime()
+        def result = probe.run { prioritizedBatchExecutor.getFirst(60, TimeUnit.SECONDS) }
+
+        then:
+        !result.isPresent()
+        TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 5
+        prioritizedBatchExecutor.threadPool.isShutdown()
+
+        cleanup:
+        probe.complete()
+    }
+
+    def 'The request deadline shortens the wait for the remaining tasks'() {
+        setup:
+        def deadline = RequestDeadline.after(200, TimeUnit.MILLISECONDS)
+        def taskList = createTaskList([[EXPECTED_RESULT], [EXPECTED_RESULT]], 10000)
+        prioritizedBatchExecutor = new PrioritizedBatchExecutor<String, String>(2, taskList, createTaskHandler([EXPECTED_RESULT]))
+
+        when:
+        def start = System.nanoTime()
+        def result = deadline.run { prioritizedBatchExecutor.getFirst(60, TimeUnit.SECONDS) }
+
+        then:
+        !result.isPresent()
+        TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 5
+        prioritizedBatchExecutor.threadPool.isShutdown()
+    }
+
+    def 'Tasks execute with the request deadline of the calling thread bound'() {
+        setup:
+        def deadline = RequestDeadline.after(1, TimeUnit.MINUTES)
+        def task = new Callable<String>() {
+            @Override
+            String call() throws Exception {
+                return RequestDeadline.current().is(deadline) ? EXPECTED_RESULT : null
+            }
+        }
+        prioritizedBatchExecutor = new PrioritizedBatchExecutor<String, String>(1, [[task]], createTaskHandler([EXPECTED_RESULT]))
+
+        when:
+        def result = deadline.run { prioritizedBatchExecutor.getFirst(500, TimeUnit.MILLISECONDS) }
+
+        then:
+        result.get() == EXPECTED_RESULT
+    }
+
     def createTaskList(List<List<String>> taskResults, long sleepTimeInMillis = 0) {
         List<List<Callable<String>>> taskList = []
 
@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) Codice Foundation
+ * <p>
+ * This is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or any later version.
+ * <p>
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details. A copy of the GNU Lesser General Public License
+ * is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ **/
+package org.codice.ddf.admin.common.fields.base
+
+import org.codice.ddf.admin.api.progress.RequestDeadline
+import org.codice.ddf.admin.common.fields.base.scalar.StringField
+import org.codice.ddf.admin.common.fields.test.TestFieldProvider
+import org.codice.ddf.admin.common.report.message.DefaultMessages
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class BaseBatchFunctionFieldTest extends Specification {
+
+    static final String FUNCTION_NAME = TestFieldProvider.BATCH_ECHO_FUNCTION_NAME
+
+    static final String STRING = StringField.DEFAULT_STING_FIELD_NAME
+
+    TestFieldProvider.BatchEcho function
+
+    def setup() {
+        function = new TestFieldProvider.BatchEcho()
+        TestFieldProvider.BatchEcho.BATCH_SIZES.clear()
+    }
+
+    def 'Executing a batch performs the function once for all valid invocations'() {
+        when:
+        def reports = function.executeBatch(
+                [[(STRING): 'a'], [(STRING): ''], [(STRING): 'c']],
+                [[FUNCTION_NAME, 0], [FUNCTION_NAME, 1], [FUNCTION_NAME, 2]])
+
+        then:
+        TestFieldProvider.BatchEcho.BATCH_SIZES == [2]
+        reports.size() == 3
+        reports[0].getResult().getValue() == 'a'
+        reports[2].getResult().getValue() == 'c'
+
+        !reports[1].isResultPresent()
+        reports[1].getErrorMessages().size() == 1
+        reports[1].getErrorMessages()[0].getCode() == DefaultMessages.EMPTY_FIELD
+        reports[1].getErrorMessages()[0].getPath() == [FUNCTION_NAME, 1, STRING]
+    }
+
+    def 'Executing a single invocation performs a batch of one'() {
+        when:
+        def report = function.execute([(STRING): 'a'], [FUNCTION_NAME])
+
+        then:
+        TestFieldProvider.BatchEcho.BATCH_SIZES == [1]
+        report.getResult().getValue() == 'a'
+    }
+
+    def 'Batch is not performed once the request deadline has passed'() {
+        setup:
+        def deadline = RequestDeadline.after(1, TimeUnit.MINUTES)
+        deadline.cancel()
+
+        when:
+        def reports = deadline.run {
+            function.executeBatch(
+                    [[(STRING): 'a'], [(STRING): '']],
+                    [[FUNCTION_NAME, 0], [FUNCTION_NAME, 1]])
+        }
+
+        then:
+        TestFieldProvider.BatchEcho.BATCH_SIZES.isEmpty()
+        !reports[0].isResultPresent()
+        reports[0].getErrorMessages()*.getCode() == [DefaultMessages.REQUEST_TIMED_OUT]
+        reports[1].getErrorMessages()*.getCode() == [DefaultMessages.EMPTY_FIELD]
+    }
+}
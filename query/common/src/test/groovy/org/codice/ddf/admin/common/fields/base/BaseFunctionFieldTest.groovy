@@ -13,14 +13,19 @@
  **/
 package org.codice.ddf.admin.common.fields.base
 
+import com.google.common.collect.ImmutableList
 import com.google.common.collect.ImmutableSet
 import org.codice.ddf.admin.api.Field
 import org.codice.ddf.admin.api.fields.FunctionField
+import org.codice.ddf.admin.api.progress.RequestDeadline
 import org.codice.ddf.admin.common.fields.base.scalar.StringField
 import org.codice.ddf.admin.common.fields.test.TestObjectField
 import org.codice.ddf.admin.common.report.message.DefaultMessages
 import spock.lang.Specification
 
+import java.util.concurrent.TimeUnit
+import java.util.function.Predicate
+
 class BaseFunctionFieldTest extends Specification {
 
     final List<Object> FUNCTION_PATH = [TestBaseFunctionField.DEFAULT_FIELD_NAME]
@@ -70,6 +75,91 @@ class BaseFunctionFieldTest extends Specification {
         }.getFields()[0].getValue() == 'test3'
     }
 
+    def 'Copies of a function do not share arguments with the function they are copied from'() {
+        setup:
+        def value = [
+                (StringField.DEFAULT_STING_FIELD_NAME): 'test1',
+                (TestObjectField.FIELD_NAME)          : [(StringField.DEFAULT_STING_FIELD_NAME): 'test2']
+        ]
+
+        when:
+        def copy = (TestBaseFunctionField) functionField.copy()
+        def report = copy.execute(value, FUNCTION_PATH)
+
+        then:
+        report.isResultPresent()
+        !report.is(functionField.getReport())
+        copy.getStringArg().getValue() == 'test1'
+        copy.getTestObjectField().getStringField().getValue() == 'test2'
+        copy.getStringArg().getPath() == [
+                TestBaseFunctionField.DEFAULT_FIELD_NAME, StringField.DEFAULT_STING_FIELD_NAME
+        ]
+
+        functionField.getStringArg().getValue() == null
+        functionField.getTestObjectField().getStringField().getValue() == null
+        functionField.getStringArg().getPath() == []
+        functionField.getPath() == []
+    }
+
+    def 'Copies of a function keep immutable lists of arguments immutable'() {
+        setup:
+        def prototype = new HolderFunctionField(holder: ImmutableList.of(new StringField()))
+
+        when:
+        def copy = (HolderFunctionField) prototype.copy()
+
+        then:
+        copy.getHolder() instanceof ImmutableList
+        !copy.getHolder()[0].is(prototype.getHolder()[0])
+    }
+
+    def 'Copies of a function share immutable values that hold no fields'() {
+        setup:
+        def prototype = new HolderFunctionField(holder: ImmutableList.of('value'))
+        prototype.setPath(FUNCTION_PATH)
+
+        when:
+        def copy = (HolderFunctionField) prototype.copy()
+
+        then:
+        copy.getHolder().is(prototype.getHolder())
+        copy.getPath().is(prototype.getPath())
+    }
+
+    def 'Copying a function fails when it holds fields that cannot be copied'() {
+        setup:
+        def prototype = new HolderFunctionField(holder: holder)
+
+        when:
+        prototype.copy()
+
+        then:
+        IllegalStateException e = thrown()
+        e.getMessage().contains('holder')
+
+        where:
+        holder << [
+                [new StringField()] as Set,
+                [new StringField()] as Field[],
+                Optional.of(new StringField()),
+                Predicate.isEqual(new StringField())
+        ]
+    }
+
+    def 'Function is not performed once the request deadline has passed'() {
+        setup:
+        def deadline = RequestDeadline.after(1, TimeUnit.MINUTES)
+        deadline.cancel()
+        def value = [(StringField.DEFAULT_STING_FIELD_NAME): 'test1']
+
+        when:
+        def report = deadline.run { functionField.execute(value, FUNCTION_PATH) }
+
+        then:
+        !report.isResultPresent()
+        report.getErrorMessages()*.getCode() == [DefaultMessages.REQUEST_TIMED_OUT]
+    }
+
     def 'Returns all the possible error codes correctly from all arguments'(){
         setup:
         functionField.failValidation(false)
@@ -95,6 +185,11 @@ class BaseFunctionFieldTest extends Specification {
         errorCodes.containsAll(functionError)
     }
 
+    class HolderFunctionField extends TestBaseFunctionField {
+
+        Object holder
+    }
+
     class TestBaseFunctionField extends BaseFunctionField<StringField> {
 
         static String DEFAULT_FIELD_NAME = 'testBaseFunctionField'
@@ -43,6 +43,16 @@ class BaseListFieldTest extends Specification {
         listField.getList().get(1).getPath() == [TEST_LIST_FIELD_NAME, 1]
     }
 
+    def 'Fields in ListFields share the path of the ListField instead of copying it'() {
+        when:
+        listField.add(new StringField())
+        listField.add(new StringField())
+        listField.setPath(LIST_FIELD_PATH)
+
+        then:
+        listField.getList().every { ((FieldPath) it.getPath()).parent.is(listField.getPath()) }
+    }
+
     def 'The path of ObjectFields and their inner fields in ListFields are correct'() {
         when:
         TestObjectField.ListImpl listField = new TestObjectField.ListImpl()
@@ -131,6 +141,24 @@ class BaseListFieldTest extends Specification {
         listField.getList()[1].getPath() == [TEST_LIST_FIELD_NAME, 1]
     }
 
+    def 'Values are read-only views of the elements'() {
+        setup:
+        listField.add(new StringField())
+        def value = listField.getValue()
+
+        when:
+        listField.getList().get(0).setValue('value')
+
+        then:
+        value == ['value']
+
+        when:
+        value.add('other')
+
+        then:
+        thrown(UnsupportedOperationException)
+    }
+
     def 'Returns all the possible error codes correctly'(){
         setup:
         def emptyFieldElement = new StringField('emptyFieldElement')
@@ -127,4 +127,39 @@ class BaseObjectFieldTest extends Specification {
             (it.getKey() == TestHiddenField.HIDDEN_FIELD_NAME)
         }.value == TestHiddenField.HIDDEN_FLAG
     }
+
+    def 'Values are read-only views of the inner fields'() {
+        setup:
+        def value = topLevelField.getValue()
+        def sanitizedValue = topLevelField.getSanitizedValue()
+
+        when:
+        topLevelField.setHiddenField(REAL_VALUE)
+
+        then:
+        value.get(TestHiddenField.HIDDEN_FIELD_NAME) == REAL_VALUE
+        sanitizedValue.get(TestHiddenField.HIDDEN_FIELD_NAME) == TestHiddenField.HIDDEN_FLAG
+        value.size() == topLevelField.getFields().size()
+
+        when:
+        value.put(TestHiddenField.HIDDEN_FIELD_NAME, 'other')
+
+        then:
+        thrown(UnsupportedOperationException)
+    }
+
+    def 'Looking up every value of an object reads the names of its fields once'() {
+        setup:
+        def fields = (1..100).collect { i -> Mock(Field) { getValue() >> i } }
+        def value = new FieldValueMap(fields, false)
+
+        when:
+        def values = (1..100).collect { i -> value.get('field' + i) }
+
+        then:
+        fields.eachWithIndex { field, i -> 1 * field.getFieldName() >> 'field' + (i + 1) }
+        values == (1..100).toList()
+        value.containsKey('field50')
+        !value.containsKey('missing')
+    }
 }
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) Codice Foundation
+ * <p>
+ * This is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or any later version.
+ * <p>
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details. A copy of the GNU Lesser General Public License
+ * is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ **/
+package org.codice.ddf.admin.common.fields.base
+
+import org.codice.ddf.admin.api.Field
+import org.codice.ddf.admin.common.fields.common.MapField
+import org.codice.ddf.admin.common.fields.test.TestObjectField
+import spock.lang.Requires
+import spock.lang.Specification
+
+import java.lang.management.ManagementFactory
+import java.util.concurrent.Callable
+
+/**
+ * Measures the time and memory allocated by validating a valid field tree, the common case of
+ * every function argument. Validation runs once per argument of every invocation, so what a valid
+ * tree allocates is garbage produced by every request.
+ */
+class FieldValidationBenchmarkSpec extends Specification {
+
+    static final int OBJECTS = 100
+
+    static final int MAPS = 20
+
+    static final int MAP_ENTRIES = 20
+
+    static final int WARMUP_ITERATIONS = 5_000
+
+    static final int ITERATIONS = 5_000
+
+    @Requires({ FieldValidationBenchmarkSpec.allocationMeasured() })
+    def 'Validating a valid field tree does not allocate a stream pipeline per node'() {
+        setup:
+        def objects = new ObjectListField()
+        OBJECTS.times { objects.add(TestObjectField.createSampleTestObject()) }
+        def maps = new MapField.ListImpl()
+        MAPS.times { i ->
+            def map = new MapField()
+            MAP_ENTRIES.times { j -> map.put("key$i.$j", "value$j") }
+            maps.add(map)
+        }
+        def nodes = countNodes(objects) + countNodes(maps)
+
+        when:
+        WARMUP_ITERATIONS.times { validate(objects, maps) }
+        def bytes = allocatedBytes()
+        def start = System.nanoTime()
+        ITERATIONS.times { validate(objects, maps) }
+        def nanosPerValidation = (System.nanoTime() - start) / ITERATIONS
+        def bytesPerNode = (allocatedBytes() - bytes) / ITERATIONS / nodes
+        println String.format('Validated %d nodes in %.1f us, allocating %.1f bytes per node.',
+                nodes, nanosPerValidation / 1000, bytesPerNode)
+
+        then: 'traversing the children of each node through a stream pipeline allocated over 300 bytes per node'
+        bytesPerNode < 128
+    }
+
+    static void validate(Field... fields) {
+        for (Field field : fields) {
+            assert field.validate().isEmpty()
+        }
+    }
+
+    static int countNodes(Field field) {
+        if (field instanceof BaseObjectField) {
+            return 1 + ((BaseObjectField) field).getFields().sum(0) { countNodes(it) }
+        }
+        if (field instanceof BaseListField) {
+            return 1 + ((BaseListField) field).getList().sum(0) { countNodes(it) }
+        }
+        return 1
+    }
+
+    static long allocatedBytes() {
+        def threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId())
+    }
+
+    static boolean allocationMeasured() {
+        def threads = ManagementFactory.getThreadMXBean()
+        return threads instanceof com.sun.management.ThreadMXBean && threads.isThreadAllocatedMemoryEnabled()
+    }
+
+    static class ObjectListField extends BaseListField<TestObjectField> {
+
+        ObjectListField() {
+            super('objects')
+        }
+
+        @Override
+        Callable<TestObjectField> getCreateListEntryCallable() {
+            return { new TestObjectField() }
+        }
+    }
+}
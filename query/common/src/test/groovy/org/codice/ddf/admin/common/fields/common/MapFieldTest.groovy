@@ -84,6 +84,38 @@ class MapFieldTest extends Specification {
         validationMsgs.get(0).getPath() == [MapField.DEFAULT_FIELD_NAME, ENTRIES, 2]
     }
 
+    def 'Duplicate keys are reported on the second entry of the first duplicated key'() {
+        setup:
+        mapField.setValue([(ENTRIES): [
+                createEntry('key1', 'value1'),
+                createEntry('key2', 'value2'),
+                createEntry('key2', 'value3'),
+                createEntry('key1', 'value4')
+        ]])
+        mapField.setPath(MAP_FIELD_PATH)
+
+        when:
+        List<ErrorMessage> validationMsgs = mapField.validate()
+
+        then:
+        validationMsgs.size() == 1
+        validationMsgs.get(0).getPath() == [MapField.DEFAULT_FIELD_NAME, ENTRIES, 3]
+    }
+
+    def 'Keys of entries set through the value can be looked up and put'() {
+        setup:
+        mapField.setValue([(ENTRIES): [createEntry('key1', 'value1'), createEntry('key2', 'value2')]])
+
+        when:
+        mapField.put('key2', 'value3')
+
+        then:
+        mapField.containsKey('key1')
+        mapField.getEntry('key2').get().value() == 'value3'
+        mapField.getValue().get(ENTRIES).size() == 2
+        !mapField.getEntry('notMyKey').isPresent()
+    }
+
     def 'Returns all the possible error codes correctly'(){
         setup:
         def duplicateValue = [(ENTRIES): [createEntry('key1', 'value1'),
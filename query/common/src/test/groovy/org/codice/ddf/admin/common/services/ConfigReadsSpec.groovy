@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) Codice Foundation
+ * <p>
+ * This is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or any later version.
+ * <p>
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details. A copy of the GNU Lesser General Public License
+ * is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ **/
+package org.codice.ddf.admin.common.services
+
+import org.codice.ddf.admin.api.request.RequestCache
+import org.codice.ddf.internal.admin.configurator.actions.ManagedServiceActions
+import org.codice.ddf.internal.admin.configurator.actions.ServiceActions
+import spock.lang.Specification
+
+class ConfigReadsSpec extends Specification {
+
+    static final String PID = 'pid'
+
+    static final String FACTORY_PID = 'factoryPid'
+
+    ServiceActions serviceActions
+
+    ManagedServiceActions managedServiceActions
+
+    RequestCache cache
+
+    def setup() {
+        serviceActions = Mock(ServiceActions)
+        managedServiceActions = Mock(ManagedServiceActions)
+        cache = RequestCache.create()
+    }
+
+    def 'Configurations are read once per request'() {
+        when:
+        def first = cache.run { ConfigReads.read(serviceActions, PID) }
+        def second = cache.run { ConfigReads.read(serviceActions, PID) }
+        def services = cache.run { ConfigReads.read(managedServiceActions, FACTORY_PID) }
+        cache.run { ConfigReads.read(managedServiceActions, FACTORY_PID) }
+
+        then:
+        1 * serviceActions.read(PID) >> [key: 'value']
+        1 * managedServiceActions.read(FACTORY_PID) >> [(PID): [key: 'value']]
+        first == [key: 'value']
+        second == first
+        services == [(PID): [key: 'value']]
+    }
+
+    def 'Reads return copies of the cached configurations'() {
+        setup:
+        serviceActions.read(PID) >> [key: 'value']
+
+        when:
+        cache.run { ConfigReads.read(serviceActions, PID) }.put('key', 'changed')
+
+        then:
+        cache.run { ConfigReads.read(serviceActions, PID) } == [key: 'value']
+    }
+
+    def 'Configurations are read again once invalidated'() {
+        when:
+        cache.run { ConfigReads.read(serviceActions, PID) }
+        cache.run {
+            ConfigReads.invalidateAll()
+            ConfigReads.read(serviceActions, PID)
+        }
+
+        then:
+        2 * serviceActions.read(PID) >> [key: 'value']
+    }
+
+    def 'Configurations are not cached without a request'() {
+        when:
+        ConfigReads.read(serviceActions, PID)
+        ConfigReads.read(serviceActions, PID)
+
+        then:
+        2 * serviceActions.read(PID) >> [key: 'value']
+    }
+}
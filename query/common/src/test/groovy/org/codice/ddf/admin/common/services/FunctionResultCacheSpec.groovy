@@ -0,0 +1,248 @@
+/**
+ * Copyright (c) Codice Foundation
+ * <p>
+ * This is free software: you can redistribute it and/or modify it under the terms of the GNU Lesser
+ * General Public License as published by the Free Software Foundation, either version 3 of the
+ * License, or any later version.
+ * <p>
+ * This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY; without
+ * even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser General Public License for more details. A copy of the GNU Lesser General Public License
+ * is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ **/
+package org.codice.ddf.admin.common.services
+
+import com.google.common.base.Ticker
+import org.codice.ddf.admin.api.ConfigurationCommits
+import org.codice.ddf.admin.api.Field
+import org.codice.ddf.admin.api.fields.FunctionField
+import org.codice.ddf.admin.common.fields.base.function.GetFunctionField
+import org.codice.ddf.admin.common.fields.base.scalar.StringField
+import org.codice.ddf.admin.common.report.message.DefaultMessages
+import org.osgi.framework.ServiceReference
+import org.osgi.service.cm.ConfigurationEvent
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class FunctionResultCacheSpec extends Specification {
+
+    static final String FUNCTION_KEY = 'function'
+
+    static final String PID = 'pid'
+
+    static final String FACTORY_PID = 'factoryPid'
+
+    long nanos
+
+    FunctionResultCache cache
+
+    Object source
+
+    Field result
+
+    def setup() {
+        nanos = 0
+        def ticker = new Ticker() {
+            @Override
+            long read() {
+                return nanos
+            }
+        }
+
+        cache = new FunctionResultCache(10, TimeUnit.SECONDS, ticker)
+        source = new Object()
+        result = new StringField()
+        FunctionResultCache.getInstance().invalidateAll()
+    }
+
+    def 'Results are shared by invocations with the same source, function and arguments'() {
+        when:
+        cache.put(source, FUNCTION_KEY, ['arg'], result, [PID] as Set)
+
+        then:
+        cache.get(source, FUNCTION_KEY, ['arg']).is(result)
+        cache.get(new Object(), FUNCTION_KEY, ['arg']) == null
+        cache.get(source, 'otherFunction', ['arg']) == null
+        cache.get(source, FUNCTION_KEY, ['otherArg']) == null
+    }
+
+    def 'Results expire after the time to live'() {
+        setup:
+        cache.put(source, FUNCTION_KEY, [], result, [PID] as Set)
+
+        when:
+        nanos = TimeUnit.SECONDS.toNanos(9)
+
+        then:
+        cache.get(source, FUNCTION_KEY, []).is(result)
+
+        when:
+        nanos = TimeUnit.SECONDS.toNanos(10)
+
+        then:
+        cache.get(source, FUNCTION_KEY, []) == null
+    }
+
+    def 'Configuration events evict the results depending on the configuration'() {
+        setup:
+        cache.put(source, 'dependent', [], result, [FACTORY_PID] as Set)
+        cache.put(source, 'independent', [], result, ['otherPid'] as Set)
+        cache.put(source, 'dependsOnAny', [], result, [] as Set)
+
+        when:
+        cache.configurationEvent(new ConfigurationEvent(Mock(ServiceReference),
+                ConfigurationEvent.CM_UPDATED, FACTORY_PID, "${FACTORY_PID}.instance"))
+
+        then:
+        cache.get(source, 'dependent', []) == null
+        cache.get(source, 'dependsOnAny', []) == null
+        cache.get(source, 'independent', []).is(result)
+        cache.size() == 1
+    }
+
+    def 'Invalidating all evicts every result'() {
+        setup:
+        cache.put(source, FUNCTION_KEY, [], result, [PID] as Set)
+
+        when:
+        cache.invalidateAll()
+
+        then:
+        cache.size() == 0
+    }
+
+    def 'Results cached before a commit made by any bundle are not handed out'() {
+        setup:
+        cache.put(source, FUNCTION_KEY, [], result, [PID] as Set)
+
+        when: 'a commit is made through the cache of another bundle'
+        ConfigurationCommits.committed()
+
+        then:
+        cache.get(source, FUNCTION_KEY, []) == null
+        cache.size() == 0
+    }
+
+    def 'Results read before a commit are not cached'() {
+        setup:
+        def commits = ConfigurationCommits.current()
+
+        when:
+        ConfigurationCommits.committed()
+        cache.put(source, FUNCTION_KEY, [], result, [PID] as Set, commits)
+
+        then:
+        cache.size() == 0
+    }
+
+    def 'Functions with a result source perform once for repeated invocations'() {
+        setup:
+        def performed = []
+        def function = new CachedFunction(source, performed, 'value')
+
+        when:
+        def first = function.execute(null, [CachedFunction.FUNCTION_NAME])
+        def second = function.newInstance().execute(null, [CachedFunction.FUNCTION_NAME])
+
+        then:
+        performed.size() == 1
+        second.getResult().getValue() == 'value'
+    }
+
+    def 'Invocations do not share the fields of cached results'() {
+        setup:
+        def function = new CachedFunction(source, [], 'value')
+        def first = function.execute(null, [CachedFunction.FUNCTION_NAME])
+
+        when:
+        first.getResult().setValue('changed')
+        def second = function.newInstance().execute(null, [CachedFunction.FUNCTION_NAME])
+        second.getResult().setValue('changedAgain')
+        def third = function.newInstance().execute(null, [CachedFunction.FUNCTION_NAME])
+
+        then:
+        !second.getResult().is(first.getResult())
+        third.getResult().getValue() == 'value'
+    }
+
+    def 'Changes to the arguments of an invocation do not change the key of its result'() {
+        setup:
+        def args = ['arg', [nested: 'value']]
+        cache.put(source, FUNCTION_KEY, args, result, [PID] as Set)
+
+        when:
+        args[1].nested = 'changed'
+        args[0] = 'changed'
+
+        then:
+        cache.get(source, FUNCTION_KEY, ['arg', [nested: 'value']]).is(result)
+        cache.get(source, FUNCTION_KEY, args) == null
+    }
+
+    def 'Failed function results are not cached'() {
+        setup:
+        def performed = []
+        def function = new CachedFunction(source, performed, null)
+
+        when:
+        def first = function.execute(null, [CachedFunction.FUNCTION_NAME])
+        function.newInstance().execute(null, [CachedFunction.FUNCTION_NAME])
+
+        then:
+        performed.size() == 2
+        first.getErrorMessages()*.getCode() == [DefaultMessages.FAILED_PERSIST]
+    }
+
+    static class CachedFunction extends GetFunctionField<StringField> {
+
+        static final String FUNCTION_NAME = 'cached'
+
+        private final Object source
+
+        private final List performed
+
+        private final String value
+
+        CachedFunction(Object source, List performed, String value) {
+            super(FUNCTION_NAME, 'Function with a cached result.')
+            this.source = source
+            this.performed = performed
+            this.value = value
+        }
+
+        @Override
+        StringField performFunction() {
+            performed.add(value)
+            if (value == null) {
+                addErrorMessage(DefaultMessages.failedPersistError())
+                return null
+            }
+
+            def result = new StringField()
+            result.setValue(value)
+            return result
+        }
+
+        @Override
+        protected Object getResultSource() {
+            return source
+        }
+
+        @Override
+        StringField getReturnType() {
+            return new StringField()
+        }
+
+        @Override
+        FunctionField<StringField> newInstance() {
+            return new CachedFunction(source, performed, value)
+        }
+
+        @Override
+        Set<String> getFunctionErrorCodes() {
+            return [DefaultMessages.FAILED_PERSIST] as Set
+        }
+    }
+}
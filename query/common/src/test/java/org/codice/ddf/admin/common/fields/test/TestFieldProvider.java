@@ -18,11 +18,14 @@ import com.google.common.collect.ImmutableSet;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 import org.codice.ddf.admin.api.Field;
+import org.codice.ddf.admin.api.fields.FunctionCost;
 import org.codice.ddf.admin.api.fields.FunctionField;
 import org.codice.ddf.admin.api.fields.ListField;
 import org.codice.ddf.admin.api.fields.ObjectField;
+import org.codice.ddf.admin.common.fields.base.BaseBatchFunctionField;
 import org.codice.ddf.admin.common.fields.base.BaseFunctionField;
 import org.codice.ddf.admin.common.fields.base.BaseObjectField;
 import org.codice.ddf.admin.common.fields.base.function.BaseFieldProvider;
@@ -57,6 +60,8 @@ public class TestFieldProvider extends BaseFieldProvider {
 
   public static final String GET_ENUM_FUNCTION_NAME = "getEnum";
 
+  public static final String BATCH_ECHO_FUNCTION_NAME = "batchEcho";
+
   public static final String PATH_1 = "path";
 
   public static final String PATH_2 = "path2";
@@ -85,6 +90,8 @@ public class TestFieldProvider extends BaseFieldProvider {
 
   private SampleMutation sampleMutation;
 
+  private BatchEcho batchEcho;
+
   public TestFieldProvider() {
     super(TEST_FUNCTION_NAME, "Test", "Testing purposes only.");
     getInt = new GetInt();
@@ -97,12 +104,21 @@ public class TestFieldProvider extends BaseFieldProvider {
     multiArgFunc = new MultiArgFunction();
     reqArgFunc = new RequiredArgsFunction();
     sampleMutation = new SampleMutation();
+    batchEcho = new BatchEcho();
   }
 
   @Override
   public List<FunctionField> getDiscoveryFunctions() {
     return ImmutableList.of(
-        getInt, getLong, getBoolean, getString, getList, getEnum, multiArgFunc, reqArgFunc);
+        getInt,
+        getLong,
+        getBoolean,
+        getString,
+        getList,
+        getEnum,
+        multiArgFunc,
+        reqArgFunc,
+        batchEcho);
   }
 
   @Override
@@ -369,6 +385,71 @@ public class TestFieldProvider extends BaseFieldProvider {
     }
   }
 
+  public static class BatchEcho extends BaseBatchFunctionField<StringField> {
+
+    public static final StringField RETURN_TYPE = new StringField();
+
+    /** Number of invocations handed to each call of {@link #performBatchFunction(List)}. */
+    public static final List<Integer> BATCH_SIZES = new CopyOnWriteArrayList<>();
+
+    /** Argument that fails the whole batch it is part of. */
+    public static final String FAILING_ARG = "fail";
+
+    private StringField stringArg;
+
+    public BatchEcho() {
+      super(BATCH_ECHO_FUNCTION_NAME, "Returns the string passed as an argument.");
+      stringArg = new StringField();
+      stringArg.isRequired(true);
+    }
+
+    @Override
+    public List<StringField> performBatchFunction(
+        List<BaseBatchFunctionField<StringField>> functions) {
+      BATCH_SIZES.add(functions.size());
+      if (functions
+          .stream()
+          .anyMatch(function -> FAILING_ARG.equals(((BatchEcho) function).stringArg.getValue()))) {
+        throw new IllegalArgumentException("Unable to echo " + FAILING_ARG);
+      }
+
+      return functions
+          .stream()
+          .map(
+              function -> {
+                StringField result = new StringField();
+                result.setValue(((BatchEcho) function).stringArg.getValue());
+                return result;
+              })
+          .collect(Collectors.toList());
+    }
+
+    @Override
+    public StringField getReturnType() {
+      return RETURN_TYPE;
+    }
+
+    @Override
+    public List<Field> getArguments() {
+      return ImmutableList.of(stringArg);
+    }
+
+    @Override
+    public FunctionField<StringField> newInstance() {
+      return new BatchEcho();
+    }
+
+    @Override
+    public FunctionCost getCost() {
+      return FunctionCost.NETWORK_PROBE;
+    }
+
+    @Override
+    public Set<String> getFunctionErrorCodes() {
+      return ImmutableSet.of();
+    }
+  }
+
   public static class MultiArgFunction extends BaseFunctionField<TestObjectField> {
 
     public static final TestObjectField RETURN_TYPE = new TestObjectField();
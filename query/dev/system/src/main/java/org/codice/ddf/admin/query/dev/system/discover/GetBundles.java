@@ -18,6 +18,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import org.codice.ddf.admin.api.Field;
+import org.codice.ddf.admin.api.fields.FunctionCost;
 import org.codice.ddf.admin.api.fields.FunctionField;
 import org.codice.ddf.admin.api.fields.ListField;
 import org.codice.ddf.admin.common.fields.base.BaseFunctionField;
@@ -75,4 +76,9 @@ public class GetBundles extends BaseFunctionField<ListField<BundleField>> {
   public BundleField.ListImpl getReturnType() {
     return RETURN_TYPE;
   }
+
+  @Override
+  public FunctionCost getCost() {
+    return FunctionCost.CONFIG_READ;
+  }
 }
@@ -0,0 +1,43 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.graphql;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import org.codice.ddf.admin.api.fields.FunctionCost;
+
+/**
+ * Data fetcher that executes a {@link org.codice.ddf.admin.api.fields.FunctionField}. Function
+ * executions may block on remote systems, so the data fetchers of queries hand them to the executor
+ * of the request and return a future of their result.
+ */
+public interface FunctionDataFetcher extends DataFetcher<Object> {
+
+  /** @return the cost hint of the function this fetcher executes */
+  FunctionCost getCost();
+
+  static FunctionDataFetcher of(FunctionCost cost, DataFetcher<Object> fetcher) {
+    return new FunctionDataFetcher() {
+      @Override
+      public FunctionCost getCost() {
+        return cost;
+      }
+
+      @Override
+      public Object get(DataFetchingEnvironment environment) {
+        return fetcher.get(environment);
+      }
+    };
+  }
+}
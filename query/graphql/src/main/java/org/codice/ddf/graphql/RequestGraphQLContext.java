@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.graphql;
+
+import graphql.servlet.GraphQLContext;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import javax.servlet.http.HttpServletRequest;
+import javax.websocket.server.HandshakeRequest;
+import org.codice.ddf.admin.api.progress.ProbeProgress;
+import org.codice.ddf.admin.api.progress.RequestDeadline;
+import org.codice.ddf.admin.api.request.RequestCache;
+import org.codice.ddf.graphql.transform.FunctionResultMemo;
+
+/** State shared by the data fetchers of a single GraphQL request. */
+public class RequestGraphQLContext extends GraphQLContext {
+
+  private final FunctionResultMemo functionResults = new FunctionResultMemo();
+
+  private final Queue<List<Object>> deferredFieldPaths = new ConcurrentLinkedQueue<>();
+
+  private final RequestCache requestCache = RequestCache.create();
+
+  private Executor functionExecutor;
+
+  private ProbeProgress probe;
+
+  private RequestDeadline deadline;
+
+  public RequestGraphQLContext(HttpServletRequest httpServletRequest) {
+    super(httpServletRequest);
+  }
+
+  public RequestGraphQLContext(HandshakeRequest handshakeRequest) {
+    super(handshakeRequest);
+  }
+
+  public RequestGraphQLContext() {
+    super();
+  }
+
+  public FunctionResultMemo getFunctionResults() {
+    return functionResults;
+  }
+
+  /**
+   * @return the cache of the values, such as configurations, read by the functions of this request.
+   *     Shared by all the operations of a batched request.
+   */
+  public RequestCache getRequestCache() {
+    return requestCache;
+  }
+
+  /**
+   * @return the paths of the deferred fields of this request, in the order their execution starts.
+   *     Deferred fields execute one after another, so this is also the order of their results.
+   */
+  public Queue<List<Object>> getDeferredFieldPaths() {
+    return deferredFieldPaths;
+  }
+
+  /** @return the executor the functions of this request run on, if not on the request thread */
+  public Optional<Executor> getFunctionExecutor() {
+    return Optional.ofNullable(functionExecutor);
+  }
+
+  public void setFunctionExecutor(Executor functionExecutor) {
+    this.functionExecutor = functionExecutor;
+  }
+
+  /** @return the probe the discovery functions of this request report their progress to, if any */
+  public Optional<ProbeProgress> getProbe() {
+    return Optional.ofNullable(probe);
+  }
+
+  public void setProbe(ProbeProgress probe) {
+    this.probe = probe;
+  }
+
+  /** @return the deadline of this request, if it has one */
+  public Optional<RequestDeadline> getDeadline() {
+    return Optional.ofNullable(deadline);
+  }
+
+  public void setDeadline(RequestDeadline deadline) {
+    this.deadline = deadline;
+  }
+
+  /**
+   * Executes {@code task} with the cache, the deadline and the probe of this request bound to the
+   * current thread, so that the functions it executes can find them.
+   */
+  public <T> T bind(Supplier<T> task) {
+    Supplier<T> cached = () -> requestCache.run(task);
+    Supplier<T> bound = probe == null ? cached : () -> probe.run(cached);
+    return deadline == null ? bound.get() : deadline.run(bound);
+  }
+}
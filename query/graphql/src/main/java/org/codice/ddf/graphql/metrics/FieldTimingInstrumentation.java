@@ -0,0 +1,47 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.graphql.metrics;
+
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.SimpleInstrumentationContext;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.schema.GraphQLFieldDefinition;
+import org.codice.ddf.graphql.FunctionDataFetcher;
+
+/**
+ * Records the wall time and outcome of every field fetch in {@link GraphQLMetrics}. The time of a
+ * function field covers the execution of its function, including time spent waiting on other
+ * threads.
+ */
+public class FieldTimingInstrumentation extends SimpleInstrumentation {
+
+  private final GraphQLMetrics metrics;
+
+  public FieldTimingInstrumentation(GraphQLMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  @Override
+  public InstrumentationContext<Object> beginFieldFetch(
+      InstrumentationFieldFetchParameters parameters) {
+    GraphQLFieldDefinition fieldDef = parameters.getField();
+    String field = parameters.getEnvironment().getParentType().getName() + "." + fieldDef.getName();
+    boolean function = fieldDef.getDataFetcher() instanceof FunctionDataFetcher;
+    long start = System.nanoTime();
+
+    return SimpleInstrumentationContext.whenCompleted(
+        (result, e) -> metrics.record(field, function, System.nanoTime() - start, e != null));
+  }
+}
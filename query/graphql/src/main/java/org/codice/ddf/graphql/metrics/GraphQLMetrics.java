@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.graphql.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.codice.ddf.admin.api.metrics.FieldTiming;
+import org.codice.ddf.admin.api.metrics.GraphQLMetricsMXBean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records the timings of GraphQL fields, the schema rebuilds and the document cache lookups and
+ * exposes them through JMX.
+ */
+public class GraphQLMetrics implements GraphQLMetricsMXBean {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(GraphQLMetrics.class);
+
+  private final ConcurrentMap<String, Timing> timings = new ConcurrentHashMap<>();
+
+  private final LongAdder schemaRebuilds = new LongAdder();
+
+  private final LongAdder skippedSchemaRebuilds = new LongAdder();
+
+  private final LongAdder documentCacheHits = new LongAdder();
+
+  private final LongAdder documentCacheMisses = new LongAdder();
+
+  /**
+   * @param field the name of the parent type of the field and its own name separated by a dot
+   * @param function whether the field executes a function
+   * @param nanos the wall time of the execution
+   * @param error whether the execution failed
+   */
+  public void record(String field, boolean function, long nanos, boolean error) {
+    timings.computeIfAbsent(field, key -> new Timing(function)).histogram.record(nanos, error);
+  }
+
+  /** @param skipped whether the rebuild was skipped because the schema would not have changed */
+  public void recordSchemaRebuild(boolean skipped) {
+    if (skipped) {
+      skippedSchemaRebuilds.increment();
+    } else {
+      schemaRebuilds.increment();
+    }
+  }
+
+  /** @param hit whether the parsed document of the query was cached */
+  public void recordDocumentCacheLookup(boolean hit) {
+    if (hit) {
+      documentCacheHits.increment();
+    } else {
+      documentCacheMisses.increment();
+    }
+  }
+
+  @Override
+  public List<FieldTiming> getFieldTimings() {
+    return timings
+        .entrySet()
+        .stream()
+        .map(entry -> entry.getValue().toFieldTiming(entry.getKey()))
+        .sorted(Comparator.comparing(FieldTiming::getField))
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public long getSchemaRebuilds() {
+    return schemaRebuilds.sum();
+  }
+
+  @Override
+  public long getSkippedSchemaRebuilds() {
+    return skippedSchemaRebuilds.sum();
+  }
+
+  @Override
+  public long getDocumentCacheHits() {
+    return documentCacheHits.sum();
+  }
+
+  @Override
+  public long getDocumentCacheMisses() {
+    return documentCacheMisses.sum();
+  }
+
+  @Override
+  public void reset() {
+    timings.clear();
+    schemaRebuilds.reset();
+    skippedSchemaRebuilds.reset();
+    documentCacheHits.reset();
+    documentCacheMisses.reset();
+  }
+
+  /** Registers these metrics with the platform MBean server, replacing earlier registrations. */
+  public void registerMBean() {
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = new ObjectName(OBJECT_NAME);
+      if (server.isRegistered(name)) {
+        server.unregisterMBean(name);
+      }
+      server.registerMBean(this, name);
+    } catch (JMException e) {
+      LOGGER.warn("Unable to register the GraphQL metrics MBean.", e);
+    }
+  }
+
+  public void unregisterMBean() {
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = new ObjectName(OBJECT_NAME);
+      if (server.isRegistered(name)) {
+        server.unregisterMBean(name);
+      }
+    } catch (JMException e) {
+      LOGGER.debug("Unable to unregister the GraphQL metrics MBean.", e);
+    }
+  }
+
+  private static class Timing {
+
+    private final boolean function;
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    private Timing(boolean function) {
+      this.function = function;
+    }
+
+    private FieldTiming toFieldTiming(String field) {
+      return new FieldTiming(
+          field,
+          function,
+          histogram.getCount(),
+          histogram.getErrors(),
+          histogram.getMeanMillis(),
+          histogram.getPercentileMillis(0.5),
+          histogram.getPercentileMillis(0.95),
+          histogram.getPercentileMillis(0.99),
+          histogram.getMaxMillis());
+    }
+  }
+}
@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.graphql.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of durations. Durations are counted in buckets whose bounds double, starting
+ * at one microsecond, so percentiles are accurate to within a factor of two.
+ */
+public class LatencyHistogram {
+
+  private static final int BUCKETS = 40;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+  private final LongAdder count = new LongAdder();
+
+  private final LongAdder errors = new LongAdder();
+
+  private final LongAdder totalNanos = new LongAdder();
+
+  private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+  public void record(long nanos, boolean error) {
+    long duration = Math.max(0, nanos);
+    buckets.incrementAndGet(bucket(duration));
+    count.increment();
+    totalNanos.add(duration);
+    maxNanos.accumulate(duration);
+    if (error) {
+      errors.increment();
+    }
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  public long getErrors() {
+    return errors.sum();
+  }
+
+  public double getMeanMillis() {
+    long total = count.sum();
+    return total == 0 ? 0 : toMillis(totalNanos.sum()) / total;
+  }
+
+  public double getMaxMillis() {
+    return toMillis(maxNanos.get());
+  }
+
+  /**
+   * @param percentile between 0 and 1
+   * @return the upper bound of the bucket the percentile falls in, capped at the maximum duration
+   */
+  public double getPercentileMillis(double percentile) {
+    long[] counts = new long[BUCKETS];
+    long total = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] = buckets.get(i);
+      total += counts[i];
+    }
+
+    if (total == 0) {
+      return 0;
+    }
+
+    long rank = (long) Math.ceil(percentile * total);
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Math.min(toMillis(upperBoundNanos(i)), getMaxMillis());
+      }
+    }
+
+    return getMaxMillis();
+  }
+
+  private static int bucket(long nanos) {
+    long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+    return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+  }
+
+  private static long upperBoundNanos(int bucket) {
+    return TimeUnit.MICROSECONDS.toNanos(1L << bucket);
+  }
+
+  private static double toMillis(long nanos) {
+    return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+  }
+}
@@ -0,0 +1,353 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.graphql.servlet;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.security.AccessControlContext;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import org.codice.ddf.admin.api.progress.RequestDeadline;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes requests off the container thread using Servlet 3 asynchronous processing, so that long
+ * running functions such as discovery probes do not hold on to the container threads shared with
+ * the other web applications.
+ *
+ * <p>Requests wait for a free thread in a bounded queue. Once the queue is full, requests are
+ * rejected with {@code 503 Service Unavailable} instead of piling up.
+ *
+ * <p>Requests run with the {@link AccessControlContext} of the container thread, so they execute as
+ * the subject that made the request.
+ *
+ * <p>The container times requests out shortly after their {@link RequestDeadline}, cancelling the
+ * deadline and interrupting the task so that a request stuck past it stops, and completing the
+ * request. Tasks write to a response that drops whatever they write once the request is completed,
+ * as the container recycles the response of a completed request. Servlet 3.0 offers no way to
+ * notice a client that has gone away while its request is executing, it is only noticed once
+ * writing the response fails.
+ */
+public class AsyncRequestDispatcher {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(AsyncRequestDispatcher.class);
+
+  private static final long KEEP_ALIVE_SECONDS = 60;
+
+  static final String RETRY_AFTER_HEADER = "Retry-After";
+
+  static final String RETRY_AFTER_SECONDS = "1";
+
+  /** Time given to a request past its deadline to write its response before it is timed out. */
+  static final long TIMEOUT_GRACE_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+  private final ThreadPoolExecutor executor;
+
+  /**
+   * @param threads the number of requests executing at once
+   * @param queueSize the number of requests waiting for a thread before requests are rejected
+   */
+  public AsyncRequestDispatcher(int threads, int queueSize) {
+    executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueSize)),
+            new ThreadFactoryBuilder().setNameFormat("graphql-request-%d").setDaemon(true).build(),
+            new ThreadPoolExecutor.AbortPolicy());
+    executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Starts asynchronous processing of the request and executes the {@code task} on a request
+   * thread, completing the request once the task returns. Must be called from the container thread
+   * with a request that supports asynchronous processing.
+   *
+   * @param task writes the response it is given, which drops what is written once the container has
+   *     completed the request
+   * @param deadline the deadline of the request, cancelled if the container times the request out
+   *     or it fails before the task completes
+   */
+  public void dispatch(
+      HttpServletRequest req,
+      HttpServletResponse resp,
+      Consumer<HttpServletResponse> task,
+      RequestDeadline deadline) {
+    AsyncContext asyncContext = req.startAsync(req, resp);
+    asyncContext.setTimeout(timeoutOf(deadline));
+    DispatchedResponse response = new DispatchedResponse(resp, asyncContext);
+
+    AccessControlContext context = AccessController.getContext();
+    FutureTask<Void> request =
+        new FutureTask<>(
+            () -> {
+              try {
+                AccessController.doPrivileged(
+                    (PrivilegedAction<Void>)
+                        () -> {
+                          task.accept(response);
+                          return null;
+                        },
+                    context);
+              } finally {
+                response.complete();
+              }
+            },
+            null);
+    asyncContext.addListener(new AbortListener(deadline, request, response));
+
+    try {
+      executor.execute(request);
+    } catch (RejectedExecutionException e) {
+      LOGGER.debug(
+          "Rejecting GraphQL request, {} requests are already waiting.",
+          executor.getQueue().size());
+      resp.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+      resp.setHeader(RETRY_AFTER_HEADER, RETRY_AFTER_SECONDS);
+      response.complete();
+    }
+  }
+
+  /**
+   * Dispatches a request bounded by the deadline bound to the container thread, if any.
+   *
+   * @see #dispatch(HttpServletRequest, HttpServletResponse, Consumer, RequestDeadline)
+   */
+  public void dispatch(
+      HttpServletRequest req, HttpServletResponse resp, Consumer<HttpServletResponse> task) {
+    dispatch(req, resp, task, RequestDeadline.current());
+  }
+
+  /** @return the number of requests waiting for a thread */
+  public int getQueuedRequests() {
+    return executor.getQueue().size();
+  }
+
+  /** Stops accepting requests. Requests already accepted still complete. */
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  /** @return the async timeout of a request with the given deadline, 0 for none */
+  private static long timeoutOf(RequestDeadline deadline) {
+    long remaining = deadline.remaining(TimeUnit.MILLISECONDS);
+    return remaining == Long.MAX_VALUE ? 0 : remaining + TIMEOUT_GRACE_MILLIS;
+  }
+
+  /**
+   * Response of a dispatched request, completed by whichever of the task and the container is done
+   * with the request first. Once completed, what the task writes is dropped and writing the body
+   * fails, so that nothing is written to the response after the container has recycled it.
+   */
+  private static class DispatchedResponse extends HttpServletResponseWrapper {
+
+    private final AsyncContext asyncContext;
+
+    // Guarded by this, so that the request is not completed while the task writes to it
+    private boolean completed;
+
+    private ServletOutputStream out;
+
+    private PrintWriter writer;
+
+    private DispatchedResponse(HttpServletResponse response, AsyncContext asyncContext) {
+      super(response);
+      this.asyncContext = asyncContext;
+    }
+
+    private void complete() {
+      synchronized (this) {
+        if (completed) {
+          return;
+        }
+        completed = true;
+      }
+      asyncContext.complete();
+    }
+
+    private void ensureNotCompleted() throws IOException {
+      if (completed) {
+        throw new IOException("The GraphQL request has already been completed.");
+      }
+    }
+
+    @Override
+    public synchronized ServletOutputStream getOutputStream() throws IOException {
+      ensureNotCompleted();
+      if (out == null) {
+        ServletOutputStream delegate = super.getOutputStream();
+        out =
+            new ServletOutputStream() {
+              @Override
+              public void write(int b) throws IOException {
+                synchronized (DispatchedResponse.this) {
+                  ensureNotCompleted();
+                  delegate.write(b);
+                }
+              }
+
+              @Override
+              public void write(byte[] b, int off, int len) throws IOException {
+                synchronized (DispatchedResponse.this) {
+                  ensureNotCompleted();
+                  delegate.write(b, off, len);
+                }
+              }
+
+              @Override
+              public void flush() throws IOException {
+                synchronized (DispatchedResponse.this) {
+                  ensureNotCompleted();
+                  delegate.flush();
+                }
+              }
+            };
+      }
+      return out;
+    }
+
+    @Override
+    public synchronized PrintWriter getWriter() throws IOException {
+      ensureNotCompleted();
+      if (writer == null) {
+        writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+      }
+      return writer;
+    }
+
+    @Override
+    public synchronized void flushBuffer() throws IOException {
+      ensureNotCompleted();
+      super.flushBuffer();
+    }
+
+    @Override
+    public synchronized boolean isCommitted() {
+      return completed || super.isCommitted();
+    }
+
+    @Override
+    public synchronized void sendError(int sc, String msg) throws IOException {
+      ensureNotCompleted();
+      super.sendError(sc, msg);
+    }
+
+    @Override
+    public synchronized void sendError(int sc) throws IOException {
+      ensureNotCompleted();
+      super.sendError(sc);
+    }
+
+    @Override
+    public synchronized void setStatus(int sc) {
+      if (!completed) {
+        super.setStatus(sc);
+      }
+    }
+
+    @Override
+    public synchronized void setHeader(String name, String value) {
+      if (!completed) {
+        super.setHeader(name, value);
+      }
+    }
+
+    @Override
+    public synchronized void addHeader(String name, String value) {
+      if (!completed) {
+        super.addHeader(name, value);
+      }
+    }
+
+    @Override
+    public synchronized void setContentType(String type) {
+      if (!completed) {
+        super.setContentType(type);
+      }
+    }
+
+    @Override
+    public synchronized void setCharacterEncoding(String charset) {
+      if (!completed) {
+        super.setCharacterEncoding(charset);
+      }
+    }
+  }
+
+  private static class AbortListener implements AsyncListener {
+
+    private final RequestDeadline deadline;
+
+    private final FutureTask<Void> request;
+
+    private final DispatchedResponse response;
+
+    private AbortListener(
+        RequestDeadline deadline, FutureTask<Void> request, DispatchedResponse response) {
+      this.deadline = deadline;
+      this.request = request;
+      this.response = response;
+    }
+
+    /**
+     * Completes the request, after any write of the task in progress, then stops the task. The
+     * request is completed first so that the stopped task finds its response completed.
+     */
+    private void abort() {
+      response.complete();
+      deadline.cancel();
+      request.cancel(true);
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) throws IOException {
+      // Nothing to abort
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) throws IOException {
+      LOGGER.debug("GraphQL request timed out, aborting it.");
+      abort();
+    }
+
+    @Override
+    public void onError(AsyncEvent event) throws IOException {
+      LOGGER.debug("GraphQL request failed, aborting it.", event.getThrowable());
+      abort();
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) throws IOException {
+      // Nothing to abort
+    }
+  }
+}
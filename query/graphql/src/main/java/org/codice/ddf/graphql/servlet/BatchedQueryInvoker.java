@@ -0,0 +1,194 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.graphql.servlet;
+
+import graphql.Directives;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.language.Directive;
+import graphql.language.Document;
+import graphql.language.Node;
+import graphql.language.OperationDefinition;
+import graphql.schema.GraphQLSchema;
+import graphql.servlet.GenericGraphQLError;
+import graphql.servlet.GraphQLBatchedInvocationInput;
+import graphql.servlet.GraphQLSingleInvocationInput;
+import graphql.servlet.internal.GraphQLRequest;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes the operations of batched requests, such as the batches of queries sent by the UI.
+ * Batches of queries execute concurrently on a shared executor, with at most a fixed number of the
+ * operations of a batch executing at once. Batches with a mutation or a subscription execute one
+ * operation after another, since a mutation may change what the operations after it read. So do
+ * batches with deferred fields, which are told apart by the order they execute in.
+ *
+ * <p>The operations of a batch share the context of the batch, so they also share its data loaders
+ * and the values its functions read. Results are handed out in the order of the batch. An operation
+ * that fails is handed out as a result with an error, so the rest of the batch is still handed out.
+ */
+public class BatchedQueryInvoker {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(BatchedQueryInvoker.class);
+
+  private static final String OPERATION_FAILED_ERROR =
+      "Unexpected error executing the operation, see the server logs for details.";
+
+  private final Executor executor;
+
+  private final int maxConcurrency;
+
+  private final BiFunction<GraphQLSchema, String, Document> documents;
+
+  /**
+   * @param executor the shared executor to execute operations on, or null to execute them on the
+   *     request thread
+   * @param maxConcurrency the maximum number of operations of a batch executing at once
+   * @param documents parses the query of an operation executed against the given schema, which may
+   *     be the ID of a persisted operation, reusing the parsed document if there is one
+   */
+  public BatchedQueryInvoker(
+      Executor executor,
+      int maxConcurrency,
+      BiFunction<GraphQLSchema, String, Document> documents) {
+    this.executor = executor;
+    this.maxConcurrency = maxConcurrency;
+    this.documents = documents;
+  }
+
+  /**
+   * @param queryInvoker executes a single operation
+   * @param requests the operations of the batch, in order
+   * @param invocationInput the invocation of the batch
+   * @param results accepts the result of each operation, in the order of the batch
+   */
+  public void query(
+      Function<GraphQLSingleInvocationInput, ExecutionResult> queryInvoker,
+      List<GraphQLRequest> requests,
+      GraphQLBatchedInvocationInput invocationInput,
+      Consumer<ExecutionResult> results) {
+    List<GraphQLSingleInvocationInput> operations =
+        requests
+            .stream()
+            .map(
+                request ->
+                    new GraphQLSingleInvocationInput(
+                        request,
+                        invocationInput.getSchema(),
+                        invocationInput.getContext(),
+                        invocationInput.getRoot()))
+            .collect(Collectors.toList());
+
+    if (executor == null
+        || maxConcurrency < 2
+        || operations.size() < 2
+        || !isQueries(invocationInput.getSchema(), requests)) {
+      operations.forEach(operation -> results.accept(query(queryInvoker, operation)));
+      return;
+    }
+
+    LOGGER.debug("Executing a batch of {} queries concurrently.", operations.size());
+    RequestExecutor batchExecutor = new RequestExecutor(executor, maxConcurrency);
+    List<CompletableFuture<ExecutionResult>> executions =
+        operations
+            .stream()
+            .map(
+                operation ->
+                    CompletableFuture.supplyAsync(
+                        () -> query(queryInvoker, operation), batchExecutor))
+            .collect(Collectors.toList());
+
+    for (CompletableFuture<ExecutionResult> execution : executions) {
+      results.accept(join(execution));
+    }
+  }
+
+  /** @return whether every operation of the batch is a query without deferred fields */
+  private boolean isQueries(GraphQLSchema schema, List<GraphQLRequest> requests) {
+    for (GraphQLRequest request : requests) {
+      Document document;
+      try {
+        document = documents.apply(schema, request.getQuery());
+      } catch (RuntimeException e) {
+        // Left to the execution of the batch to report
+        return false;
+      }
+
+      boolean queries =
+          document
+              .getDefinitions()
+              .stream()
+              .filter(OperationDefinition.class::isInstance)
+              .map(OperationDefinition.class::cast)
+              .filter(
+                  operation ->
+                      request.getOperationName() == null
+                          || request.getOperationName().equals(operation.getName()))
+              .allMatch(
+                  operation -> operation.getOperation() == OperationDefinition.Operation.QUERY);
+      if (!queries || hasDeferredFields(document)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static boolean hasDeferredFields(Node<?> node) {
+    if (node instanceof Directive
+        && Directives.DeferDirective.getName().equals(((Directive) node).getName())) {
+      return true;
+    }
+
+    for (Node<?> child : node.getChildren()) {
+      if (child != null && hasDeferredFields(child)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static ExecutionResult query(
+      Function<GraphQLSingleInvocationInput, ExecutionResult> queryInvoker,
+      GraphQLSingleInvocationInput operation) {
+    try {
+      return queryInvoker.apply(operation);
+    } catch (RuntimeException e) {
+      return failed(e);
+    }
+  }
+
+  private static ExecutionResult join(CompletableFuture<ExecutionResult> execution) {
+    try {
+      return execution.join();
+    } catch (CompletionException | CancellationException e) {
+      return failed(e.getCause() == null ? e : e.getCause());
+    }
+  }
+
+  private static ExecutionResult failed(Throwable e) {
+    LOGGER.error("Error executing an operation of a batched GraphQL request.", e);
+    return new ExecutionResultImpl(new GenericGraphQLError(OPERATION_FAILED_ERROR));
+  }
+}
@@ -0,0 +1,40 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.graphql.servlet;
+
+import graphql.execution.instrumentation.DeferredFieldInstrumentationContext;
+import graphql.execution.instrumentation.SimpleInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationDeferredFieldParameters;
+import org.codice.ddf.graphql.RequestGraphQLContext;
+
+/**
+ * Records the path of every deferred field in the {@link RequestGraphQLContext}. The results of
+ * deferred fields only carry the value of the field, the recorded paths tell the client where the
+ * value belongs.
+ */
+public class DeferredFieldPathInstrumentation extends SimpleInstrumentation {
+
+  @Override
+  public DeferredFieldInstrumentationContext beginDeferredField(
+      InstrumentationDeferredFieldParameters parameters) {
+    Object context = parameters.getExecutionContext().getContext();
+    if (context instanceof RequestGraphQLContext) {
+      ((RequestGraphQLContext) context)
+          .getDeferredFieldPaths()
+          .add(parameters.getExecutionStrategyParameters().getPath().toList());
+    }
+
+    return super.beginDeferredField(parameters);
+  }
+}
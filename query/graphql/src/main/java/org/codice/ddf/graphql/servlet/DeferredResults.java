@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.graphql.servlet;
+
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.GraphQL;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import org.codice.ddf.graphql.RequestGraphQLContext;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects the results of the deferred fields of an execution, published by graphql-java as they
+ * complete, so that they can be written by the thread handling the request.
+ */
+public class DeferredResults implements Subscriber<ExecutionResult> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DeferredResults.class);
+
+  private static final Object COMPLETE = new Object();
+
+  private final BlockingQueue<Object> results = new LinkedBlockingQueue<>();
+
+  private final Queue<List<Object>> paths;
+
+  /**
+   * @param result the result of an execution
+   * @param context the context the result was executed with
+   * @return the results of the deferred fields of the execution, or empty if it has none
+   */
+  @SuppressWarnings("unchecked")
+  public static Optional<DeferredResults> of(ExecutionResult result, Object context) {
+    Map<Object, Object> extensions = result.getExtensions();
+    if (extensions == null || !(extensions.get(GraphQL.DEFERRED_RESULTS) instanceof Publisher)) {
+      return Optional.empty();
+    }
+
+    Queue<List<Object>> paths =
+        context instanceof RequestGraphQLContext
+            ? ((RequestGraphQLContext) context).getDeferredFieldPaths()
+            : new ConcurrentLinkedQueue<>();
+    return Optional.of(
+        new DeferredResults(
+            (Publisher<ExecutionResult>) extensions.get(GraphQL.DEFERRED_RESULTS), paths));
+  }
+
+  /**
+   * @return {@code result} without the publisher of the results of its deferred fields, which is
+   *     not part of the response
+   */
+  public static ExecutionResult withoutDeferredResults(ExecutionResult result) {
+    Map<Object, Object> extensions = new LinkedHashMap<>(result.getExtensions());
+    extensions.remove(GraphQL.DEFERRED_RESULTS);
+    return new ExecutionResultImpl(
+        result.getData(), result.getErrors(), extensions.isEmpty() ? null : extensions);
+  }
+
+  /**
+   * @param publisher publishes the results of the deferred fields
+   * @param paths the paths of the deferred fields, in the order their results are published
+   */
+  public DeferredResults(Publisher<ExecutionResult> publisher, Queue<List<Object>> paths) {
+    this.paths = paths;
+    publisher.subscribe(this);
+  }
+
+  /**
+   * Blocks until the next deferred field has completed.
+   *
+   * @return the result of the next deferred field, or null once all of them have been returned
+   */
+  public Part next() {
+    Object next;
+    try {
+      next = results.take();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    }
+
+    if (next == COMPLETE) {
+      results.add(COMPLETE);
+      return null;
+    }
+
+    List<Object> path = paths.poll();
+    return new Part(path == null ? Collections.emptyList() : path, (ExecutionResult) next);
+  }
+
+  @Override
+  public void onSubscribe(Subscription subscription) {
+    // The results are few and small, they are buffered until they are written
+    subscription.request(Long.MAX_VALUE);
+  }
+
+  @Override
+  public void onNext(ExecutionResult result) {
+    results.add(result);
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    LOGGER.debug("Failed to execute deferred GraphQL fields.", throwable);
+    results.add(COMPLETE);
+  }
+
+  @Override
+  public void onComplete() {
+    results.add(COMPLETE);
+  }
+
+  /** Result of a deferred field along with the path of the field. */
+  public static class Part {
+
+    private final List<Object> path;
+
+    private final ExecutionResult result;
+
+    private Part(List<Object> path, ExecutionResult result) {
+      this.path = path;
+      this.result = result;
+    }
+
+    public List<Object> getPath() {
+      return path;
+    }
+
+    public ExecutionResult getResult() {
+      return result;
+    }
+  }
+}
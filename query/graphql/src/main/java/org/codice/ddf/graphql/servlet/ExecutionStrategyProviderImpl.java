@@ -18,8 +18,10 @@ import graphql.execution.DataFetcherExceptionHandlerParameters;
 import graphql.execution.ExecutionPath;
 import graphql.execution.ExecutionStrategy;
 import graphql.execution.SimpleDataFetcherExceptionHandler;
+import graphql.execution.SubscriptionExecutionStrategy;
 import graphql.servlet.ExecutionStrategyProvider;
 import java.util.List;
+import java.util.concurrent.CompletionException;
 import org.codice.ddf.admin.api.report.ErrorMessage;
 import org.codice.ddf.graphql.FunctionDataFetcherException;
 import org.slf4j.Logger;
@@ -30,8 +32,11 @@ public class ExecutionStrategyProviderImpl implements ExecutionStrategyProvider
 
   private final ExtendedEnhancedExecutionStrategy strategy;
 
+  private final SubscriptionExecutionStrategy subscriptionStrategy;
+
   public ExecutionStrategyProviderImpl() {
     strategy = new ExtendedEnhancedExecutionStrategy();
+    subscriptionStrategy = new SubscriptionExecutionStrategy(new DataFetcherExceptionHandlerImpl());
   }
 
   @Override
@@ -46,7 +51,7 @@ public class ExecutionStrategyProviderImpl implements ExecutionStrategyProvider
 
   @Override
   public ExecutionStrategy getSubscriptionExecutionStrategy() {
-    return strategy;
+    return subscriptionStrategy;
   }
 
   public static class ExtendedEnhancedExecutionStrategy extends AsyncExecutionStrategy {
@@ -62,6 +67,9 @@ public class ExecutionStrategyProviderImpl implements ExecutionStrategyProvider
     public void accept(
         DataFetcherExceptionHandlerParameters dataFetcherExceptionHandlerParameters) {
       Throwable e = dataFetcherExceptionHandlerParameters.getException();
+      if (e instanceof CompletionException && e.getCause() != null) {
+        e = e.getCause();
+      }
 
       if (e instanceof FunctionDataFetcherException) {
         for (ErrorMessage msg : ((FunctionDataFetcherException) e).getCustomMessages()) {
@@ -0,0 +1,37 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.graphql.servlet;
+
+import graphql.analysis.FieldComplexityCalculator;
+import graphql.analysis.FieldComplexityEnvironment;
+import graphql.schema.DataFetcher;
+import org.codice.ddf.graphql.FunctionDataFetcher;
+
+/**
+ * Weighs fields bound to functions by the cost hint of the function, so a query probing many remote
+ * systems exhausts the complexity budget long before a query reading the same number of plain
+ * fields. All other fields cost 1.
+ */
+public class FunctionCostComplexityCalculator implements FieldComplexityCalculator {
+
+  @Override
+  public int calculate(FieldComplexityEnvironment environment, int childComplexity) {
+    DataFetcher<?> fetcher = environment.getFieldDefinition().getDataFetcher();
+    int cost =
+        fetcher instanceof FunctionDataFetcher
+            ? ((FunctionDataFetcher) fetcher).getCost().getWeight()
+            : 1;
+    return cost + childComplexity;
+  }
+}
@@ -0,0 +1,173 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.graphql.servlet;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Creates the executors function fields, and the operations of batched requests, are executed on,
+ * off the request thread.
+ */
+public class FunctionExecutors {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(FunctionExecutors.class);
+
+  private static final String VIRTUAL_THREAD_EXECUTOR_FACTORY = "newVirtualThreadPerTaskExecutor";
+
+  private static final int QUEUED_TASKS_PER_THREAD = 16;
+
+  private static final long KEEP_ALIVE_SECONDS = 60;
+
+  private FunctionExecutors() {}
+
+  /**
+   * Creates a pool of {@code threads} threads. Once the pool and its queue are full, tasks run on
+   * the thread that submitted them. Once the pool is shut down, tasks are rejected with a {@link
+   * RejectedExecutionException}.
+   */
+  public static ExecutorService newBoundedExecutor(int threads) {
+    return newBoundedExecutor(threads, "graphql-function-%d");
+  }
+
+  /**
+   * @param nameFormat {@link String#format(String, Object...)} format of the names of the threads,
+   *     given the index of the thread
+   * @see #newBoundedExecutor(int)
+   */
+  public static ExecutorService newBoundedExecutor(int threads, String nameFormat) {
+    ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            KEEP_ALIVE_SECONDS,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(threads * QUEUED_TASKS_PER_THREAD),
+            new ThreadFactoryBuilder().setNameFormat(nameFormat).setDaemon(true).build(),
+            new CallerRunsUnlessShutdown());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  /**
+   * Creates an executor that starts a virtual thread per task when the JVM supports virtual
+   * threads, and a pool of {@code threads} threads otherwise. At most {@code threads} tasks run on
+   * virtual threads at once, further tasks run on the thread that submitted them.
+   */
+  public static ExecutorService newVirtualThreadExecutor(int threads) {
+    ExecutorService executor;
+    try {
+      executor =
+          (ExecutorService) Executors.class.getMethod(VIRTUAL_THREAD_EXECUTOR_FACTORY).invoke(null);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      LOGGER.debug("Virtual threads are not supported, using a bounded thread pool.", e);
+      return newBoundedExecutor(threads);
+    }
+    return new BoundedExecutor(executor, threads);
+  }
+
+  /**
+   * Runs tasks the pool cannot take on the thread that submitted them, like {@link
+   * ThreadPoolExecutor.CallerRunsPolicy}, but rejects them once the pool is shut down instead of
+   * silently discarding them, so submitters can complete the work they were waiting for.
+   */
+  private static class CallerRunsUnlessShutdown implements RejectedExecutionHandler {
+
+    @Override
+    public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+      if (executor.isShutdown()) {
+        throw new RejectedExecutionException("The executor has been shut down.");
+      }
+      task.run();
+    }
+  }
+
+  /**
+   * Runs at most a fixed number of tasks at once on an executor that does not bound its threads
+   * itself. Further tasks run on the thread that submitted them.
+   */
+  static class BoundedExecutor extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+
+    private final Semaphore permits;
+
+    BoundedExecutor(ExecutorService delegate, int maxRunning) {
+      this.delegate = delegate;
+      this.permits = new Semaphore(maxRunning);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      if (delegate.isShutdown()) {
+        throw new RejectedExecutionException("The executor has been shut down.");
+      }
+
+      if (!permits.tryAcquire()) {
+        command.run();
+        return;
+      }
+
+      try {
+        delegate.execute(
+            () -> {
+              try {
+                command.run();
+              } finally {
+                permits.release();
+              }
+            });
+      } catch (RejectedExecutionException e) {
+        permits.release();
+        throw e;
+      }
+    }
+
+    @Override
+    public void shutdown() {
+      delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+      return delegate.awaitTermination(timeout, unit);
+    }
+  }
+}
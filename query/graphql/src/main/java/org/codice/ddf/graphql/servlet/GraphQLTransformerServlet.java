@@ -13,62 +13,479 @@
  */
 package org.codice.ddf.graphql.servlet;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.RemovalCause;
-import com.google.common.cache.RemovalNotification;
-import graphql.servlet.GraphQLProvider;
+import com.google.common.collect.ImmutableList;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import graphql.introspection.IntrospectionQuery;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLFieldsContainer;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.servlet.DefaultGraphQLSchemaProvider;
+import graphql.servlet.GenericGraphQLError;
+import graphql.servlet.GraphQLBatchedInvocationInput;
+import graphql.servlet.GraphQLObjectMapper;
+import graphql.servlet.GraphQLSchemaProvider;
+import graphql.servlet.GraphQLSingleInvocationInput;
 import graphql.servlet.OsgiGraphQLHttpServlet;
+import graphql.servlet.internal.GraphQLRequest;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import org.codice.ddf.admin.api.Events;
 import org.codice.ddf.admin.api.FieldProvider;
+import org.codice.ddf.admin.api.progress.ProbeProgress;
+import org.codice.ddf.admin.api.progress.RequestDeadline;
+import org.codice.ddf.graphql.RequestGraphQLContext;
+import org.codice.ddf.graphql.metrics.FieldTimingInstrumentation;
+import org.codice.ddf.graphql.metrics.GraphQLMetrics;
+import org.codice.ddf.graphql.transform.GraphQLProviderImpl;
 import org.codice.ddf.graphql.transform.GraphQLTransformCommons;
 import org.osgi.service.event.Event;
 import org.osgi.service.event.EventHandler;
+import org.reactivestreams.Publisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class GraphQLTransformerServlet extends OsgiGraphQLHttpServlet implements EventHandler {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(GraphQLTransformerServlet.class);
-  private static final long CACHE_EXPIRATION_IN_SECONDS = 1;
-  private static final long CACHE_CLEANUP_INVOCATION_IN_SECONDS = 1;
+  private static final long REFRESH_QUIET_PERIOD_IN_SECONDS = 1;
+  private static final long REFRESH_MAX_DELAY_IN_SECONDS = 10;
+
+  private static final String PERSISTED_OPERATIONS_ONLY_PROPERTY =
+      "org.codice.ddf.admin.graphql.persistedOperationsOnly";
+  private static final String PERSISTED_OPERATIONS_DIRECTORY = "etc/graphql-operations";
+
+  private static final String SCHEMA_SNAPSHOT_FILE = "data/graphql/schema-snapshot.json";
+  private static final long SNAPSHOT_GRACE_PERIOD_IN_SECONDS = 60;
+
+  private static final String FUNCTION_THREADS_PROPERTY =
+      "org.codice.ddf.admin.graphql.functionThreads";
+  private static final String VIRTUAL_THREADS_PROPERTY =
+      "org.codice.ddf.admin.graphql.virtualThreads";
+  private static final String REQUEST_CONCURRENCY_PROPERTY =
+      "org.codice.ddf.admin.graphql.requestConcurrency";
+  private static final int DEFAULT_FUNCTION_THREADS = 16;
+  private static final int DEFAULT_REQUEST_CONCURRENCY = 4;
+
+  private static final String REQUEST_THREADS_PROPERTY =
+      "org.codice.ddf.admin.graphql.requestThreads";
+  private static final String REQUEST_QUEUE_SIZE_PROPERTY =
+      "org.codice.ddf.admin.graphql.requestQueueSize";
+  private static final int DEFAULT_REQUEST_THREADS = 8;
+  private static final int DEFAULT_REQUEST_QUEUE_SIZE = 32;
+
+  private static final String BATCH_THREADS_PROPERTY = "org.codice.ddf.admin.graphql.batchThreads";
+  private static final String BATCH_CONCURRENCY_PROPERTY =
+      "org.codice.ddf.admin.graphql.batchConcurrency";
+  private static final int DEFAULT_BATCH_THREADS = 8;
+  private static final int DEFAULT_BATCH_CONCURRENCY = 4;
+
+  private static final String REQUEST_TIMEOUT_PROPERTY =
+      "org.codice.ddf.admin.graphql.requestTimeoutSeconds";
+  private static final long DEFAULT_REQUEST_TIMEOUT_SECONDS = 120;
+
+  private static final String QUERY_PARAMETER = "query";
+  private static final String VARIABLES_PARAMETER = "variables";
+  private static final String OPERATION_NAME_PARAMETER = "operationName";
+  private static final String SCHEMA_PATH = "/schema.json";
+  private static final String APPLICATION_JSON = "application/json";
+  private static final String BATCHED_SUBSCRIPTION_ERROR =
+      "Subscriptions cannot be executed in batched requests.";
 
   private static final String BINDING_FIELD_PROVIDER = "GraphQL servlet binding field provider %s";
   private static final String UNBINDING_FIELD_PROVIDER =
       "GraphQL servlet unbinding field provider %s";
 
-  private final Cache<String, Object> cache;
-  private final ScheduledExecutorService scheduler;
-  private GraphQLProvider graphQLProvider;
+  private final AtomicReference<GraphQLSchemaProvider> schemaProvider;
+  private final SchemaRefreshScheduler refreshScheduler;
+  private final ExecutorService functionExecutor;
+  private final AsyncRequestDispatcher requestDispatcher;
+  private final ExecutorService batchExecutor;
+  private final BatchedQueryInvoker batchedQueryInvoker;
+  private final GraphQLMetrics metrics;
+  private final GraphQLTransformCommons transformCommons;
+  private final PreparsedDocumentCache documentCache;
+  private final PersistedOperations persistedOperations;
+  private final JsonResponseWriter responseWriter;
+  private final IntrospectionResultCache introspectionResults;
   private List<FieldProvider> fieldProviders;
+  private String schemaFingerprint;
+  private final Path snapshotPath;
+  private String snapshotFingerprint;
+  private volatile SchemaSnapshot servedSnapshot;
+  private long snapshotDeadlineNanos;
+  private long snapshotRetryNanos;
+  private volatile GraphQLSchema provisionalSchema;
+  private volatile Map<String, Optional<GraphQLFieldDefinition>> liveFields =
+      new ConcurrentHashMap<>();
+  private final long requestTimeoutSeconds;
 
   public GraphQLTransformerServlet() {
     super();
     setExecutionStrategyProvider(new ExecutionStrategyProviderImpl());
     setErrorHandler(new GraphQLErrorHandlerImpl());
-    setInstrumentationProvider(new QueryValidationInstrumentationProvider());
+    metrics = new GraphQLMetrics();
+    metrics.registerMBean();
+    setInstrumentationProvider(
+        new QueryValidationInstrumentationProvider(
+            ImmutableList.of(
+                new FieldTimingInstrumentation(metrics), new DeferredFieldPathInstrumentation())));
+    functionExecutor = createFunctionExecutor();
+    requestDispatcher = createRequestDispatcher();
+    int requestConcurrency =
+        Math.max(1, Integer.getInteger(REQUEST_CONCURRENCY_PROPERTY, DEFAULT_REQUEST_CONCURRENCY));
+    setContextProvider(
+        functionExecutor == null
+            ? new RequestContextBuilder()
+            : new RequestContextBuilder(
+                () -> new RequestExecutor(functionExecutor, requestConcurrency)));
+    transformCommons = new GraphQLTransformCommons();
+    documentCache = new PreparsedDocumentCache(PreparsedDocumentCache.DEFAULT_MAX_SIZE, metrics);
+    persistedOperations = new PersistedOperations(documentCache);
+    persistedOperations.setPersistedOperationsOnly(
+        Boolean.getBoolean(PERSISTED_OPERATIONS_ONLY_PROPERTY));
+    String ddfHome = System.getProperty("ddf.home");
+    if (ddfHome != null) {
+      persistedOperations.registerDirectory(Paths.get(ddfHome, PERSISTED_OPERATIONS_DIRECTORY));
+    }
+    snapshotPath = ddfHome == null ? null : Paths.get(ddfHome, SCHEMA_SNAPSHOT_FILE);
+    setPreparsedDocumentProvider(persistedOperations);
+    responseWriter = new JsonResponseWriter(getGraphQLObjectMapper());
+    batchExecutor = createBatchExecutor();
+    batchedQueryInvoker =
+        new BatchedQueryInvoker(
+            batchExecutor,
+            Integer.getInteger(BATCH_CONCURRENCY_PROPERTY, DEFAULT_BATCH_CONCURRENCY),
+            (schema, query) -> {
+              String persistedQuery = persistedOperations.lookup(query);
+              return documentCache.getDocument(
+                  schema, persistedQuery == null ? query : persistedQuery);
+            });
+    introspectionResults = new IntrospectionResultCache();
+    requestTimeoutSeconds =
+        Math.max(1, Long.getLong(REQUEST_TIMEOUT_PROPERTY, DEFAULT_REQUEST_TIMEOUT_SECONDS));
 
-    cache =
-        CacheBuilder.newBuilder()
-            .expireAfterWrite(CACHE_EXPIRATION_IN_SECONDS, TimeUnit.SECONDS)
-            .removalListener(this::refreshSchemaOnExpire)
-            .build();
+    schemaProvider = new AtomicReference<>(super.getSchemaProvider());
+    loadSchemaSnapshot();
+    refreshScheduler =
+        new SchemaRefreshScheduler(
+            this::refreshSchema,
+            REFRESH_QUIET_PERIOD_IN_SECONDS,
+            REFRESH_MAX_DELAY_IN_SECONDS,
+            TimeUnit.SECONDS);
+  }
 
-    scheduler = Executors.newScheduledThreadPool(1);
-    scheduler.scheduleAtFixedRate(
-        cache::cleanUp,
-        CACHE_CLEANUP_INVOCATION_IN_SECONDS,
-        CACHE_CLEANUP_INVOCATION_IN_SECONDS,
-        TimeUnit.SECONDS);
+  /**
+   * Creates the executor functions run on, off the request thread. Uses virtual threads when the
+   * JVM supports them unless disabled, and a bounded pool otherwise. Either way, at most the number
+   * of function threads run functions at once. Setting the number of function threads to 0 runs
+   * functions on the request thread.
+   */
+  private static ExecutorService createFunctionExecutor() {
+    int threads = Integer.getInteger(FUNCTION_THREADS_PROPERTY, DEFAULT_FUNCTION_THREADS);
+    if (threads <= 0) {
+      return null;
+    }
+
+    if (Boolean.parseBoolean(System.getProperty(VIRTUAL_THREADS_PROPERTY, "true"))) {
+      return FunctionExecutors.newVirtualThreadExecutor(threads);
+    }
+
+    return FunctionExecutors.newBoundedExecutor(threads);
+  }
+
+  /**
+   * Creates the dispatcher requests are executed on, off the container thread. Setting the number
+   * of request threads to 0 executes requests on the container thread.
+   */
+  private static AsyncRequestDispatcher createRequestDispatcher() {
+    int threads = Integer.getInteger(REQUEST_THREADS_PROPERTY, DEFAULT_REQUEST_THREADS);
+    if (threads <= 0) {
+      return null;
+    }
+
+    return new AsyncRequestDispatcher(
+        threads, Integer.getInteger(REQUEST_QUEUE_SIZE_PROPERTY, DEFAULT_REQUEST_QUEUE_SIZE));
+  }
+
+  /**
+   * Creates the executor the queries of batched requests execute on concurrently. Operations wait
+   * for their functions, so they do not share the function executor. Setting the number of batch
+   * threads to 0 executes the operations of a batch one after another.
+   */
+  private static ExecutorService createBatchExecutor() {
+    int threads = Integer.getInteger(BATCH_THREADS_PROPERTY, DEFAULT_BATCH_THREADS);
+    if (threads <= 0) {
+      return null;
+    }
+
+    return FunctionExecutors.newBoundedExecutor(threads, "graphql-batch-%d");
   }
 
   @Override
   public void destroy() {
-    scheduler.shutdownNow();
+    refreshScheduler.shutdown();
+    transformCommons.shutdown();
+    metrics.unregisterMBean();
+    if (functionExecutor != null) {
+      functionExecutor.shutdown();
+    }
+    if (requestDispatcher != null) {
+      requestDispatcher.shutdown();
+    }
+    if (batchExecutor != null) {
+      batchExecutor.shutdown();
+    }
+  }
+
+  /**
+   * Executes schema requests and single queries, streaming their results to the response. Batched
+   * queries are left to the base servlet.
+   */
+  @Override
+  protected void doGet(HttpServletRequest req, HttpServletResponse resp)
+      throws ServletException, IOException {
+    String query = req.getParameter(QUERY_PARAMETER);
+    if (isSchemaRequest(req)) {
+      GraphQLRequest request =
+          new GraphQLRequest(IntrospectionQuery.INTROSPECTION_QUERY, new HashMap<>(), null);
+      execute(
+          req, resp, response -> query(getInvocationInputFactory().create(request, req), response));
+    } else if (query != null && !isBatched(query)) {
+      Map<String, Object> variables = new HashMap<>();
+      String variablesParameter = req.getParameter(VARIABLES_PARAMETER);
+      if (variablesParameter != null) {
+        variables.putAll(getGraphQLObjectMapper().deserializeVariables(variablesParameter));
+      }
+
+      GraphQLRequest request =
+          new GraphQLRequest(query, variables, req.getParameter(OPERATION_NAME_PARAMETER));
+      execute(
+          req,
+          resp,
+          response -> query(getInvocationInputFactory().createReadOnly(request, req), response));
+    } else {
+      super.doGet(req, resp);
+    }
+  }
+
+  /**
+   * Executes single and batched JSON requests, streaming their results to the response. GraphQL and
+   * multipart requests are left to the base servlet.
+   */
+  @Override
+  protected void doPost(HttpServletRequest req, HttpServletResponse resp)
+      throws ServletException, IOException {
+    String contentType = req.getContentType();
+    if (contentType != null && !contentType.startsWith(APPLICATION_JSON)) {
+      super.doPost(req, resp);
+      return;
+    }
+
+    GraphQLObjectMapper graphQLObjectMapper = getGraphQLObjectMapper();
+    InputStream body = new BufferedInputStream(req.getInputStream());
+    if (isBatched(body)) {
+      List<GraphQLRequest> requests;
+      try {
+        requests = graphQLObjectMapper.readBatchedGraphQLRequest(body);
+      } catch (IOException | RuntimeException e) {
+        badRequest(resp, e);
+        return;
+      }
+
+      execute(
+          req,
+          resp,
+          response ->
+              queryBatched(requests, getInvocationInputFactory().create(requests, req), response));
+    } else {
+      GraphQLRequest request;
+      try {
+        request = graphQLObjectMapper.readGraphQLRequest(body);
+      } catch (IOException | RuntimeException e) {
+        badRequest(resp, e);
+        return;
+      }
+
+      execute(
+          req, resp, response -> query(getInvocationInputFactory().create(request, req), response));
+    }
+  }
+
+  private void query(GraphQLSingleInvocationInput invocationInput, HttpServletResponse resp)
+      throws IOException {
+    ExecutionInput executionInput = invocationInput.getExecutionInput();
+    if (!IntrospectionResultCache.isIntrospectionQuery(
+        executionInput.getQuery(), executionInput.getOperationName())) {
+      try {
+        write(execute(invocationInput), executionInput.getContext(), resp);
+      } finally {
+        completeProbe(invocationInput.getContext());
+      }
+      return;
+    }
+
+    try {
+      byte[] json = introspectionResults.get(invocationInput.getSchema());
+      if (json == null) {
+        ExecutionResult result = execute(invocationInput);
+        json = responseWriter.serialize(result);
+        if (result.getErrors().isEmpty()) {
+          introspectionResults.put(invocationInput.getSchema(), json);
+        }
+      }
+      responseWriter.write(json, resp);
+    } finally {
+      completeProbe(invocationInput.getContext());
+    }
+  }
+
+  /** Executes the operation, telling the document cache the schema it is validated against. */
+  private ExecutionResult execute(GraphQLSingleInvocationInput invocationInput) {
+    return documentCache.validatingAgainst(
+        invocationInput.getSchema(), () -> getQueryInvoker().query(invocationInput));
+  }
+
+  /**
+   * Writes the events of subscriptions as an event stream, results with deferred fields as a
+   * multipart response and all other results as JSON.
+   */
+  @SuppressWarnings("unchecked")
+  private void write(ExecutionResult result, Object context, HttpServletResponse resp)
+      throws IOException {
+    if (result.getData() instanceof Publisher) {
+      responseWriter.writeEvents(
+          (Publisher<ExecutionResult>) result.getData(), deadlineOf(context), resp);
+      return;
+    }
+
+    Optional<DeferredResults> deferred = DeferredResults.of(result, context);
+    if (deferred.isPresent()) {
+      responseWriter.writeIncremental(result, deferred.get(), resp);
+    } else {
+      responseWriter.write(result, resp);
+    }
+  }
+
+  /**
+   * Executes the operations of a batched request, concurrently if they are all queries, writing
+   * their results in the order of the batch.
+   */
+  private void queryBatched(
+      List<GraphQLRequest> requests,
+      GraphQLBatchedInvocationInput invocationInput,
+      HttpServletResponse resp)
+      throws IOException {
+    try {
+      responseWriter.writeBatched(
+          resp,
+          resultWriter ->
+              batchedQueryInvoker.query(
+                  this::execute,
+                  requests,
+                  invocationInput,
+                  result ->
+                      resultWriter.accept(
+                          withoutSubscription(result),
+                          DeferredResults.of(result, invocationInput.getContext()).orElse(null))));
+    } finally {
+      completeProbe(invocationInput.getContext());
+    }
+  }
+
+  /** Batched responses are a single JSON array, which cannot stream the events of subscriptions. */
+  private static ExecutionResult withoutSubscription(ExecutionResult result) {
+    return result.getData() instanceof Publisher
+        ? new ExecutionResultImpl(new GenericGraphQLError(BATCHED_SUBSCRIPTION_ERROR))
+        : result;
+  }
+
+  private static RequestDeadline deadlineOf(Object context) {
+    return context instanceof RequestGraphQLContext
+        ? ((RequestGraphQLContext) context).getDeadline().orElse(RequestDeadline.current())
+        : RequestDeadline.current();
+  }
+
+  /** Completes the probe of the request, ending the subscriptions to its progress. */
+  private static void completeProbe(Object context) {
+    if (context instanceof RequestGraphQLContext) {
+      ((RequestGraphQLContext) context).getProbe().ifPresent(ProbeProgress::complete);
+    }
+  }
+
+  /**
+   * Executes the request on the request dispatcher if the request supports asynchronous processing,
+   * releasing the container thread, and on the container thread otherwise.
+   *
+   * <p>The functions of the request stop once its {@link RequestDeadline} passes, or once the
+   * dispatcher times the request out or it fails.
+   */
+  private void execute(HttpServletRequest req, HttpServletResponse resp, RequestHandler handler) {
+    RequestDeadline deadline = RequestDeadline.after(requestTimeoutSeconds, TimeUnit.SECONDS);
+    req.setAttribute(RequestContextBuilder.DEADLINE_ATTRIBUTE, deadline);
+    if (requestDispatcher != null && req.isAsyncSupported()) {
+      requestDispatcher.dispatch(req, resp, response -> execute(response, handler), deadline);
+    } else {
+      execute(resp, handler);
+    }
+  }
+
+  private static void execute(HttpServletResponse resp, RequestHandler handler) {
+    try {
+      handler.handle(resp);
+    } catch (Exception e) {
+      LOGGER.error("Error executing GraphQL request.", e);
+      // Once part of the response has been sent, its status can no longer be changed
+      if (!resp.isCommitted()) {
+        resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+      }
+    }
+  }
+
+  private static void badRequest(HttpServletResponse resp, Exception e) {
+    LOGGER.info("Bad POST request: parsing failed", e);
+    resp.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+  }
+
+  private static boolean isSchemaRequest(HttpServletRequest req) {
+    String path = req.getPathInfo() == null ? req.getServletPath() : req.getPathInfo();
+    return SCHEMA_PATH.equals(path);
+  }
+
+  private static boolean isBatched(String query) {
+    return query.trim().startsWith("[");
+  }
+
+  private static boolean isBatched(InputStream body) throws IOException {
+    body.mark(1);
+    int c = body.read();
+    while (c != -1 && Character.isWhitespace(c)) {
+      body.mark(1);
+      c = body.read();
+    }
+    body.reset();
+    return c == '[';
+  }
+
+  @FunctionalInterface
+  private interface RequestHandler {
+    void handle(HttpServletResponse resp) throws IOException;
   }
 
   @Override
@@ -80,35 +497,198 @@ public class GraphQLTransformerServlet extends OsgiGraphQLHttpServlet implements
 
   private void triggerSchemaRefresh(String refreshReason) {
     LOGGER.trace("GraphQL schema refresh requested. Cause: {}", refreshReason);
-    cache.put(Events.REFRESH_SCHEMA, true);
+    resetLiveFields();
+    refreshScheduler.requestRefresh();
   }
 
   /**
-   * Refreshes the schema periodically once the cache invalidates if a REFRESH_SCHEMA event was
-   * added to the cache. This allows multiple threads to ask for a schema refresh while only
-   * refreshing the schema once.
+   * Builds the new schema off to the side and publishes it with a single swap, so requests always
+   * execute against a complete schema, either the previous or the new one. The rebuild is skipped
+   * if the fingerprint of the field providers has not changed since the current schema was built.
    *
-   * @param notification
+   * <p>While a schema snapshot is served, the swap waits until the field providers match those of
+   * the snapshot, or until the grace period after startup has passed. Binding field providers
+   * request refreshes of their own, so in between the refresh is only retried with a doubling delay
+   * to catch the end of the grace period. The built schema is persisted as the snapshot served on
+   * the next startup.
    */
-  private void refreshSchemaOnExpire(RemovalNotification notification) {
-    if (notification.getCause() == RemovalCause.EXPIRED) {
-      refreshSchema();
+  // Synchronized in case a refresh is still running when another one is invoked directly
+  private synchronized void refreshSchema() {
+    if (fieldProviders == null) {
+      return;
     }
-  }
 
-  // Synchronized just in case the schema is still updating when another refresh is called
-  // The performance decrease by the `synchronized` is negligible because of the periodic cache
-  // invalidation implementation
-  private synchronized void refreshSchema() {
-    LOGGER.trace("Refreshing GraphQL schema.");
-    if (graphQLProvider != null) {
-      unbindProvider(graphQLProvider);
+    String fingerprint = GraphQLTransformCommons.schemaFingerprint(fieldProviders);
+    if (fingerprint.equals(schemaFingerprint)) {
+      LOGGER.trace("Field providers unchanged, skipping GraphQL schema refresh.");
+      metrics.recordSchemaRebuild(true);
+      return;
     }
-    graphQLProvider = GraphQLTransformCommons.createGraphQLProvider(fieldProviders);
-    bindProvider(graphQLProvider);
+
+    String shapeFingerprint =
+        snapshotPath == null
+            ? null
+            : GraphQLTransformCommons.schemaShapeFingerprint(fieldProviders);
+    if (servedSnapshot != null
+        && !servedSnapshot.getFingerprint().equals(shapeFingerprint)
+        && System.nanoTime() - snapshotDeadlineNanos < 0) {
+      LOGGER.trace("Field providers still binding, serving the GraphQL schema snapshot.");
+      long untilDeadline = snapshotDeadlineNanos - System.nanoTime();
+      refreshScheduler.requestRetry(
+          Math.min(snapshotRetryNanos, untilDeadline), TimeUnit.NANOSECONDS);
+      snapshotRetryNanos = Math.min(snapshotRetryNanos * 2, untilDeadline);
+      return;
+    }
+
+    LOGGER.trace("Refreshing GraphQL schema.");
+    GraphQLProviderImpl provider = transformCommons.fieldProvidersToGraphQlProvider(fieldProviders);
+    GraphQLSchema schema = provider.toSchema(ProbeProgressSubscription.getSubscriptions());
+    schemaProvider.set(schemaProviderOf(schema));
+    schemaFingerprint = fingerprint;
+    servedSnapshot = null;
+    resetLiveFields();
+    documentCache.invalidate();
+    introspectionResults.invalidate();
+    metrics.recordSchemaRebuild(false);
+    persistSchemaSnapshot(shapeFingerprint, schema);
     LOGGER.trace("Finished refreshing GraphQL schema.");
   }
 
+  /** Serves the persisted schema snapshot, if there is one, until the live schema is built. */
+  private void loadSchemaSnapshot() {
+    if (snapshotPath == null) {
+      return;
+    }
+
+    Optional<SchemaSnapshot> snapshot = SchemaSnapshot.read(snapshotPath);
+    if (!snapshot.isPresent()) {
+      return;
+    }
+
+    try {
+      schemaProvider.set(schemaProviderOf(snapshot.get().toSchema(this::liveFieldDefinition)));
+    } catch (RuntimeException e) {
+      LOGGER.debug("Unable to restore GraphQL schema snapshot [{}].", snapshotPath, e);
+      return;
+    }
+
+    servedSnapshot = snapshot.get();
+    snapshotFingerprint = servedSnapshot.getFingerprint();
+    snapshotDeadlineNanos =
+        System.nanoTime() + TimeUnit.SECONDS.toNanos(SNAPSHOT_GRACE_PERIOD_IN_SECONDS);
+    snapshotRetryNanos = TimeUnit.SECONDS.toNanos(REFRESH_QUIET_PERIOD_IN_SECONDS);
+    LOGGER.debug("Serving GraphQL schema snapshot until the field providers are bound.");
+  }
+
+  private void persistSchemaSnapshot(String shapeFingerprint, GraphQLSchema schema) {
+    if (snapshotPath == null || shapeFingerprint.equals(snapshotFingerprint)) {
+      return;
+    }
+
+    try {
+      Optional<SchemaSnapshot> snapshot = SchemaSnapshot.of(shapeFingerprint, schema);
+      if (snapshot.isPresent()) {
+        snapshot.get().write(snapshotPath);
+        snapshotFingerprint = shapeFingerprint;
+      }
+    } catch (IOException | RuntimeException e) {
+      LOGGER.debug("Unable to persist GraphQL schema snapshot [{}].", snapshotPath, e);
+    }
+  }
+
+  /**
+   * Resolves a field of the served schema snapshot against the schema of the field providers bound
+   * so far, which is rebuilt on first use after a field provider binds or unbinds. Each field is
+   * resolved once per rebuilt schema, instead of on every fetch.
+   */
+  private GraphQLFieldDefinition liveFieldDefinition(String typeName, String fieldName) {
+    return liveFields
+        .computeIfAbsent(
+            typeName + '.' + fieldName,
+            key -> Optional.ofNullable(resolveLiveFieldDefinition(typeName, fieldName)))
+        .orElse(null);
+  }
+
+  private GraphQLFieldDefinition resolveLiveFieldDefinition(String typeName, String fieldName) {
+    GraphQLSchema schema =
+        servedSnapshot == null ? schemaProvider.get().getSchema() : provisionalSchema;
+    if (schema == null) {
+      schema = buildProvisionalSchema();
+    }
+
+    GraphQLType type = schema == null ? null : schema.getType(typeName);
+    return type instanceof GraphQLFieldsContainer
+        ? ((GraphQLFieldsContainer) type).getFieldDefinition(fieldName)
+        : null;
+  }
+
+  /**
+   * Discards the provisional schema and the fields resolved against it. The schema is cleared
+   * first, so fields resolved into the new map never come from the discarded schema.
+   */
+  private void resetLiveFields() {
+    provisionalSchema = null;
+    liveFields = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Subscriptions only read, so unlike the default read-only schema of GET requests, the read-only
+   * schema keeps them. This lets clients that can only subscribe with GET requests, such as {@code
+   * EventSource}, subscribe.
+   */
+  private static GraphQLSchemaProvider schemaProviderOf(GraphQLSchema schema) {
+    GraphQLSchema readOnlySchema =
+        GraphQLSchema.newSchema()
+            .query(schema.getQueryType())
+            .subscription(schema.getSubscriptionType())
+            .build(schema.getAdditionalTypes());
+    return new DefaultGraphQLSchemaProvider(schema, readOnlySchema);
+  }
+
+  private synchronized GraphQLSchema buildProvisionalSchema() {
+    if (provisionalSchema == null && fieldProviders != null) {
+      try {
+        provisionalSchema =
+            transformCommons
+                .fieldProvidersToGraphQlProvider(fieldProviders)
+                .toSchema(ProbeProgressSubscription.getSubscriptions());
+      } catch (RuntimeException e) {
+        LOGGER.debug("Unable to build GraphQL schema of the bound field providers.", e);
+      }
+    }
+    return provisionalSchema;
+  }
+
+  @Override
+  public GraphQLSchemaProvider getSchemaProvider() {
+    return schemaProvider.get();
+  }
+
+  /** @return the cache of parsed and validated documents served by this servlet */
+  public PreparsedDocumentCache getDocumentCache() {
+    return documentCache;
+  }
+
+  /** @return the cache of introspection results served by this servlet */
+  public IntrospectionResultCache getIntrospectionResults() {
+    return introspectionResults;
+  }
+
+  /** @return the timings of the fields executed by this servlet */
+  public GraphQLMetrics getMetrics() {
+    return metrics;
+  }
+
+  /** @return the dispatcher executing requests off the container thread, or null if disabled */
+  public AsyncRequestDispatcher getRequestDispatcher() {
+    return requestDispatcher;
+  }
+
+  /** @return the operations that may be requested by ID instead of query text */
+  public PersistedOperations getPersistedOperations() {
+    return persistedOperations;
+  }
+
   public void bindFieldProvider(FieldProvider fieldProvider) {
     triggerSchemaRefresh(String.format(BINDING_FIELD_PROVIDER, fieldProvider.getFieldType()));
   }
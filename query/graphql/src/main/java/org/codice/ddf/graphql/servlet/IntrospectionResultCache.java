@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.graphql.servlet;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import graphql.introspection.IntrospectionQuery;
+import graphql.schema.GraphQLSchema;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serialized results of the standard introspection query, one per schema. The results are
+ * regenerated only when a new schema is published, instead of walking the whole type graph for
+ * every introspection request.
+ *
+ * <p>Schemas are compared by identity and held weakly, so the results of the read-only and the full
+ * schema of the same version are kept apart and results of replaced schemas can be collected.
+ */
+public class IntrospectionResultCache {
+
+  private static final String NORMALIZED_INTROSPECTION_QUERY =
+      normalize(IntrospectionQuery.INTROSPECTION_QUERY);
+
+  private static final String INTROSPECTION_QUERY_PREFIX =
+      "query " + PersistedOperations.INTROSPECTION_OPERATION_ID;
+
+  private final Cache<GraphQLSchema, byte[]> results = CacheBuilder.newBuilder().weakKeys().build();
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  /**
+   * @param query the query text of the request, or the ID of a persisted operation
+   * @param operationName the operation requested, or null
+   * @return whether the request is the standard introspection operation
+   */
+  public static boolean isIntrospectionQuery(String query, String operationName) {
+    if (query == null
+        || (operationName != null
+            && !PersistedOperations.INTROSPECTION_OPERATION_ID.equals(operationName))) {
+      return false;
+    }
+
+    if (PersistedOperations.INTROSPECTION_OPERATION_ID.equals(query.trim())) {
+      return true;
+    }
+
+    // Normalizing copies the query, so rule out other queries by their length and start first
+    return query.length() >= NORMALIZED_INTROSPECTION_QUERY.length()
+        && startsWithIntrospectionOperation(query)
+        && NORMALIZED_INTROSPECTION_QUERY.equals(normalize(query));
+  }
+
+  private static boolean startsWithIntrospectionOperation(String query) {
+    int start = 0;
+    while (start < query.length() && CharMatcher.whitespace().matches(query.charAt(start))) {
+      start++;
+    }
+    return query.startsWith(INTROSPECTION_QUERY_PREFIX, start);
+  }
+
+  /** @return the serialized introspection result of the schema, or null if there is none */
+  public byte[] get(GraphQLSchema schema) {
+    byte[] result = results.getIfPresent(schema);
+    if (result == null) {
+      misses.increment();
+    } else {
+      hits.increment();
+    }
+    return result;
+  }
+
+  public void put(GraphQLSchema schema, byte[] result) {
+    results.put(schema, result);
+  }
+
+  /** Discards all results. Called whenever a new schema is published. */
+  public void invalidate() {
+    results.invalidateAll();
+  }
+
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  private static String normalize(String query) {
+    return CharMatcher.whitespace().trimAndCollapseFrom(query, ' ');
+  }
+}
@@ -0,0 +1,265 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.graphql.servlet;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionResult;
+import graphql.servlet.AbstractGraphQLHttpServlet;
+import graphql.servlet.GraphQLObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import javax.servlet.http.HttpServletResponse;
+import org.codice.ddf.admin.api.progress.RequestDeadline;
+import org.reactivestreams.Publisher;
+
+/**
+ * Writes execution results to the output stream of the response with a streaming JSON generator.
+ * The response is encoded as it is written instead of being serialized into a single String first,
+ * so the memory needed to send a result does not grow with the size of the response.
+ */
+public class JsonResponseWriter {
+
+  static final String MULTIPART_MIXED = "multipart/mixed; boundary=\"-\"";
+
+  private static final byte[] PART_HEADER =
+      "\r\n---\r\nContent-Type: application/json; charset=utf-8\r\n\r\n"
+          .getBytes(StandardCharsets.UTF_8);
+
+  private static final byte[] CLOSING_DELIMITER = "\r\n-----\r\n".getBytes(StandardCharsets.UTF_8);
+
+  static final String TEXT_EVENT_STREAM = "text/event-stream;charset=UTF-8";
+
+  private static final String CACHE_CONTROL = "Cache-Control";
+
+  private static final String NO_CACHE = "no-cache";
+
+  private static final long KEEP_ALIVE_SECONDS = 15;
+
+  private static final byte[] NEXT_EVENT = "event: next\ndata: ".getBytes(StandardCharsets.UTF_8);
+
+  private static final byte[] EVENT_END = "\n\n".getBytes(StandardCharsets.UTF_8);
+
+  private static final byte[] KEEP_ALIVE_COMMENT = ":\n\n".getBytes(StandardCharsets.UTF_8);
+
+  private static final byte[] COMPLETE_EVENT =
+      "event: complete\ndata:\n\n".getBytes(StandardCharsets.UTF_8);
+
+  private static final String PATH = "path";
+
+  private static final String INCREMENTAL = "incremental";
+
+  private final GraphQLObjectMapper graphQLObjectMapper;
+
+  public JsonResponseWriter(GraphQLObjectMapper graphQLObjectMapper) {
+    this.graphQLObjectMapper = graphQLObjectMapper;
+  }
+
+  /** Writes {@code result} as the body of {@code response}. */
+  public void write(ExecutionResult result, HttpServletResponse response) throws IOException {
+    try (JsonGenerator generator = createGenerator(response)) {
+      writeResult(generator, result);
+    }
+  }
+
+  /** Writes already serialized JSON as the body of {@code response}. */
+  public void write(byte[] json, HttpServletResponse response) throws IOException {
+    prepare(response);
+    response.getOutputStream().write(json);
+  }
+
+  /** @return {@code result} serialized the same way it is written to a response */
+  public byte[] serialize(ExecutionResult result) throws IOException {
+    return graphQLObjectMapper
+        .getJacksonMapper()
+        .writeValueAsBytes(graphQLObjectMapper.createResultFromExecutionResult(result));
+  }
+
+  /**
+   * Writes a result with deferred fields as a {@code multipart/mixed} response. The first part is
+   * {@code result} without the deferred fields, each following part is the result of a deferred
+   * field along with its {@code path}, written and flushed as soon as the field has completed.
+   */
+  public void writeIncremental(
+      ExecutionResult result, DeferredResults deferred, HttpServletResponse response)
+      throws IOException {
+    response.setContentType(MULTIPART_MIXED);
+    response.setStatus(AbstractGraphQLHttpServlet.STATUS_OK);
+    OutputStream out = response.getOutputStream();
+
+    writePart(out, createResult(DeferredResults.withoutDeferredResults(result)));
+    for (DeferredResults.Part part = deferred.next(); part != null; part = deferred.next()) {
+      Map<String, Object> partResult = new LinkedHashMap<>();
+      partResult.put(PATH, part.getPath());
+      partResult.putAll(createResult(part.getResult()));
+      writePart(out, partResult);
+    }
+
+    out.write(CLOSING_DELIMITER);
+    out.flush();
+  }
+
+  /**
+   * Writes the results of a subscription as a {@code text/event-stream}, each result written and
+   * flushed as a {@code next} event as soon as it is published, followed by a {@code complete}
+   * event once the subscription ends. Comments are written while there are no events, so that a
+   * client that has gone away is noticed and the subscription is cancelled.
+   *
+   * @param deadline the subscription is cancelled and completed once the deadline passes
+   */
+  public void writeEvents(
+      Publisher<ExecutionResult> publisher, RequestDeadline deadline, HttpServletResponse response)
+      throws IOException {
+    response.setContentType(TEXT_EVENT_STREAM);
+    response.setHeader(CACHE_CONTROL, NO_CACHE);
+    response.setStatus(AbstractGraphQLHttpServlet.STATUS_OK);
+    OutputStream out = response.getOutputStream();
+
+    SubscriptionEvents events = new SubscriptionEvents(publisher);
+    deadline.onCancel(events::cancel);
+    try {
+      out.flush();
+      while (!events.isComplete()) {
+        long timeout =
+            deadline.limit(TimeUnit.SECONDS.toMillis(KEEP_ALIVE_SECONDS), TimeUnit.MILLISECONDS);
+        if (timeout == 0) {
+          events.cancel();
+          break;
+        }
+
+        ExecutionResult result = events.next(timeout, TimeUnit.MILLISECONDS);
+        if (result != null) {
+          out.write(NEXT_EVENT);
+          try (JsonGenerator generator = createGenerator(out)) {
+            graphQLObjectMapper.getJacksonMapper().writeValue(generator, createResult(result));
+          }
+          out.write(EVENT_END);
+        } else if (!events.isComplete()) {
+          out.write(KEEP_ALIVE_COMMENT);
+        }
+        out.flush();
+      }
+
+      out.write(COMPLETE_EVENT);
+      out.flush();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      events.cancel();
+    } catch (IOException e) {
+      events.cancel();
+      throw e;
+    }
+  }
+
+  /**
+   * Writes the results of a batch of operations as a JSON array, each result written as soon as its
+   * operation has completed.
+   *
+   * @param batch executes the operations, handing each result to the given writer
+   */
+  public void writeBatched(HttpServletResponse response, BatchExecution batch) throws IOException {
+    try (JsonGenerator generator = createGenerator(response)) {
+      generator.writeStartArray();
+      batch.execute(
+          (result, deferred) -> {
+            try {
+              if (deferred == null) {
+                writeResult(generator, result);
+              } else {
+                writeResultWithIncrements(generator, result, deferred);
+              }
+            } catch (IOException e) {
+              throw new UncheckedIOException(e);
+            }
+          });
+      generator.writeEndArray();
+    }
+  }
+
+  private static void prepare(HttpServletResponse response) {
+    response.setContentType(AbstractGraphQLHttpServlet.APPLICATION_JSON_UTF8);
+    response.setStatus(AbstractGraphQLHttpServlet.STATUS_OK);
+  }
+
+  private JsonGenerator createGenerator(HttpServletResponse response) throws IOException {
+    prepare(response);
+    return createGenerator(response.getOutputStream());
+  }
+
+  private JsonGenerator createGenerator(OutputStream out) throws IOException {
+    JsonGenerator generator =
+        graphQLObjectMapper.getJacksonMapper().getFactory().createGenerator(out, JsonEncoding.UTF8);
+    // The container completes the response, closing the generator only flushes it
+    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    return generator;
+  }
+
+  private void writeResult(JsonGenerator generator, ExecutionResult result) throws IOException {
+    ObjectMapper mapper = graphQLObjectMapper.getJacksonMapper();
+    mapper.writeValue(generator, createResult(result));
+  }
+
+  /**
+   * Batched responses are a single JSON array, so the results of the deferred fields of an
+   * operation are written within its result once they have all completed.
+   */
+  private void writeResultWithIncrements(
+      JsonGenerator generator, ExecutionResult result, DeferredResults deferred)
+      throws IOException {
+    List<Map<String, Object>> increments = new ArrayList<>();
+    for (DeferredResults.Part part = deferred.next(); part != null; part = deferred.next()) {
+      Map<String, Object> increment = new LinkedHashMap<>();
+      increment.put(PATH, part.getPath());
+      increment.putAll(createResult(part.getResult()));
+      increments.add(increment);
+    }
+
+    Map<String, Object> resultWithIncrements =
+        new LinkedHashMap<>(createResult(DeferredResults.withoutDeferredResults(result)));
+    resultWithIncrements.put(INCREMENTAL, increments);
+    graphQLObjectMapper.getJacksonMapper().writeValue(generator, resultWithIncrements);
+  }
+
+  private void writePart(OutputStream out, Map<String, Object> result) throws IOException {
+    out.write(PART_HEADER);
+    try (JsonGenerator generator = createGenerator(out)) {
+      graphQLObjectMapper.getJacksonMapper().writeValue(generator, result);
+    }
+    out.flush();
+  }
+
+  private Map<String, Object> createResult(ExecutionResult result) {
+    return graphQLObjectMapper.createResultFromExecutionResult(result);
+  }
+
+  /** Executes a batch of operations. */
+  @FunctionalInterface
+  public interface BatchExecution {
+
+    /**
+     * @param resultWriter writes the result of an operation along with the results of its deferred
+     *     fields, if any, or null otherwise
+     */
+    void execute(BiConsumer<ExecutionResult, DeferredResults> resultWriter);
+  }
+}
@@ -0,0 +1,193 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.graphql.servlet;
+
+import com.google.common.collect.ImmutableMap;
+import graphql.ErrorType;
+import graphql.GraphQLError;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.introspection.IntrospectionQuery;
+import graphql.language.SourceLocation;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Allow-list of persisted operations. A client may send the ID of a registered operation in place
+ * of the query text, in which case the registered document is executed. When {@link
+ * #setPersistedOperationsOnly(boolean)} is enabled, queries that are neither a registered ID nor
+ * the text of a registered operation are rejected before they are parsed.
+ *
+ * <p>The introspection query used by the servlet's {@code /schema.json} endpoint is always
+ * registered under {@link #INTROSPECTION_OPERATION_ID}.
+ *
+ * <p>Operations are looked up on every request and registered rarely, so they are held in immutable
+ * snapshots that registering replaces.
+ */
+public class PersistedOperations implements PreparsedDocumentProvider {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PersistedOperations.class);
+
+  public static final String INTROSPECTION_OPERATION_ID = "IntrospectionQuery";
+
+  public static final String OPERATION_FILE_GLOB = "*.graphql";
+
+  public static final String UNKNOWN_PERSISTED_OPERATION = "UNKNOWN_PERSISTED_OPERATION";
+
+  private final PreparsedDocumentProvider delegate;
+
+  private volatile ImmutableMap<String, String> queriesById = ImmutableMap.of();
+
+  private volatile ImmutableMap<String, String> idsByQuery = ImmutableMap.of();
+
+  private volatile boolean persistedOperationsOnly = false;
+
+  /**
+   * @param delegate provider used to parse and validate the query text of both persisted and, if
+   *     allowed, ad-hoc operations
+   */
+  public PersistedOperations(PreparsedDocumentProvider delegate) {
+    this.delegate = delegate;
+    register(INTROSPECTION_OPERATION_ID, IntrospectionQuery.INTROSPECTION_QUERY);
+  }
+
+  @Override
+  public PreparsedDocumentEntry get(
+      String query, Function<String, PreparsedDocumentEntry> parseAndValidateFunction) {
+    String persistedQuery = queriesById.get(query);
+    if (persistedQuery != null) {
+      return delegate.get(persistedQuery, parseAndValidateFunction);
+    }
+
+    if (persistedOperationsOnly && !idsByQuery.containsKey(query)) {
+      LOGGER.debug("Rejecting GraphQL query that is not a persisted operation.");
+      return new PreparsedDocumentEntry(new UnknownOperationError());
+    }
+
+    return delegate.get(query, parseAndValidateFunction);
+  }
+
+  /**
+   * Registers {@code query} under {@code id}, replacing any operation previously registered under
+   * the same ID.
+   */
+  public void register(String id, String query) {
+    registerAll(Collections.singletonMap(id, query));
+  }
+
+  /**
+   * Registers every query of {@code queriesById} under its ID, replacing any operation previously
+   * registered under the same ID.
+   */
+  public synchronized void registerAll(Map<String, String> queriesById) {
+    Map<String, String> queries = new LinkedHashMap<>(this.queriesById);
+    queries.putAll(queriesById);
+    replace(queries);
+  }
+
+  public synchronized void unregister(String id) {
+    if (queriesById.containsKey(id)) {
+      Map<String, String> queries = new LinkedHashMap<>(queriesById);
+      queries.remove(id);
+      replace(queries);
+    }
+  }
+
+  /** Must be called while holding the lock of this object. */
+  private void replace(Map<String, String> queries) {
+    Map<String, String> ids = new HashMap<>();
+    queries.forEach((id, query) -> ids.put(query, id));
+    idsByQuery = ImmutableMap.copyOf(ids);
+    queriesById = ImmutableMap.copyOf(queries);
+  }
+
+  /**
+   * Registers every {@value #OPERATION_FILE_GLOB} document in {@code directory}, using the file
+   * name without its extension as the operation ID. Nothing is registered if the directory does not
+   * exist.
+   *
+   * @return the number of operations registered
+   */
+  public int registerDirectory(Path directory) {
+    if (!Files.isDirectory(directory)) {
+      LOGGER.debug("No persisted GraphQL operations found at [{}].", directory);
+      return 0;
+    }
+
+    Map<String, String> queries = new LinkedHashMap<>();
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, OPERATION_FILE_GLOB)) {
+      for (Path file : files) {
+        String fileName = file.getFileName().toString();
+        queries.put(
+            fileName.substring(0, fileName.lastIndexOf('.')),
+            new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+      }
+    } catch (IOException e) {
+      LOGGER.warn("Failed to read persisted GraphQL operations from [{}].", directory, e);
+    }
+
+    registerAll(queries);
+    LOGGER.debug(
+        "Registered {} persisted GraphQL operations from [{}].", queries.size(), directory);
+    return queries.size();
+  }
+
+  /** @return the registered operations by ID, a snapshot that later registrations do not change */
+  public Map<String, String> getOperations() {
+    return queriesById;
+  }
+
+  /** @return the query registered under {@code id}, or null if there is none */
+  public String lookup(String id) {
+    return queriesById.get(id);
+  }
+
+  public boolean isPersistedOperationsOnly() {
+    return persistedOperationsOnly;
+  }
+
+  /** @param persistedOperationsOnly whether ad-hoc queries should be rejected */
+  public void setPersistedOperationsOnly(boolean persistedOperationsOnly) {
+    this.persistedOperationsOnly = persistedOperationsOnly;
+  }
+
+  private static class UnknownOperationError implements GraphQLError {
+
+    @Override
+    public String getMessage() {
+      return UNKNOWN_PERSISTED_OPERATION;
+    }
+
+    @Override
+    public List<SourceLocation> getLocations() {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public ErrorType getErrorType() {
+      return ErrorType.ValidationError;
+    }
+  }
+}
@@ -0,0 +1,195 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.graphql.servlet;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.language.Document;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.codice.ddf.admin.api.request.RequestBinding;
+import org.codice.ddf.graphql.metrics.GraphQLMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded, least recently used cache of parsed and validated query documents. Entries are keyed by
+ * the query text, the schema they were validated against and its version, so documents validated
+ * against a previous schema are never handed out once {@link #invalidate()} has been called.
+ * Documents validated while the schema is being replaced are handed out once and not cached.
+ *
+ * <p>The read-only schema of GET requests and the full schema of POST requests validate the same
+ * query differently, so queries are only cached while executed through {@link
+ * #validatingAgainst(GraphQLSchema, Supplier)}, which tells the cache the schema they are validated
+ * against.
+ *
+ * <p>Documents that fail to parse or validate are not cached. Queries rejected by the depth and
+ * complexity instrumentations abort with an exception and are not cached either.
+ */
+public class PreparsedDocumentCache implements PreparsedDocumentProvider {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(PreparsedDocumentCache.class);
+
+  public static final int DEFAULT_MAX_SIZE = 256;
+
+  private static final Object UNKNOWN_SCHEMA = new Object();
+
+  private final RequestBinding<Object> validatingSchema = new RequestBinding<>(UNKNOWN_SCHEMA);
+
+  private final Cache<DocumentKey, PreparsedDocumentEntry> documents;
+
+  private final AtomicLong schemaVersion = new AtomicLong();
+
+  private final LongAdder hits = new LongAdder();
+
+  private final LongAdder misses = new LongAdder();
+
+  private final GraphQLMetrics metrics;
+
+  public PreparsedDocumentCache() {
+    this(DEFAULT_MAX_SIZE, new GraphQLMetrics());
+  }
+
+  /** @param metrics records the lookups of queries validated against a known schema */
+  public PreparsedDocumentCache(int maxSize, GraphQLMetrics metrics) {
+    documents = CacheBuilder.newBuilder().maximumSize(maxSize).build();
+    this.metrics = metrics;
+  }
+
+  /**
+   * Executes {@code task}, caching the documents of the queries it executes under {@code schema}.
+   *
+   * @param schema the schema the queries executed by {@code task} are validated against
+   */
+  public <T> T validatingAgainst(GraphQLSchema schema, Supplier<T> task) {
+    return validatingSchema.run(schema, task);
+  }
+
+  @Override
+  public PreparsedDocumentEntry get(
+      String query, Function<String, PreparsedDocumentEntry> parseAndValidateFunction) {
+    Object schema = validatingSchema.current();
+    if (schema == UNKNOWN_SCHEMA) {
+      return parseAndValidateFunction.apply(query);
+    }
+
+    long version = schemaVersion.get();
+    DocumentKey key = new DocumentKey(version, schema, query);
+    PreparsedDocumentEntry entry = documents.getIfPresent(key);
+    if (entry != null) {
+      hits.increment();
+      metrics.recordDocumentCacheLookup(true);
+      return entry;
+    }
+
+    misses.increment();
+    metrics.recordDocumentCacheLookup(false);
+    entry = parseAndValidateFunction.apply(query);
+    // The document may have been validated against a schema replaced in the meantime
+    if (!entry.hasErrors() && schemaVersion.get() == version) {
+      documents.put(key, entry);
+    }
+    return entry;
+  }
+
+  /**
+   * @param schema the schema the query is executed against
+   * @return the cached document of the query if it has been parsed and validated against the
+   *     current {@code schema}, or the query parsed right away otherwise. Documents parsed here
+   *     have not been validated, so they are not cached.
+   * @throws graphql.parser.InvalidSyntaxException if the query fails to parse
+   */
+  public Document getDocument(GraphQLSchema schema, String query) {
+    PreparsedDocumentEntry entry =
+        documents.getIfPresent(new DocumentKey(schemaVersion.get(), schema, query));
+    if (entry != null && entry.getDocument() != null) {
+      return entry.getDocument();
+    }
+    return new Parser().parseDocument(query);
+  }
+
+  /**
+   * Discards all cached documents. Must be called whenever the schema the documents were validated
+   * against is replaced.
+   */
+  public void invalidate() {
+    long version = schemaVersion.incrementAndGet();
+    documents.invalidateAll();
+    LOGGER.debug(
+        "Invalidated GraphQL document cache for schema version {}. Hits: {}, misses: {}.",
+        version,
+        getHitCount(),
+        getMissCount());
+  }
+
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  public long getSchemaVersion() {
+    return schemaVersion.get();
+  }
+
+  public long size() {
+    return documents.size();
+  }
+
+  private static class DocumentKey {
+
+    private final long schemaVersion;
+
+    // Compared by identity, as the read-only and the full schema of a version share their types
+    private final Object schema;
+
+    private final String query;
+
+    private DocumentKey(long schemaVersion, Object schema, String query) {
+      this.schemaVersion = schemaVersion;
+      this.schema = schema;
+      this.query = query;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+
+      if (!(o instanceof DocumentKey)) {
+        return false;
+      }
+
+      DocumentKey that = (DocumentKey) o;
+      return schemaVersion == that.schemaVersion
+          && schema == that.schema
+          && Objects.equals(query, that.query);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(schemaVersion, System.identityHashCode(schema), query);
+    }
+  }
+}
@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.graphql.servlet;
+
+import com.google.common.collect.ImmutableList;
+import graphql.Scalars;
+import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLNonNull;
+import graphql.schema.GraphQLObjectType;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.codice.ddf.admin.api.progress.ProbeProgress;
+import org.codice.ddf.admin.api.progress.ProgressEvent;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Subscription streaming the steps of the probe with the given ID, as reported by the discovery
+ * functions of the request with that ID in its {@value RequestContextBuilder#PROBE_ID_HEADER}
+ * header. The subscription completes with the request. Subscribing to a probe that is unknown,
+ * because its request has not started yet or has already completed, completes right away.
+ *
+ * <p>Cancelling the subscription before the probe has completed cancels the probe, so a client
+ * abandoning a probe stops the server from waiting on it.
+ */
+public class ProbeProgressSubscription {
+
+  static final String FIELD_NAME = "probeProgress";
+
+  static final String PROBE_ID = "probeId";
+
+  private static final String STAGE = "stage";
+
+  private static final String DETAIL = "detail";
+
+  private static final String SUCCESS = "success";
+
+  private static final String TIME = "time";
+
+  private static final GraphQLObjectType EVENT_TYPE =
+      GraphQLObjectType.newObject()
+          .name("ProbeProgressEvent")
+          .description("A step taken by a discovery function while probing an external service.")
+          .field(
+              field ->
+                  field
+                      .name(STAGE)
+                      .description(
+                          "The kind of step, one of URL_TRIED, REACHABILITY, PARSE or LDAP_STAGE.")
+                      .type(new GraphQLNonNull(Scalars.GraphQLString)))
+          .field(
+              field ->
+                  field
+                      .name(DETAIL)
+                      .description("The URL or LDAP stage of the step.")
+                      .type(Scalars.GraphQLString))
+          .field(
+              field ->
+                  field
+                      .name(SUCCESS)
+                      .description("Whether the step succeeded.")
+                      .type(new GraphQLNonNull(Scalars.GraphQLBoolean)))
+          .field(
+              field ->
+                  field
+                      .name(TIME)
+                      .description("When the step was taken, in milliseconds since the epoch.")
+                      .type(new GraphQLNonNull(Scalars.GraphQLLong)))
+          .build();
+
+  private static final List<GraphQLFieldDefinition> SUBSCRIPTIONS =
+      ImmutableList.of(
+          GraphQLFieldDefinition.newFieldDefinition()
+              .name(FIELD_NAME)
+              .description(
+                  "Streams the progress of the discovery functions of a probe, started once the "
+                      + "request of the probe has started. Closing the stream before the probe "
+                      + "completes cancels the probe.")
+              .argument(
+                  GraphQLArgument.newArgument()
+                      .name(PROBE_ID)
+                      .description("The ID the probe was started with.")
+                      .type(new GraphQLNonNull(Scalars.GraphQLString)))
+              .type(new GraphQLNonNull(EVENT_TYPE))
+              .dataFetcher(env -> new ProgressPublisher(env.getArgument(PROBE_ID)))
+              .build());
+
+  private ProbeProgressSubscription() {}
+
+  /** @return the subscriptions added to the schema built from the field providers */
+  public static List<GraphQLFieldDefinition> getSubscriptions() {
+    return SUBSCRIPTIONS;
+  }
+
+  private static Map<String, Object> toMap(ProgressEvent event) {
+    Map<String, Object> values = new HashMap<>();
+    values.put(STAGE, event.getStage());
+    values.put(DETAIL, event.getDetail());
+    values.put(SUCCESS, event.isSuccess());
+    values.put(TIME, event.getTime());
+    return values;
+  }
+
+  /**
+   * Publishes the steps of a probe to a single subscriber as they are reported. Steps are few, so
+   * they are pushed regardless of the demand of the subscriber.
+   */
+  private static class ProgressPublisher implements Publisher<Map<String, Object>> {
+
+    private final String probeId;
+
+    private ProgressPublisher(String probeId) {
+      this.probeId = probeId;
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super Map<String, Object>> subscriber) {
+      Optional<ProbeProgress> found = ProbeProgress.find(probeId);
+      if (!found.isPresent()) {
+        subscriber.onSubscribe(
+            new Subscription() {
+              @Override
+              public void request(long n) {
+                // Nothing to publish
+              }
+
+              @Override
+              public void cancel() {
+                // Already complete
+              }
+            });
+        subscriber.onComplete();
+        return;
+      }
+
+      ProbeProgress probe = found.get();
+      AtomicBoolean done = new AtomicBoolean();
+      AtomicReference<Runnable> unlisten = new AtomicReference<>(() -> {});
+
+      subscriber.onSubscribe(
+          new Subscription() {
+            @Override
+            public void request(long n) {
+              // Steps are pushed as they are reported
+            }
+
+            @Override
+            public void cancel() {
+              if (done.compareAndSet(false, true)) {
+                unlisten.get().run();
+                probe.cancel();
+              }
+            }
+          });
+
+      unlisten.set(
+          probe.listen(
+              new ProbeProgress.Listener() {
+                @Override
+                public void onEvent(ProgressEvent event) {
+                  if (!done.get()) {
+                    subscriber.onNext(toMap(event));
+                  }
+                }
+
+                @Override
+                public void onComplete() {
+                  if (done.compareAndSet(false, true)) {
+                    subscriber.onComplete();
+                  }
+                }
+              }));
+
+      if (done.get()) {
+        unlisten.get().run();
+      }
+    }
+  }
+}
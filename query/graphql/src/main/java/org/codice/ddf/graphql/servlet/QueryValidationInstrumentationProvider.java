@@ -19,6 +19,7 @@ import graphql.analysis.MaxQueryDepthInstrumentation;
 import graphql.execution.instrumentation.ChainedInstrumentation;
 import graphql.execution.instrumentation.Instrumentation;
 import graphql.servlet.InstrumentationProvider;
+import java.util.List;
 
 public class QueryValidationInstrumentationProvider implements InstrumentationProvider {
 
@@ -28,13 +29,26 @@ public class QueryValidationInstrumentationProvider implements InstrumentationPr
   private static final MaxQueryDepthInstrumentation MAX_QUERY_DEPTH_INSTRUMENTATION =
       new MaxQueryDepthInstrumentation(MAX_QUERY_DEPTH);
   private static final MaxQueryComplexityInstrumentation MAX_QUERY_COMPLEXITY_INSTRUMENTATION =
-      new MaxQueryComplexityInstrumentation(MAX_COMPLEXITY);
-  private static final ChainedInstrumentation ALL_INSTRUMENTATIONS =
-      new ChainedInstrumentation(
-          ImmutableList.of(MAX_QUERY_DEPTH_INSTRUMENTATION, MAX_QUERY_COMPLEXITY_INSTRUMENTATION));
+      new MaxQueryComplexityInstrumentation(MAX_COMPLEXITY, new FunctionCostComplexityCalculator());
+
+  private final ChainedInstrumentation allInstrumentations;
+
+  public QueryValidationInstrumentationProvider() {
+    this(ImmutableList.of());
+  }
+
+  /** @param instrumentations instrumentations to chain after the query validations */
+  public QueryValidationInstrumentationProvider(List<Instrumentation> instrumentations) {
+    allInstrumentations =
+        new ChainedInstrumentation(
+            ImmutableList.<Instrumentation>builder()
+                .add(MAX_QUERY_DEPTH_INSTRUMENTATION, MAX_QUERY_COMPLEXITY_INSTRUMENTATION)
+                .addAll(instrumentations)
+                .build());
+  }
 
   @Override
   public Instrumentation getInstrumentation() {
-    return ALL_INSTRUMENTATIONS;
+    return allInstrumentations;
   }
 }
@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.graphql.servlet;
+
+import graphql.servlet.GraphQLContext;
+import graphql.servlet.GraphQLContextBuilder;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import javax.servlet.http.HttpServletRequest;
+import javax.websocket.server.HandshakeRequest;
+import org.codice.ddf.admin.api.progress.ProbeProgress;
+import org.codice.ddf.admin.api.progress.RequestDeadline;
+import org.codice.ddf.graphql.RequestGraphQLContext;
+import org.dataloader.DataLoaderRegistry;
+
+/**
+ * Gives every request its own {@link RequestGraphQLContext} and {@link DataLoaderRegistry}. The
+ * presence of the registry makes the servlet dispatch the registered data loaders at the end of
+ * each execution level, which lets batch functions receive all of their invocations from that level
+ * at once.
+ *
+ * <p>When given a supplier of function executors, each request also gets its own executor to run
+ * its functions on.
+ *
+ * <p>Requests with a {@value #PROBE_ID_HEADER} header report the progress of their discovery
+ * functions to the {@link ProbeProgress} with that ID.
+ *
+ * <p>Requests with a {@link RequestDeadline} in their {@value #DEADLINE_ATTRIBUTE} attribute bind
+ * it to their functions. Cancelling the deadline cancels the probe of the request, and the other
+ * way around.
+ */
+public class RequestContextBuilder implements GraphQLContextBuilder {
+
+  public static final String PROBE_ID_HEADER = "X-Probe-Id";
+
+  public static final String DEADLINE_ATTRIBUTE = "org.codice.ddf.admin.graphql.deadline";
+
+  private final Supplier<Executor> functionExecutors;
+
+  public RequestContextBuilder() {
+    this(() -> null);
+  }
+
+  /** @param functionExecutors supplies a new executor for the functions of each request */
+  public RequestContextBuilder(Supplier<Executor> functionExecutors) {
+    this.functionExecutors = functionExecutors;
+  }
+
+  @Override
+  public GraphQLContext build(HttpServletRequest httpServletRequest) {
+    RequestGraphQLContext context = new RequestGraphQLContext(httpServletRequest);
+    String probeId = httpServletRequest.getHeader(PROBE_ID_HEADER);
+    if (probeId != null && !probeId.isEmpty()) {
+      context.setProbe(ProbeProgress.open(probeId));
+    }
+
+    Object attribute = httpServletRequest.getAttribute(DEADLINE_ATTRIBUTE);
+    if (attribute instanceof RequestDeadline) {
+      RequestDeadline deadline = (RequestDeadline) attribute;
+      context.setDeadline(deadline);
+      context
+          .getProbe()
+          .ifPresent(
+              probe -> {
+                deadline.onCancel(probe::cancel);
+                probe.onCancel(deadline::cancel);
+              });
+    }
+    return prepare(context);
+  }
+
+  @Override
+  public GraphQLContext build(HandshakeRequest handshakeRequest) {
+    return prepare(new RequestGraphQLContext(handshakeRequest));
+  }
+
+  @Override
+  public GraphQLContext build() {
+    return prepare(new RequestGraphQLContext());
+  }
+
+  private GraphQLContext prepare(RequestGraphQLContext context) {
+    context.setDataLoaderRegistry(new DataLoaderRegistry());
+    context.setFunctionExecutor(functionExecutors.get());
+    return context;
+  }
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.graphql.servlet;
+
+import java.security.AccessControlContext;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs the tasks of a single request on a shared {@link Executor}, with at most a fixed number of
+ * them running at once so one request cannot occupy the whole executor. Tasks beyond the limit are
+ * queued and handed to the shared executor as running tasks complete. Tasks the shared executor
+ * rejects run on the submitting thread.
+ *
+ * <p>Tasks run with the {@link AccessControlContext} of the thread that submitted them, so they
+ * execute as the subject that made the request.
+ */
+public class RequestExecutor implements Executor {
+
+  private final Executor delegate;
+
+  private final int maxConcurrency;
+
+  private final Queue<Runnable> pending = new ArrayDeque<>();
+
+  private int running;
+
+  /**
+   * @param delegate the shared executor to run tasks on
+   * @param maxConcurrency the maximum number of tasks of this request running at once
+   */
+  public RequestExecutor(Executor delegate, int maxConcurrency) {
+    if (maxConcurrency < 1) {
+      throw new IllegalArgumentException("The maximum concurrency must be at least 1.");
+    }
+
+    this.delegate = delegate;
+    this.maxConcurrency = maxConcurrency;
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    Runnable task = withCallerContext(command);
+    synchronized (this) {
+      if (running >= maxConcurrency) {
+        pending.add(task);
+        return;
+      }
+      running++;
+    }
+
+    submit(task);
+  }
+
+  private void submit(Runnable task) {
+    Runnable step =
+        () -> {
+          try {
+            task.run();
+          } finally {
+            next();
+          }
+        };
+
+    try {
+      delegate.execute(step);
+    } catch (RejectedExecutionException e) {
+      // The shared executor is shutting down, run the task on the submitting thread instead
+      step.run();
+    }
+  }
+
+  private void next() {
+    Runnable task;
+    synchronized (this) {
+      task = pending.poll();
+      if (task == null) {
+        running--;
+        return;
+      }
+    }
+
+    submit(task);
+  }
+
+  private static Runnable withCallerContext(Runnable command) {
+    AccessControlContext context = AccessController.getContext();
+    return () ->
+        AccessController.doPrivileged(
+            (PrivilegedAction<Void>)
+                () -> {
+                  command.run();
+                  return null;
+                },
+            context);
+  }
+}
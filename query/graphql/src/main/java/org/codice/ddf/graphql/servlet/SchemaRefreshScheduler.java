@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.graphql.servlet;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Debounces schema refresh requests. A refresh runs once no further request has arrived for the
+ * quiet period, or once the maximum delay since the first pending request has passed, so a steady
+ * stream of requests cannot postpone it forever. Requests arriving while a refresh runs schedule
+ * another refresh. A refresh that cannot complete yet can be retried after a delay of its own,
+ * which a regular request cuts short.
+ *
+ * <p>Refreshes run on a single daemon thread that only exists while a refresh is pending, so the
+ * scheduler does not wake up while idle.
+ */
+public class SchemaRefreshScheduler {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SchemaRefreshScheduler.class);
+
+  private static final long IDLE_THREAD_KEEP_ALIVE_SECONDS = 5;
+
+  private final Runnable refresh;
+
+  private final long quietPeriodNanos;
+
+  private final long maxDelayNanos;
+
+  private final ScheduledThreadPoolExecutor executor;
+
+  private ScheduledFuture<?> pending;
+
+  private boolean retrying;
+
+  private long generation;
+
+  private long firstRequestNanos;
+
+  private long lastRequestNanos;
+
+  /**
+   * @param refresh refreshes the schema
+   * @param quietPeriod time without requests after which a refresh runs
+   * @param maxDelay maximum time a refresh is postponed after the first pending request
+   * @param unit unit of {@code quietPeriod} and {@code maxDelay}
+   */
+  public SchemaRefreshScheduler(Runnable refresh, long quietPeriod, long maxDelay, TimeUnit unit) {
+    this.refresh = refresh;
+    this.quietPeriodNanos = unit.toNanos(quietPeriod);
+    this.maxDelayNanos = Math.max(quietPeriodNanos, unit.toNanos(maxDelay));
+    executor =
+        new ScheduledThreadPoolExecutor(
+            1,
+            r -> {
+              Thread thread = new Thread(r, "graphql-schema-refresh");
+              thread.setDaemon(true);
+              return thread;
+            });
+    executor.setKeepAliveTime(IDLE_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+    executor.allowCoreThreadTimeOut(true);
+    executor.setRemoveOnCancelPolicy(true);
+  }
+
+  /** Requests a refresh, coalescing it with any refresh already pending. */
+  public synchronized void requestRefresh() {
+    if (executor.isShutdown()) {
+      return;
+    }
+
+    lastRequestNanos = System.nanoTime();
+    if (pending == null || retrying) {
+      firstRequestNanos = lastRequestNanos;
+      schedule(quietPeriodNanos, false);
+    }
+  }
+
+  /**
+   * Requests a refresh once {@code delay} has passed, to retry a refresh that could not complete
+   * yet. Does nothing if a refresh is already pending.
+   */
+  public synchronized void requestRetry(long delay, TimeUnit unit) {
+    if (executor.isShutdown() || pending != null) {
+      return;
+    }
+
+    schedule(unit.toNanos(delay), true);
+  }
+
+  /** @return whether a refresh has been requested but has not started yet */
+  public synchronized boolean isPending() {
+    return pending != null;
+  }
+
+  /** Discards pending refreshes and stops the refresh thread. */
+  public synchronized void shutdown() {
+    pending = null;
+    executor.shutdownNow();
+  }
+
+  private void schedule(long delayNanos, boolean retry) {
+    if (pending != null) {
+      pending.cancel(false);
+    }
+
+    long scheduled = ++generation;
+    retrying = retry;
+    pending = executor.schedule(() -> runIfDue(scheduled), delayNanos, TimeUnit.NANOSECONDS);
+  }
+
+  private void runIfDue(long scheduled) {
+    synchronized (this) {
+      // Superseded by a later request, which scheduled a run of its own
+      if (executor.isShutdown() || scheduled != generation) {
+        return;
+      }
+
+      long now = System.nanoTime();
+      long due = Math.min(lastRequestNanos + quietPeriodNanos, firstRequestNanos + maxDelayNanos);
+      if (!retrying && now - due < 0) {
+        schedule(due - now, false);
+        return;
+      }
+      pending = null;
+      retrying = false;
+    }
+
+    try {
+      refresh.run();
+    } catch (RuntimeException e) {
+      LOGGER.warn("Failed to refresh the GraphQL schema.", e);
+    }
+  }
+}
@@ -0,0 +1,249 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.graphql.servlet;
+
+import com.google.common.collect.ImmutableList;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import graphql.Scalars;
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLEnumType;
+import graphql.schema.GraphQLEnumValueDefinition;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLScalarType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLType;
+import graphql.schema.idl.FieldWiringEnvironment;
+import graphql.schema.idl.MapEnumValuesProvider;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.ScalarInfo;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.SchemaPrinter;
+import graphql.schema.idl.TypeRuntimeWiring;
+import graphql.schema.idl.WiringFactory;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Snapshot of a schema built from the bound field providers, persisted as SDL along with the shape
+ * fingerprint of the providers. A restarted servlet serves the snapshot until its field providers
+ * have bound, instead of an empty schema.
+ *
+ * <p>SDL does not carry the values of enums or the coercion of custom scalars, so they are kept
+ * next to it. Schemas with enum values other than strings cannot be snapshot.
+ */
+public class SchemaSnapshot {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SchemaSnapshot.class);
+
+  private static final Gson GSON = new Gson();
+
+  private static final List<GraphQLScalarType> BASE_SCALARS =
+      ImmutableList.of(
+          Scalars.GraphQLInt,
+          Scalars.GraphQLBoolean,
+          Scalars.GraphQLString,
+          Scalars.GraphQLFloat,
+          Scalars.GraphQLLong);
+
+  private String fingerprint;
+
+  private String schema;
+
+  // Custom scalar name to the name of the scalar whose coercion it uses
+  private Map<String, String> scalars;
+
+  // Enum name to the values of its enum value names
+  private Map<String, Map<String, String>> enums;
+
+  private SchemaSnapshot() {
+    // Instantiated by Gson
+  }
+
+  private SchemaSnapshot(
+      String fingerprint,
+      String schema,
+      Map<String, String> scalars,
+      Map<String, Map<String, String>> enums) {
+    this.fingerprint = fingerprint;
+    this.schema = schema;
+    this.scalars = scalars;
+    this.enums = enums;
+  }
+
+  /**
+   * @param fingerprint shape fingerprint of the field providers the {@code schema} was built from
+   * @param schema the schema to snapshot
+   * @return the snapshot, or empty if the schema has types that cannot be restored from a snapshot
+   */
+  public static Optional<SchemaSnapshot> of(String fingerprint, GraphQLSchema schema) {
+    Map<String, String> scalars = new HashMap<>();
+    Map<String, Map<String, String>> enums = new HashMap<>();
+
+    for (GraphQLType type : schema.getAllTypesAsList()) {
+      if (type.getName().startsWith("__")) {
+        continue;
+      }
+
+      if (type instanceof GraphQLScalarType && !ScalarInfo.isStandardScalar(type.getName())) {
+        Optional<GraphQLScalarType> base = baseScalar((GraphQLScalarType) type);
+        if (!base.isPresent()) {
+          LOGGER.debug("Unable to snapshot GraphQL schema, unknown scalar [{}].", type.getName());
+          return Optional.empty();
+        }
+        scalars.put(type.getName(), base.get().getName());
+      } else if (type instanceof GraphQLEnumType) {
+        Map<String, String> values = new HashMap<>();
+        for (GraphQLEnumValueDefinition value : ((GraphQLEnumType) type).getValues()) {
+          if (!(value.getValue() instanceof String)) {
+            LOGGER.debug(
+                "Unable to snapshot GraphQL schema, enum [{}] has values other than strings.",
+                type.getName());
+            return Optional.empty();
+          }
+          values.put(value.getName(), (String) value.getValue());
+        }
+        enums.put(type.getName(), values);
+      }
+    }
+
+    String sdl =
+        new SchemaPrinter(SchemaPrinter.Options.defaultOptions().includeScalarTypes(true))
+            .print(schema);
+    return Optional.of(new SchemaSnapshot(fingerprint, sdl, scalars, enums));
+  }
+
+  /** @return the snapshot persisted at the {@code path}, or empty if there is no readable one */
+  public static Optional<SchemaSnapshot> read(Path path) {
+    if (!Files.isRegularFile(path)) {
+      return Optional.empty();
+    }
+
+    try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      SchemaSnapshot snapshot = GSON.fromJson(reader, SchemaSnapshot.class);
+      if (snapshot == null || snapshot.fingerprint == null || snapshot.schema == null) {
+        LOGGER.debug("Ignoring incomplete GraphQL schema snapshot [{}].", path);
+        return Optional.empty();
+      }
+      return Optional.of(snapshot);
+    } catch (IOException | JsonParseException e) {
+      LOGGER.debug("Unable to read GraphQL schema snapshot [{}].", path, e);
+      return Optional.empty();
+    }
+  }
+
+  /** Persists this snapshot at the {@code path}, replacing any previous snapshot atomically. */
+  public void write(Path path) throws IOException {
+    Path directory = path.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+    try {
+      try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+        GSON.toJson(this, writer);
+      }
+      Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /** @return the shape fingerprint of the field providers the snapshot was built from */
+  public String getFingerprint() {
+    return fingerprint;
+  }
+
+  /**
+   * Restores the schema of the snapshot. Its fields have no data fetchers of their own, each fetch
+   * is delegated to the data fetcher of the same field of the live schema, resolved when the field
+   * is fetched, so fields become available as their field providers bind.
+   *
+   * @param liveFields returns the field definition of the live schema with the given parent type
+   *     name and field name, or null if the field is not available yet
+   */
+  public GraphQLSchema toSchema(BiFunction<String, String, GraphQLFieldDefinition> liveFields) {
+    RuntimeWiring.Builder wiring =
+        RuntimeWiring.newRuntimeWiring().wiringFactory(new LiveWiringFactory(liveFields));
+
+    if (scalars != null) {
+      scalars.forEach(
+          (name, base) ->
+              wiring.scalar(
+                  new GraphQLScalarType(
+                      name,
+                      null,
+                      BASE_SCALARS
+                          .stream()
+                          .filter(scalar -> scalar.getName().equals(base))
+                          .findFirst()
+                          .orElse(Scalars.GraphQLString)
+                          .getCoercing())));
+    }
+
+    if (enums != null) {
+      enums.forEach(
+          (name, values) ->
+              wiring.type(
+                  TypeRuntimeWiring.newTypeWiring(name)
+                      .enumValues(new MapEnumValuesProvider(new HashMap<>(values)))));
+    }
+
+    return new SchemaGenerator()
+        .makeExecutableSchema(new SchemaParser().parse(schema), wiring.build());
+  }
+
+  private static Optional<GraphQLScalarType> baseScalar(GraphQLScalarType type) {
+    return BASE_SCALARS
+        .stream()
+        .filter(scalar -> scalar.getCoercing() == type.getCoercing())
+        .findFirst();
+  }
+
+  private static class LiveWiringFactory implements WiringFactory {
+
+    private final BiFunction<String, String, GraphQLFieldDefinition> liveFields;
+
+    private LiveWiringFactory(BiFunction<String, String, GraphQLFieldDefinition> liveFields) {
+      this.liveFields = liveFields;
+    }
+
+    @Override
+    public DataFetcher getDefaultDataFetcher(FieldWiringEnvironment environment) {
+      String typeName = environment.getParentType().getName();
+      String fieldName = environment.getFieldDefinition().getName();
+      return env -> {
+        GraphQLFieldDefinition definition = liveFields.apply(typeName, fieldName);
+        if (definition == null) {
+          throw new IllegalStateException(
+              String.format(
+                  "Field %s.%s is not available until its field provider is bound.",
+                  typeName, fieldName));
+        }
+        return definition.getDataFetcher().get(env);
+      };
+    }
+  }
+}
@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.graphql.servlet;
+
+import graphql.ExecutionResult;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects the results of a subscription, published by graphql-java for each event of the
+ * subscription, so that they can be written by the thread handling the request.
+ */
+public class SubscriptionEvents implements Subscriber<ExecutionResult> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SubscriptionEvents.class);
+
+  private static final Object COMPLETE = new Object();
+
+  private final BlockingQueue<Object> results = new LinkedBlockingQueue<>();
+
+  private volatile Subscription subscription;
+
+  /** @param publisher publishes the result of each event of the subscription */
+  public SubscriptionEvents(Publisher<ExecutionResult> publisher) {
+    publisher.subscribe(this);
+  }
+
+  /**
+   * Blocks until the next event of the subscription or until the {@code timeout} has passed.
+   *
+   * @return the result of the next event, or null if there was none before the timeout
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public ExecutionResult next(long timeout, TimeUnit unit) throws InterruptedException {
+    Object next = results.poll(timeout, unit);
+    if (next == COMPLETE) {
+      results.add(COMPLETE);
+      return null;
+    }
+    return (ExecutionResult) next;
+  }
+
+  /** @return whether the subscription has ended and all of its results have been returned */
+  public boolean isComplete() {
+    return results.peek() == COMPLETE;
+  }
+
+  /** Ends the subscription, the publisher stops publishing results. */
+  public void cancel() {
+    if (subscription != null) {
+      subscription.cancel();
+    }
+    results.add(COMPLETE);
+  }
+
+  @Override
+  public void onSubscribe(Subscription subscription) {
+    this.subscription = subscription;
+    subscription.request(Long.MAX_VALUE);
+  }
+
+  @Override
+  public void onNext(ExecutionResult result) {
+    results.add(result);
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    LOGGER.debug("GraphQL subscription failed.", throwable);
+    results.add(COMPLETE);
+  }
+
+  @Override
+  public void onComplete() {
+    results.add(COMPLETE);
+  }
+}
@@ -0,0 +1,189 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.graphql.transform;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+import org.codice.ddf.admin.api.Field;
+import org.codice.ddf.admin.api.FieldProvider;
+import org.codice.ddf.admin.api.fields.EnumField;
+import org.codice.ddf.admin.api.fields.EnumValue;
+import org.codice.ddf.admin.api.fields.FunctionField;
+import org.codice.ddf.admin.api.fields.ListField;
+import org.codice.ddf.admin.api.fields.ObjectField;
+import org.codice.ddf.admin.api.fields.ScalarField;
+
+/**
+ * Computes a signature of everything that contributes to the GraphQL schema of a {@link
+ * FieldProvider}: its fields, its functions and their arguments, return types, error codes and enum
+ * values. Two providers with the same signature transform into identical schema fragments.
+ *
+ * <p>The identity of the provider and of its functions is part of the signature since the
+ * transformed data fetchers hold on to those instances. Instances are identified by an ID handed
+ * out once per instance, so two instances never share an ID.
+ */
+class FieldProviderSignature {
+
+  private static final AtomicLong NEXT_INSTANCE_ID = new AtomicLong();
+
+  // Weak keys are compared by identity and do not keep providers and functions from being collected
+  private static final LoadingCache<Object, Long> INSTANCE_IDS =
+      CacheBuilder.newBuilder()
+          .weakKeys()
+          .build(CacheLoader.from(instance -> NEXT_INSTANCE_ID.incrementAndGet()));
+
+  private final Hasher hasher;
+
+  private final Set<String> visitedTypes;
+
+  private final boolean includeInstances;
+
+  private FieldProviderSignature(boolean includeInstances) {
+    hasher = Hashing.murmur3_128().newHasher();
+    visitedTypes = new HashSet<>();
+    this.includeInstances = includeInstances;
+  }
+
+  static String of(FieldProvider provider) {
+    return of(provider, true);
+  }
+
+  private static String of(FieldProvider provider, boolean includeInstances) {
+    FieldProviderSignature signature = new FieldProviderSignature(includeInstances);
+    signature.putInstance(provider);
+    signature.putField(provider);
+    signature.putFunctions(provider.getDiscoveryFunctions());
+    signature.putFunctions(provider.getMutationFunctions());
+    return signature.hasher.hash().toString();
+  }
+
+  /**
+   * @return a fingerprint of the whole schema the providers transform into, made of the signatures
+   *     of the providers in order
+   */
+  static String of(List<FieldProvider> providers) {
+    return of(providers, true);
+  }
+
+  /**
+   * @return a fingerprint of the shape of the schema the providers transform into, which leaves out
+   *     the identity of the providers and their functions so it is stable across restarts
+   */
+  static String shapeOf(List<FieldProvider> providers) {
+    return of(providers, false);
+  }
+
+  private static String of(List<FieldProvider> providers, boolean includeInstances) {
+    Hasher hasher = Hashing.murmur3_128().newHasher();
+    for (FieldProvider provider : providers) {
+      hasher.putString(of(provider, includeInstances), StandardCharsets.UTF_8);
+    }
+    return hasher.hash().toString();
+  }
+
+  private void putFunctions(List<FunctionField> functions) {
+    if (functions == null) {
+      return;
+    }
+
+    putInt(functions.size());
+    for (FunctionField<Field> function : functions) {
+      putInstance(function);
+      putString(function.getFunctionName());
+      putString(function.getDescription());
+
+      List<Field> args = function.getArguments();
+      putInt(args == null ? 0 : args.size());
+      if (args != null) {
+        args.forEach(this::putField);
+      }
+
+      putField(function.getReturnType());
+
+      Set<String> errorCodes = function.getErrorCodes();
+      putInt(errorCodes == null ? 0 : errorCodes.size());
+      if (errorCodes != null) {
+        new TreeSet<>(errorCodes).forEach(this::putString);
+      }
+    }
+  }
+
+  @SuppressWarnings("squid:S00112" /* Throwing Runtime exception intentionally */)
+  private void putField(Field field) {
+    putString(field.getClass().getName());
+    putString(field.getFieldName());
+    putString(field.getFieldType());
+    putString(field.getDescription());
+    hasher.putBoolean(field.isRequired());
+
+    // Types are only transformed once per name, so only the first occurrence contributes. This also
+    // guards against recursive object fields.
+    if (field.getFieldType() != null && !visitedTypes.add(field.getFieldType())) {
+      return;
+    }
+
+    if (field instanceof ObjectField) {
+      List<Field> innerFields = ((ObjectField) field).getFields();
+      putInt(innerFields == null ? 0 : innerFields.size());
+      if (innerFields != null) {
+        innerFields.forEach(this::putField);
+      }
+    } else if (field instanceof EnumField) {
+      List<EnumValue<Object>> enumValues =
+          ((EnumField<Object, EnumValue<Object>>) field).getEnumValues();
+      putInt(enumValues.size());
+      for (EnumValue<Object> enumValue : enumValues) {
+        putString(enumValue.getEnumTitle());
+        putString(String.valueOf(enumValue.getValue()));
+        putString(enumValue.getDescription());
+      }
+    } else if (field instanceof ListField) {
+      try {
+        putField(((ListField<Field>) field).createListEntry());
+      } catch (Exception e) {
+        throw new RuntimeException(
+            "Unable to create field list content for signature: " + field.getFieldName());
+      }
+    } else if (field instanceof ScalarField) {
+      putString(String.valueOf(((ScalarField) field).getScalarType()));
+    }
+  }
+
+  private void putInstance(Object object) {
+    if (includeInstances) {
+      hasher.putLong(INSTANCE_IDS.getUnchecked(object));
+    }
+  }
+
+  private void putInt(int value) {
+    hasher.putInt(value);
+  }
+
+  private void putString(String value) {
+    if (value == null) {
+      hasher.putBoolean(false);
+    } else {
+      hasher.putBoolean(true).putString(value, StandardCharsets.UTF_8);
+    }
+  }
+}
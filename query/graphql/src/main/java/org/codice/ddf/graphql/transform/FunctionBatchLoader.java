@@ -0,0 +1,154 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.graphql.transform;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import org.codice.ddf.admin.api.Field;
+import org.codice.ddf.admin.api.fields.BatchFunctionField;
+import org.codice.ddf.admin.api.report.FunctionReport;
+import org.codice.ddf.graphql.FunctionDataFetcherException;
+import org.codice.ddf.graphql.RequestGraphQLContext;
+import org.dataloader.BatchLoader;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderOptions;
+import org.dataloader.DataLoaderRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects the invocations of a {@link BatchFunctionField} requested during one execution pass and
+ * executes them with a single call to {@link BatchFunctionField#executeBatch(List, List)}. One
+ * loader is registered per function in the request's {@link DataLoaderRegistry}, which is
+ * dispatched by the servlet at the end of each execution level.
+ *
+ * <p>If the batch fails as a whole, each invocation is executed again on its own, so that an
+ * invocation that cannot be executed only fails itself instead of every invocation of the batch.
+ * Invocations executed again go through {@link BatchFunctionField#executeBatch(List, List)} as well,
+ * so they are not performed once the deadline of the request has passed.
+ */
+public class FunctionBatchLoader implements BatchLoader<FunctionBatchLoader.Invocation, Object> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(FunctionBatchLoader.class);
+
+  private static final String LOADER_KEY_PREFIX = "function:";
+
+  private final BatchFunctionField<Field> function;
+
+  private final Object context;
+
+  private FunctionBatchLoader(BatchFunctionField<Field> function, Object context) {
+    this.function = function;
+    this.context = context;
+  }
+
+  /**
+   * @param functionKey key unique to the schema field the function is bound to
+   * @param context the context of the request the registry belongs to
+   * @return the loader of {@code function} registered in {@code registry}, registering a new one if
+   *     it has not been requested yet
+   */
+  public static DataLoader<Invocation, Object> getDataLoader(
+      DataLoaderRegistry registry,
+      String functionKey,
+      BatchFunctionField<Field> function,
+      Object context) {
+    String loaderKey = LOADER_KEY_PREFIX + functionKey;
+    synchronized (registry) {
+      DataLoader<Invocation, Object> loader = registry.getDataLoader(loaderKey);
+      if (loader == null) {
+        // Each invocation carries its own path, so caching by key would never produce a hit
+        loader =
+            new DataLoader<>(
+                new FunctionBatchLoader(function, context),
+                DataLoaderOptions.newOptions().setCachingEnabled(false));
+        registry.register(loaderKey, loader);
+      }
+      return loader;
+    }
+  }
+
+  @Override
+  public CompletionStage<List<Object>> load(List<Invocation> invocations) {
+    try {
+      return CompletableFuture.completedFuture(execute(invocations));
+    } catch (RuntimeException e) {
+      if (invocations.size() == 1) {
+        // Throwable values complete their invocation exceptionally
+        return CompletableFuture.completedFuture(Collections.singletonList(e));
+      }
+
+      LOGGER.debug(
+          "Batch of {} invocations of function {} failed, executing them one at a time.",
+          invocations.size(),
+          function.getFunctionName(),
+          e);
+    }
+
+    List<Object> values = new ArrayList<>(invocations.size());
+    for (Invocation invocation : invocations) {
+      try {
+        values.add(execute(Collections.singletonList(invocation)).get(0));
+      } catch (RuntimeException e) {
+        values.add(e);
+      }
+    }
+    return CompletableFuture.completedFuture(values);
+  }
+
+  private List<Object> execute(List<Invocation> invocations) {
+    List<Map<String, Object>> args = new ArrayList<>(invocations.size());
+    List<List<Object>> paths = new ArrayList<>(invocations.size());
+    for (Invocation invocation : invocations) {
+      args.add(invocation.args);
+      paths.add(invocation.path);
+    }
+
+    List<FunctionReport<Field>> reports =
+        context instanceof RequestGraphQLContext
+            ? ((RequestGraphQLContext) context).bind(() -> function.executeBatch(args, paths))
+            : function.executeBatch(args, paths);
+
+    List<Object> values = new ArrayList<>(reports.size());
+    for (FunctionReport<Field> report : reports) {
+      if (!report.getErrorMessages().isEmpty()) {
+        // Throwable values complete their invocation exceptionally
+        values.add(
+            new FunctionDataFetcherException(
+                function.getFunctionName(), Collections.emptyList(), report.getErrorMessages()));
+      } else if (report.isResultPresent()) {
+        values.add(report.getResult().getSanitizedValue());
+      } else {
+        values.add(null);
+      }
+    }
+    return values;
+  }
+
+  public static class Invocation {
+
+    private final Map<String, Object> args;
+
+    private final List<Object> path;
+
+    public Invocation(Map<String, Object> args, List<Object> path) {
+      this.args = args;
+      this.path = path;
+    }
+  }
+}
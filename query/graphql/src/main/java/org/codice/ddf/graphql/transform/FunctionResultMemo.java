@@ -0,0 +1,168 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.graphql.transform;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Request scoped memo of discovery function results. Invocations of the same function with the same
+ * arguments, such as the same function requested under two aliases, share the result of a single
+ * execution.
+ *
+ * <p>Only successful results are shared. Errors carry the path of the invocation that produced
+ * them, so an invocation whose shared execution failed is executed on its own.
+ */
+public class FunctionResultMemo {
+
+  private final ConcurrentMap<Key, CompletableFuture<Object>> results = new ConcurrentHashMap<>();
+
+  /**
+   * @param functionKey key unique to the schema field the function is bound to
+   * @param args the arguments of the invocation
+   * @param execution executes the function, returning its value or a {@link CompletionStage} of it
+   * @return the value of {@code execution}, or a {@link CompletableFuture} of the result shared
+   *     with an earlier invocation
+   */
+  @SuppressWarnings("unchecked")
+  public Object get(String functionKey, Map<String, Object> args, Supplier<Object> execution) {
+    Key key = new Key(functionKey, normalize(args));
+    CompletableFuture<Object> result = new CompletableFuture<>();
+    CompletableFuture<Object> existing = results.putIfAbsent(key, result);
+    if (existing != null) {
+      return existing
+          .handle(
+              (value, e) ->
+                  e == null ? CompletableFuture.completedFuture(value) : execute(execution))
+          .thenCompose(Function.identity());
+    }
+
+    Object value;
+    try {
+      value = execution.get();
+    } catch (RuntimeException e) {
+      fail(key, result, e);
+      throw e;
+    }
+
+    if (value instanceof CompletionStage) {
+      ((CompletionStage<Object>) value)
+          .whenComplete(
+              (completed, e) -> {
+                if (e == null) {
+                  result.complete(completed);
+                } else {
+                  fail(key, result, e);
+                }
+              });
+    } else {
+      result.complete(value);
+    }
+
+    return value;
+  }
+
+  /** Discards all results, used once a mutation may have changed what the functions return. */
+  public void clear() {
+    results.clear();
+  }
+
+  public int size() {
+    return results.size();
+  }
+
+  private void fail(Key key, CompletableFuture<Object> result, Throwable e) {
+    results.remove(key, result);
+    result.completeExceptionally(e);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static CompletableFuture<Object> execute(Supplier<Object> execution) {
+    CompletableFuture<Object> future = new CompletableFuture<>();
+    try {
+      Object value = execution.get();
+      if (value instanceof CompletionStage) {
+        return ((CompletionStage<Object>) value).toCompletableFuture();
+      }
+      future.complete(value);
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  /** Copies {@code value}, dropping null map entries so omitted and null arguments are equal. */
+  @SuppressWarnings("unchecked")
+  private static Object normalize(Object value) {
+    if (value instanceof Map) {
+      Map<Object, Object> normalized = new HashMap<>();
+      ((Map<Object, Object>) value)
+          .forEach(
+              (k, v) -> {
+                if (v != null) {
+                  normalized.put(k, normalize(v));
+                }
+              });
+      return normalized;
+    }
+
+    if (value instanceof List) {
+      List<Object> normalized = new ArrayList<>();
+      ((List<Object>) value).forEach(v -> normalized.add(normalize(v)));
+      return normalized;
+    }
+
+    return value;
+  }
+
+  private static class Key {
+
+    private final String functionKey;
+
+    private final Object args;
+
+    private Key(String functionKey, Object args) {
+      this.functionKey = functionKey;
+      this.args = args;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+
+      if (!(o instanceof Key)) {
+        return false;
+      }
+
+      Key that = (Key) o;
+      return functionKey.equals(that.functionKey) && Objects.equals(args, that.args);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(functionKey, args);
+    }
+  }
+}
@@ -14,12 +14,16 @@
 package org.codice.ddf.graphql.transform;
 
 import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
 import graphql.schema.GraphQLType;
 import graphql.servlet.GraphQLMutationProvider;
 import graphql.servlet.GraphQLProvider;
 import graphql.servlet.GraphQLQueryProvider;
 import graphql.servlet.GraphQLTypesProvider;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -29,6 +33,10 @@ public class GraphQLProviderImpl
         GraphQLTypesProvider,
         GraphQLMutationProvider {
 
+  private static final String QUERY_TYPE_NAME = "Query";
+  private static final String MUTATION_TYPE_NAME = "Mutation";
+  private static final String SUBSCRIPTION_TYPE_NAME = "Subscription";
+
   private final List<GraphQLFieldDefinition> queries;
   private final List<GraphQLFieldDefinition> mutations;
   private final List<GraphQLTypesProvider> typesProviders;
@@ -60,4 +68,51 @@ public class GraphQLProviderImpl
         .flatMap(Collection::stream)
         .collect(Collectors.toList());
   }
+
+  /**
+   * Builds the schema of the queries, mutations and types of this provider the way the servlet
+   * builds its schema from bound providers.
+   */
+  public GraphQLSchema toSchema() {
+    return toSchema(Collections.emptyList());
+  }
+
+  /**
+   * Builds the schema of the queries, mutations and types of this provider along with the given
+   * subscriptions, which are provided by the servlet rather than by field providers.
+   */
+  public GraphQLSchema toSchema(List<GraphQLFieldDefinition> subscriptions) {
+    GraphQLObjectType query =
+        GraphQLObjectType.newObject()
+            .name(QUERY_TYPE_NAME)
+            .description("Root query type")
+            .fields(queries)
+            .build();
+
+    GraphQLObjectType mutation = null;
+    if (!mutations.isEmpty()) {
+      mutation =
+          GraphQLObjectType.newObject()
+              .name(MUTATION_TYPE_NAME)
+              .description("Root mutation type")
+              .fields(mutations)
+              .build();
+    }
+
+    GraphQLObjectType subscription = null;
+    if (!subscriptions.isEmpty()) {
+      subscription =
+          GraphQLObjectType.newObject()
+              .name(SUBSCRIPTION_TYPE_NAME)
+              .description("Root subscription type")
+              .fields(subscriptions)
+              .build();
+    }
+
+    return GraphQLSchema.newSchema()
+        .query(query)
+        .mutation(mutation)
+        .subscription(subscription)
+        .build(new HashSet<>(getTypes()));
+  }
 }
@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.graphql.transform;
+
+import graphql.schema.GraphQLFieldDefinition;
+import java.util.List;
+import org.codice.ddf.graphql.transform.GraphQLTransformOutput.TypeRegistrations;
+
+/** The transformed queries, mutations and types of a single {@code FieldProvider}. */
+class GraphQLSchemaFragment {
+
+  private final String signature;
+
+  private final List<GraphQLFieldDefinition> queries;
+
+  private final List<GraphQLFieldDefinition> mutations;
+
+  private final TypeRegistrations types;
+
+  GraphQLSchemaFragment(
+      String signature,
+      List<GraphQLFieldDefinition> queries,
+      List<GraphQLFieldDefinition> mutations,
+      TypeRegistrations types) {
+    this.signature = signature;
+    this.queries = queries;
+    this.mutations = mutations;
+    this.types = types;
+  }
+
+  String getSignature() {
+    return signature;
+  }
+
+  List<GraphQLFieldDefinition> getQueries() {
+    return queries;
+  }
+
+  List<GraphQLFieldDefinition> getMutations() {
+    return mutations;
+  }
+
+  TypeRegistrations getTypes() {
+    return types;
+  }
+}
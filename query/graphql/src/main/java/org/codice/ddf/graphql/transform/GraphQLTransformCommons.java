@@ -17,55 +17,201 @@ import graphql.schema.GraphQLEnumType;
 import graphql.schema.GraphQLFieldDefinition;
 import graphql.schema.GraphQLList;
 import graphql.servlet.GraphQLProvider;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import java.util.stream.Collectors;
 import org.apache.commons.lang.StringUtils;
 import org.codice.ddf.admin.api.FieldProvider;
 import org.codice.ddf.admin.api.fields.FunctionField;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+/**
+ * Transforms {@link FieldProvider}s into a {@link GraphQLProvider}. The transformed schema fragment
+ * of every provider is kept between transforms so that only providers whose signature changed are
+ * transformed again.
+ *
+ * <p>Changed providers are transformed concurrently on a {@link ForkJoinPool}. Types shared between
+ * providers are registered by whichever transform creates them first and reused by the others, and
+ * the queries and mutations keep the order of the providers, so the result is the same as that of a
+ * sequential transform.
+ */
 public class GraphQLTransformCommons {
 
-  private GraphQLTransformOutput transformOutput;
+  private static final Logger LOGGER = LoggerFactory.getLogger(GraphQLTransformCommons.class);
+
+  private static final String TRANSFORM_THREADS_PROPERTY =
+      "org.codice.ddf.admin.graphql.transformThreads";
+
+  private Map<String, GraphQLSchemaFragment> fragments;
 
-  private GraphQLTransformCommons() {
-    transformOutput = new GraphQLTransformOutput();
+  private final ForkJoinPool transformPool;
+
+  public GraphQLTransformCommons() {
+    this(
+        Integer.getInteger(TRANSFORM_THREADS_PROPERTY, Runtime.getRuntime().availableProcessors()));
+  }
+
+  /**
+   * @param parallelism the number of providers to transform concurrently. Providers are transformed
+   *     sequentially on the calling thread if less than 2.
+   */
+  public GraphQLTransformCommons(int parallelism) {
+    fragments = new HashMap<>();
+    transformPool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
   }
 
   public static GraphQLProvider createGraphQLProvider(List<FieldProvider> providers) {
-    return new GraphQLTransformCommons().fieldProvidersToGraphQlProvider(providers);
+    GraphQLTransformCommons transformCommons = new GraphQLTransformCommons();
+    try {
+      return transformCommons.fieldProvidersToGraphQlProvider(providers);
+    } finally {
+      transformCommons.shutdown();
+    }
   }
 
-  private GraphQLProvider fieldProvidersToGraphQlProvider(List<FieldProvider> providers) {
-    List<GraphQLFieldDefinition> queries =
+  /** Stops the threads transforming providers. Subsequent transforms are sequential. */
+  public void shutdown() {
+    if (transformPool != null) {
+      transformPool.shutdown();
+    }
+  }
+
+  /**
+   * @param providers field providers to transform
+   * @return a fingerprint of the provider names, function signatures, argument types and enum
+   *     values of the {@code providers}. Providers with equal fingerprints transform into identical
+   *     schemas.
+   */
+  public static String schemaFingerprint(List<FieldProvider> providers) {
+    return FieldProviderSignature.of(providers);
+  }
+
+  /**
+   * @param providers field providers to transform
+   * @return a fingerprint like {@link #schemaFingerprint(List)} that leaves out the identity of the
+   *     provider and function instances, so it is stable across restarts. Providers with equal
+   *     shape fingerprints transform into schemas with the same SDL.
+   */
+  public static String schemaShapeFingerprint(List<FieldProvider> providers) {
+    return FieldProviderSignature.shapeOf(providers);
+  }
+
+  /**
+   * Creates a {@link GraphQLProvider} from the {@code providers}, reusing the schema fragments of
+   * providers that have not changed since the previous call.
+   *
+   * @param providers field providers to transform
+   * @return a provider containing the queries, mutations and types of all {@code providers}
+   */
+  public synchronized GraphQLProviderImpl fieldProvidersToGraphQlProvider(
+      List<FieldProvider> providers) {
+    GraphQLTransformOutput transformOutput = new GraphQLTransformOutput();
+    Map<String, String> signatures = new HashMap<>();
+    Map<String, GraphQLSchemaFragment> reusedFragments = new HashMap<>();
+
+    // Register the types of unchanged fragments first so changed providers reuse the same type
+    // instances for shared type names
+    for (FieldProvider provider : providers) {
+      String signature = FieldProviderSignature.of(provider);
+      signatures.put(provider.getFieldType(), signature);
+
+      GraphQLSchemaFragment fragment = fragments.get(provider.getFieldType());
+      if (fragment != null && fragment.getSignature().equals(signature)) {
+        transformOutput.addTypes(fragment.getTypes());
+        reusedFragments.put(provider.getFieldType(), fragment);
+      }
+    }
+
+    List<FieldProvider> changedProviders =
         providers
             .stream()
-            .map(this::fieldProviderToQueries)
-            .flatMap(List::stream)
+            .filter(provider -> !reusedFragments.containsKey(provider.getFieldType()))
             .collect(Collectors.toList());
+    Iterator<GraphQLSchemaFragment> transformedFragments =
+        fieldProvidersToFragments(transformOutput, changedProviders, signatures).iterator();
+
+    Map<String, GraphQLSchemaFragment> newFragments = new HashMap<>();
+    List<GraphQLFieldDefinition> queries = new ArrayList<>();
+    List<GraphQLFieldDefinition> mutations = new ArrayList<>();
+
+    for (FieldProvider provider : providers) {
+      GraphQLSchemaFragment fragment = reusedFragments.get(provider.getFieldType());
+      if (fragment == null) {
+        fragment = transformedFragments.next();
+      }
+
+      newFragments.put(provider.getFieldType(), fragment);
+      queries.addAll(fragment.getQueries());
+      mutations.addAll(fragment.getMutations());
+    }
+
+    LOGGER.debug(
+        "Transformed {} of {} field providers into GraphQL schema fragments.",
+        providers.size() - reusedFragments.size(),
+        providers.size());
+    fragments = newFragments;
+
     GraphQLFieldDefinition errorDefinitions = getErrorCodesQueryProvider(providers);
     if (errorDefinitions != null) {
-      queries.add(getErrorCodesQueryProvider(providers));
+      queries.add(errorDefinitions);
     }
 
-    List<GraphQLFieldDefinition> mutations =
-        providers
-            .stream()
-            .map(this::fieldProviderToMutations)
-            .flatMap(List::stream)
-            .collect(Collectors.toList());
-
     return new GraphQLProviderImpl(queries, mutations, transformOutput.getTypeProviders());
   }
 
-  private List<GraphQLFieldDefinition> fieldProviderToMutations(FieldProvider provider) {
-    return transformOutput.functionsToGraphQLFieldDefinition(provider.getMutationFunctions());
+  /** @return the fragments of the {@code providers}, in the order of the providers */
+  private List<GraphQLSchemaFragment> fieldProvidersToFragments(
+      GraphQLTransformOutput transformOutput,
+      List<FieldProvider> providers,
+      Map<String, String> signatures) {
+    List<GraphQLSchemaFragment> transformed;
+    if (transformPool == null || transformPool.isShutdown() || providers.size() < 2) {
+      transformed =
+          providers
+              .stream()
+              .map(
+                  provider ->
+                      fieldProviderToFragment(
+                          transformOutput, provider, signatures.get(provider.getFieldType())))
+              .collect(Collectors.toList());
+    } else {
+      List<ForkJoinTask<GraphQLSchemaFragment>> tasks =
+          providers
+              .stream()
+              .map(
+                  provider ->
+                      transformPool.submit(
+                          () ->
+                              fieldProviderToFragment(
+                                  transformOutput,
+                                  provider,
+                                  signatures.get(provider.getFieldType()))))
+              .collect(Collectors.toList());
+      transformed = tasks.stream().map(ForkJoinTask::join).collect(Collectors.toList());
+    }
+
+    transformed.forEach(fragment -> transformOutput.resolveTypeReferences(fragment.getTypes()));
+    return transformed;
   }
 
-  private List<GraphQLFieldDefinition> fieldProviderToQueries(FieldProvider provider) {
-    return transformOutput.fieldsToGraphQLFieldDefinition(Arrays.asList(provider));
+  private GraphQLSchemaFragment fieldProviderToFragment(
+      GraphQLTransformOutput transformOutput, FieldProvider provider, String signature) {
+    transformOutput.startTypeRecording();
+    List<GraphQLFieldDefinition> queries =
+        transformOutput.fieldsToGraphQLFieldDefinition(Collections.singletonList(provider));
+    List<GraphQLFieldDefinition> mutations =
+        transformOutput.functionsToGraphQLFieldDefinition(provider.getMutationFunctions());
+    return new GraphQLSchemaFragment(
+        signature, queries, mutations, transformOutput.stopTypeRecording());
   }
 
   private GraphQLFieldDefinition getErrorCodesQueryProvider(List<FieldProvider> fieldProviders) {
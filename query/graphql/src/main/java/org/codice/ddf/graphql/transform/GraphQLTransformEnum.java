@@ -14,7 +14,6 @@
 package org.codice.ddf.graphql.transform;
 
 import graphql.schema.GraphQLEnumType;
-import graphql.servlet.GraphQLTypesProvider;
 import org.codice.ddf.admin.api.fields.EnumField;
 import org.codice.ddf.admin.api.fields.EnumValue;
 
@@ -41,12 +40,10 @@ public class GraphQLTransformEnum {
         .getEnumValues()
         .forEach(val -> builder.value(val.getEnumTitle(), val.getValue(), val.getDescription()));
 
-    GraphQLEnumType newEnum = builder.build();
-    enumTypeProvider.addType(field.getFieldType(), newEnum);
-    return newEnum;
+    return enumTypeProvider.addType(field.getFieldType(), builder.build());
   }
 
-  public GraphQLTypesProvider getEnumTypeProvider() {
+  public GraphQLTypesProviderImpl<GraphQLEnumType> getEnumTypeProvider() {
     return enumTypeProvider;
   }
 }
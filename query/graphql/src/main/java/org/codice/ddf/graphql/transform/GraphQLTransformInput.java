@@ -19,7 +19,6 @@ import graphql.schema.GraphQLInputObjectType;
 import graphql.schema.GraphQLInputType;
 import graphql.schema.GraphQLList;
 import graphql.schema.GraphQLNonNull;
-import graphql.servlet.GraphQLTypesProvider;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -83,8 +82,7 @@ public class GraphQLTransformInput {
               + field.getClass());
     }
 
-    inputTypesProvider.addType(field.getFieldType(), type);
-    return type;
+    return inputTypesProvider.addType(field.getFieldType(), type);
   }
 
   public GraphQLInputType objectFieldToGraphQLInputType(ObjectField field) {
@@ -114,7 +112,7 @@ public class GraphQLTransformInput {
         .build();
   }
 
-  public GraphQLTypesProvider getInputTypeProvider() {
+  public GraphQLTypesProviderImpl<GraphQLInputType> getInputTypeProvider() {
     return inputTypesProvider;
   }
 }
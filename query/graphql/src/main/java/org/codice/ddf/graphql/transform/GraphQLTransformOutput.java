@@ -16,29 +16,45 @@ package org.codice.ddf.graphql.transform;
 import com.google.common.collect.ImmutableList;
 import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.GraphQLArgument;
+import graphql.schema.GraphQLEnumType;
 import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLInputType;
 import graphql.schema.GraphQLList;
 import graphql.schema.GraphQLObjectType;
 import graphql.schema.GraphQLOutputType;
+import graphql.schema.GraphQLScalarType;
 import graphql.schema.GraphQLTypeReference;
+import graphql.servlet.GraphQLContext;
 import graphql.servlet.GraphQLTypesProvider;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 import org.codice.ddf.admin.api.Field;
 import org.codice.ddf.admin.api.FieldProvider;
+import org.codice.ddf.admin.api.fields.BatchFunctionField;
 import org.codice.ddf.admin.api.fields.EnumField;
 import org.codice.ddf.admin.api.fields.FunctionField;
 import org.codice.ddf.admin.api.fields.ListField;
 import org.codice.ddf.admin.api.fields.ObjectField;
 import org.codice.ddf.admin.api.fields.ScalarField;
 import org.codice.ddf.admin.api.report.FunctionReport;
+import org.codice.ddf.graphql.FunctionDataFetcher;
 import org.codice.ddf.graphql.FunctionDataFetcherException;
+import org.codice.ddf.graphql.RequestGraphQLContext;
+import org.dataloader.DataLoaderRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class GraphQLTransformOutput {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(GraphQLTransformOutput.class);
+
   private GraphQLTransformInput inputTransformer;
   private GraphQLTransformScalar transformScalar;
   private GraphQLTransformEnum transformEnum;
@@ -83,8 +99,14 @@ public class GraphQLTransformOutput {
               + field.getClass());
     }
 
-    outputTypeProvider.addType(field.getFieldType(), type);
-    return type;
+    // A reference to a type that is still being built is only recorded, the type itself is
+    // registered once it is complete
+    if (type instanceof GraphQLTypeReference) {
+      outputTypeProvider.record(field.getFieldType(), type);
+      return type;
+    }
+
+    return outputTypeProvider.addType(field.getFieldType(), type);
   }
 
   public GraphQLOutputType fieldToGraphQLObjectType(ObjectField field) {
@@ -95,20 +117,21 @@ public class GraphQLTransformOutput {
             ? field.getFieldType()
             : createOutputObjectFieldTypeName(field.getFieldType());
 
-    // Check if the objectField is recursive, if so bail early
-    if (referenceTypeProvider.isTypePresent(typeName)) {
-      return referenceTypeProvider.getType(typeName);
-    } else {
-      // Add a GraphQLTypeReference to support recursion
-      referenceTypeProvider.addType(typeName, new GraphQLTypeReference(typeName));
+    // Add a GraphQLTypeReference to support recursion. If one is already present the objectField is
+    // recursive or being built by a concurrent transform, so bail early
+    GraphQLTypeReference reference = new GraphQLTypeReference(typeName);
+    GraphQLTypeReference registered = referenceTypeProvider.addType(typeName, reference);
+    if (registered != reference) {
+      return registered;
     }
 
     List<GraphQLFieldDefinition> innerFields = fieldsToGraphQLFieldDefinition(field.getFields());
 
     // Skip mutations on field provider
     if (field instanceof FieldProvider) {
-      innerFields.addAll(
-          functionsToGraphQLFieldDefinition(((FieldProvider) field).getDiscoveryFunctions()));
+      ((FieldProvider) field)
+          .getDiscoveryFunctions()
+          .forEach(function -> innerFields.add(functionToGraphQLFieldDefinition(function, true)));
     }
 
     return GraphQLObjectType.newObject()
@@ -149,6 +172,16 @@ public class GraphQLTransformOutput {
   }
 
   public GraphQLFieldDefinition functionToGraphQLFieldDefinition(FunctionField function) {
+    return functionToGraphQLFieldDefinition(function, false);
+  }
+
+  /**
+   * @param discovery whether the function is a discovery function, whose results may be shared by
+   *     identical invocations within a request. Executing any other function discards the results
+   *     shared so far.
+   */
+  private GraphQLFieldDefinition functionToGraphQLFieldDefinition(
+      FunctionField function, boolean discovery) {
     List<GraphQLArgument> graphQLArgs = new ArrayList<>();
 
     if (function.getArguments() != null) {
@@ -162,19 +195,90 @@ public class GraphQLTransformOutput {
         .description(function.getDescription())
         .type(fieldToGraphQLOutputType(function.getReturnType()))
         .argument(graphQLArgs)
-        .dataFetcher((env -> functionDataFetcher(env, function)))
+        .dataFetcher(
+            FunctionDataFetcher.of(
+                function.getCost(),
+                discovery
+                    ? env -> memoizedFunctionDataFetcher(env, function)
+                    : env -> mutationDataFetcher(env, function)))
         .build();
   }
 
+  private Object memoizedFunctionDataFetcher(
+      DataFetchingEnvironment env, FunctionField<Field> field) {
+    if (!(env.getContext() instanceof RequestGraphQLContext)) {
+      return functionDataFetcher(env, field);
+    }
+
+    RequestGraphQLContext context = (RequestGraphQLContext) env.getContext();
+    return context
+        .getFunctionResults()
+        .get(
+            functionKey(env),
+            env.getArguments(),
+            () -> asyncFunctionDataFetcher(env, field, context.getFunctionExecutor()));
+  }
+
+  /**
+   * Executes the function on the executor of the request, if it has one, so that slow functions do
+   * not hold up the independent fields of the query. Only the function is handed off, the execution
+   * strategy and its instrumentation stay on the request thread.
+   */
+  private Object asyncFunctionDataFetcher(
+      DataFetchingEnvironment env, FunctionField<Field> field, Optional<Executor> executor) {
+    // Batch functions only queue their invocation until the data loaders are dispatched
+    if (!executor.isPresent() || field instanceof BatchFunctionField) {
+      return functionDataFetcher(env, field);
+    }
+
+    try {
+      return CompletableFuture.supplyAsync(() -> functionDataFetcher(env, field), executor.get());
+    } catch (RejectedExecutionException e) {
+      LOGGER.debug("Function execution rejected, executing on the request thread.", e);
+      return functionDataFetcher(env, field);
+    }
+  }
+
+  private Object mutationDataFetcher(DataFetchingEnvironment env, FunctionField<Field> field) {
+    if (env.getContext() instanceof RequestGraphQLContext) {
+      RequestGraphQLContext context = (RequestGraphQLContext) env.getContext();
+      context.getFunctionResults().clear();
+      context.getRequestCache().invalidateAll();
+    }
+
+    return functionDataFetcher(env, field);
+  }
+
+  private static String functionKey(DataFetchingEnvironment env) {
+    return env.getParentType().getName() + "." + env.getFieldDefinition().getName();
+  }
+
   public Object functionDataFetcher(DataFetchingEnvironment env, FunctionField<Field> field) {
     Map<String, Object> args = new HashMap<>();
     if (env.getArguments() != null) {
       args.putAll(env.getArguments());
     }
 
+    List<Object> functionPath = env.getFieldTypeInfo().getPath().toList();
+    if (field instanceof BatchFunctionField && env.getContext() instanceof GraphQLContext) {
+      Optional<DataLoaderRegistry> registry =
+          ((GraphQLContext) env.getContext()).getDataLoaderRegistry();
+      if (registry.isPresent()) {
+        return FunctionBatchLoader.getDataLoader(
+                registry.get(),
+                functionKey(env),
+                (BatchFunctionField<Field>) field,
+                env.getContext())
+            .load(new FunctionBatchLoader.Invocation(args, functionPath));
+      }
+    }
+
     FunctionField<Field> funcField = field.newInstance();
     FunctionReport<Field> result =
-        funcField.execute(args, env.getFieldTypeInfo().getPath().toList());
+        env.getContext() instanceof RequestGraphQLContext
+            ? ((RequestGraphQLContext) env.getContext())
+                .bind(() -> funcField.execute(args, functionPath))
+            : funcField.execute(args, functionPath);
 
     if (!result.getErrorMessages().isEmpty()) {
       throw new FunctionDataFetcherException(
@@ -208,6 +312,54 @@ public class GraphQLTransformOutput {
     return GraphQLTransformCommons.capitalize(fieldTypeName) + "Payload";
   }
 
+  /**
+   * Starts recording every type that is created or reused by this transform. Used to capture the
+   * types a single {@link FieldProvider} depends on so they can be shared with later transforms.
+   */
+  public void startTypeRecording() {
+    inputTransformer.getInputTypeProvider().startRecording();
+    transformScalar.getScalarTypesProvider().startRecording();
+    transformEnum.getEnumTypeProvider().startRecording();
+    outputTypeProvider.startRecording();
+  }
+
+  /** @return the types created or reused since the last call to {@link #startTypeRecording()} */
+  public TypeRegistrations stopTypeRecording() {
+    return new TypeRegistrations(
+        inputTransformer.getInputTypeProvider().stopRecording(),
+        transformScalar.getScalarTypesProvider().stopRecording(),
+        transformEnum.getEnumTypeProvider().stopRecording(),
+        outputTypeProvider.stopRecording());
+  }
+
+  /**
+   * Replaces the type references in the {@code registrations} with the types they refer to. Must be
+   * called once all concurrent transforms are complete, since a reference may have been recorded
+   * while another transform was still building the type.
+   *
+   * @param registrations types recorded by this transform
+   */
+  public void resolveTypeReferences(TypeRegistrations registrations) {
+    registrations.outputTypes.replaceAll(
+        (typeName, type) -> {
+          GraphQLOutputType registered = outputTypeProvider.getRegisteredType(typeName);
+          return type instanceof GraphQLTypeReference && registered != null ? registered : type;
+        });
+  }
+
+  /**
+   * Registers previously transformed types so that fields sharing a type name resolve to the same
+   * type instance, which GraphQL requires for every type within a schema.
+   *
+   * @param registrations types recorded by a previous transform
+   */
+  public void addTypes(TypeRegistrations registrations) {
+    inputTransformer.getInputTypeProvider().addTypes(registrations.inputTypes);
+    transformScalar.getScalarTypesProvider().addTypes(registrations.scalarTypes);
+    transformEnum.getEnumTypeProvider().addTypes(registrations.enumTypes);
+    outputTypeProvider.addTypes(registrations.outputTypes);
+  }
+
   // Omit the referenceTypeProvider intentionally since all the types should already be defined by
   // the other providers
   public List<GraphQLTypesProvider> getTypeProviders() {
@@ -219,4 +371,26 @@ public class GraphQLTransformOutput {
         referenceTypeProvider,
         transformScalar.getScalarTypesProvider());
   }
+
+  public static class TypeRegistrations {
+
+    private final Map<String, GraphQLInputType> inputTypes;
+
+    private final Map<String, GraphQLScalarType> scalarTypes;
+
+    private final Map<String, GraphQLEnumType> enumTypes;
+
+    private final Map<String, GraphQLOutputType> outputTypes;
+
+    TypeRegistrations(
+        Map<String, GraphQLInputType> inputTypes,
+        Map<String, GraphQLScalarType> scalarTypes,
+        Map<String, GraphQLEnumType> enumTypes,
+        Map<String, GraphQLOutputType> outputTypes) {
+      this.inputTypes = inputTypes;
+      this.scalarTypes = scalarTypes;
+      this.enumTypes = enumTypes;
+      this.outputTypes = outputTypes;
+    }
+  }
 }
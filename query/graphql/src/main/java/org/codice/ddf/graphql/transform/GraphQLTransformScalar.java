@@ -80,11 +80,10 @@ public class GraphQLTransformScalar {
                     Scalars.GraphQLLong.getCoercing());
     }
 
-    scalarTypesProvider.addType(field.getFieldType(), type);
-    return type;
+    return scalarTypesProvider.addType(field.getFieldType(), type);
   }
 
-  public GraphQLTypesProviderImpl getScalarTypesProvider() {
+  public GraphQLTypesProviderImpl<GraphQLScalarType> getScalarTypesProvider() {
     return scalarTypesProvider;
   }
 }
@@ -17,15 +17,22 @@ import graphql.schema.GraphQLType;
 import graphql.servlet.GraphQLTypesProvider;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 public class GraphQLTypesProviderImpl<T extends GraphQLType> implements GraphQLTypesProvider {
 
-  private Map<String, T> types;
+  private ConcurrentMap<String, T> types;
+
+  // Recording is per thread so that providers can be transformed concurrently
+  private final ThreadLocal<Map<String, T>> recordedTypes;
 
   public GraphQLTypesProviderImpl() {
     types = new ConcurrentHashMap<>();
+    recordedTypes = new ThreadLocal<>();
   }
 
   @Override
@@ -33,10 +40,26 @@ public class GraphQLTypesProviderImpl<T extends GraphQLType> implements GraphQLT
     return new ArrayList<>(types.values());
   }
 
-  public void addType(String typeName, T type) {
-    if (typeName != null && type != null) {
-      types.put(typeName, type);
+  /**
+   * Registers the {@code type} unless a type was already registered under the {@code typeName},
+   * such as by a concurrent transform of another provider.
+   *
+   * @return the type registered under the {@code typeName}, which callers must use in place of
+   *     {@code type} so that every field sharing the type name resolves to the same instance
+   */
+  public T addType(String typeName, T type) {
+    if (typeName == null || type == null) {
+      return type;
     }
+
+    T existing = types.putIfAbsent(typeName, type);
+    T registered = existing == null ? type : existing;
+    record(typeName, registered);
+    return registered;
+  }
+
+  public void addTypes(Map<String, T> newTypes) {
+    types.putAll(newTypes);
   }
 
   public boolean isTypePresent(String typeName) {
@@ -44,6 +67,42 @@ public class GraphQLTypesProviderImpl<T extends GraphQLType> implements GraphQLT
   }
 
   public T getType(String typeName) {
-    return types.get(typeName);
+    T type = types.get(typeName);
+    record(typeName, type);
+    return type;
+  }
+
+  /** @return the type registered under the {@code typeName}, without recording it */
+  T getRegisteredType(String typeName) {
+    return typeName == null ? null : types.get(typeName);
+  }
+
+  /**
+   * Starts keeping track of every type the current thread adds to or retrieves from this provider
+   * until it calls {@link #stopRecording()}.
+   */
+  public void startRecording() {
+    recordedTypes.set(new HashMap<>());
+  }
+
+  /**
+   * @return the types added or retrieved by the current thread since its last call to {@link
+   *     #startRecording()}
+   */
+  public Map<String, T> stopRecording() {
+    Map<String, T> recorded = recordedTypes.get();
+    recordedTypes.remove();
+    return recorded == null ? Collections.emptyMap() : recorded;
+  }
+
+  /**
+   * Records the {@code type} as used by the current thread without registering it. Used for type
+   * references, which are replaced by the registered type once all transforms are complete.
+   */
+  void record(String typeName, T type) {
+    Map<String, T> recorded = recordedTypes.get();
+    if (recorded != null && typeName != null && type != null) {
+      recorded.put(typeName, type);
+    }
   }
 }
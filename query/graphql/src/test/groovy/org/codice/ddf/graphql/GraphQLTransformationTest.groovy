@@ -4,9 +4,12 @@ import com.fasterxml.jackson.databind.ObjectMapper
 import com.google.common.base.Charsets
 import com.google.common.io.Resources
 import com.google.common.net.HttpHeaders
+import graphql.introspection.IntrospectionQuery
 import graphql.servlet.OsgiGraphQLHttpServlet
 import graphql.validation.ValidationErrorType
 import groovy.json.JsonBuilder
+import org.codice.ddf.admin.api.progress.ProbeProgress
+import org.codice.ddf.admin.api.progress.ProgressEvent
 import org.codice.ddf.admin.common.fields.base.scalar.BooleanField
 import org.codice.ddf.admin.common.fields.base.scalar.IntegerField
 import org.codice.ddf.admin.common.fields.base.scalar.LongField
@@ -17,10 +20,17 @@ import org.codice.ddf.admin.common.fields.test.TestHiddenField
 import org.codice.ddf.admin.common.fields.test.TestObjectField
 import org.codice.ddf.admin.common.report.message.DefaultMessages
 import org.codice.ddf.graphql.servlet.GraphQLTransformerServlet
+import org.codice.ddf.graphql.servlet.PersistedOperations
+import org.codice.ddf.graphql.servlet.RequestContextBuilder
 import org.springframework.mock.web.MockHttpServletRequest
 import org.springframework.mock.web.MockHttpServletResponse
 import spock.lang.Shared
 import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import javax.servlet.ServletOutputStream
+
+import java.nio.file.Files
 
 class GraphQLTransformationTest extends Specification {
 
@@ -384,6 +394,534 @@ class GraphQLTransformationTest extends Specification {
         getResponseContentAsMap().errors == null
     }
 
+    def 'repeated queries reuse the parsed document until the schema is refreshed'() {
+        setup:
+        request.addParameter(GRAPHQL_QUERY, getQuery('GetErrorCodes'))
+        def documentCache = servlet.getDocumentCache()
+        def metrics = servlet.getMetrics()
+        metrics.reset()
+
+        when:
+        3.times {
+            response = new MockHttpServletResponse()
+            servlet.doGet(request, response)
+        }
+
+        then:
+        getResponseContentAsMap().errors == null
+        documentCache.getMissCount() == 1
+        documentCache.getHitCount() == 2
+        metrics.getDocumentCacheMisses() == 1
+        metrics.getDocumentCacheHits() == 2
+
+        when:
+        servlet.setFieldProviders([new TestFieldProvider()])
+        servlet.refreshSchema()
+        response = new MockHttpServletResponse()
+        servlet.doGet(request, response)
+
+        then:
+        getResponseContentAsMap().errors == null
+        documentCache.getMissCount() == 2
+        documentCache.getHitCount() == 2
+    }
+
+    def 'schema is not rebuilt when the field providers are unchanged'() {
+        setup:
+        def providers = [new TestFieldProvider()]
+        servlet.setFieldProviders(providers)
+        servlet.refreshSchema()
+        def schema = servlet.getSchemaProvider().getSchema()
+        def metrics = servlet.getMetrics()
+        metrics.reset()
+
+        when:
+        servlet.setFieldProviders(providers)
+        servlet.refreshSchema()
+        servlet.bindFieldProvider(providers[0])
+        servlet.refreshSchema()
+
+        then:
+        servlet.getSchemaProvider().getSchema().is(schema)
+        metrics.getSkippedSchemaRebuilds() >= 2
+        metrics.getSchemaRebuilds() == 0
+
+        when:
+        servlet.setFieldProviders(providers + [new TestFieldProvider.PathField3()])
+        servlet.refreshSchema()
+
+        then:
+        !servlet.getSchemaProvider().getSchema().is(schema)
+        metrics.getSchemaRebuilds() == 1
+    }
+
+    def 'introspection results are served from the cache until the schema is refreshed'() {
+        setup:
+        def introspectionResults = servlet.getIntrospectionResults()
+        def schemaRequest = new MockHttpServletRequest()
+        schemaRequest.setPathInfo('/schema.json')
+        def schemaQuery = { ->
+            response = new MockHttpServletResponse()
+            servlet.doGet(schemaRequest, response)
+            response.getContentAsByteArray()
+        }
+
+        when:
+        def first = schemaQuery()
+        def second = schemaQuery()
+
+        then:
+        getResponseContentAsMap().data.__schema != null
+        first == second
+        introspectionResults.getMissCount() == 1
+        introspectionResults.getHitCount() == 1
+
+        when:
+        request.setContent(toJson([query: IntrospectionQuery.INTROSPECTION_QUERY.replaceAll(/\s+/, ' ')]).bytes)
+        servlet.doPost(request, response = new MockHttpServletResponse())
+
+        then:
+        getResponseContentAsMap().data.__schema != null
+        introspectionResults.getHitCount() == 2
+
+        when:
+        servlet.setFieldProviders([new TestFieldProvider()])
+        servlet.refreshSchema()
+        schemaQuery()
+
+        then:
+        getResponseContentAsMap().data.__schema != null
+        introspectionResults.getMissCount() == 2
+        introspectionResults.getHitCount() == 2
+    }
+
+    def 'introspection requests complete their probe whether or not the result is cached'() {
+        setup:
+        request.addParameter(GRAPHQL_QUERY, PersistedOperations.INTROSPECTION_OPERATION_ID)
+        def introspect = { String probeId ->
+            def probeRequest = new MockHttpServletRequest()
+            probeRequest.setParameters(request.getParameterMap())
+            probeRequest.addHeader(RequestContextBuilder.PROBE_ID_HEADER, probeId)
+            ProbeProgress.open(probeId)
+            servlet.doGet(probeRequest, response = new MockHttpServletResponse())
+        }
+
+        when:
+        introspect('introspected')
+        introspect('introspectedAgain')
+
+        then:
+        getResponseContentAsMap().data.__schema != null
+        servlet.getIntrospectionResults().getHitCount() == 1
+        !ProbeProgress.find('introspected').isPresent()
+        !ProbeProgress.find('introspectedAgain').isPresent()
+    }
+
+    def 'requests supporting asynchronous processing are completed off the container thread'() {
+        setup:
+        request.setAsyncSupported(true)
+        request.addParameter(GRAPHQL_QUERY, getQuery('GetBaseFieldTypesQuery'))
+
+        when:
+        servlet.doGet(request, response)
+
+        then:
+        request.getAsyncContext() != null
+        new PollingConditions(timeout: 5).eventually {
+            assert !request.isAsyncStarted()
+        }
+        response.getStatus() == HttpURLConnection.HTTP_OK
+        getResponseContentAsMap().errors == null
+        getResponseContentAsMap().data != null
+    }
+
+    def 'the persisted schema snapshot is served until the field providers are bound'() {
+        setup:
+        def ddfHome = Files.createTempDirectory('ddf')
+        System.setProperty('ddf.home', ddfHome.toString())
+        def previous = new GraphQLTransformerServlet()
+        previous.setFieldProviders([new TestFieldProvider()])
+        previous.refreshSchema()
+        previous.destroy()
+
+        request.addParameter(GRAPHQL_QUERY, getQuery('GetBaseFieldTypesQuery'))
+        servlet.doGet(request, response)
+        def expected = getResponseContentAsMap()
+
+        when: 'a restarted servlet serves the snapshot before its field providers have bound'
+        def providers = []
+        servlet = new GraphQLTransformerServlet()
+        servlet.setFieldProviders(providers)
+        def snapshotSchema = servlet.getSchemaProvider().getSchema()
+        servlet.doGet(request, response = new MockHttpServletResponse())
+
+        then:
+        snapshotSchema.getQueryType().getFieldDefinition(FUNCTION_NAME) != null
+        getResponseContentAsMap().errors != null
+
+        when: 'the field providers bind'
+        providers.add(new TestFieldProvider())
+        servlet.bindFieldProvider(providers[0])
+        servlet.doGet(request, response = new MockHttpServletResponse())
+
+        then:
+        servlet.getSchemaProvider().getSchema().is(snapshotSchema)
+        getResponseContentAsMap() == expected
+
+        when: 'the live schema is built'
+        servlet.refreshSchema()
+        servlet.doGet(request, response = new MockHttpServletResponse())
+
+        then:
+        !servlet.getSchemaProvider().getSchema().is(snapshotSchema)
+        getResponseContentAsMap() == expected
+
+        cleanup:
+        servlet.destroy()
+        System.clearProperty('ddf.home')
+        ddfHome.deleteDir()
+    }
+
+    def 'successfully execute a persisted operation by ID'() {
+        setup:
+        servlet.getPersistedOperations().register('GetErrorCodes', getQuery('GetErrorCodes'))
+        request.addParameter(GRAPHQL_QUERY, 'GetErrorCodes')
+
+        when:
+        servlet.doGet(request, response)
+
+        then:
+        response.getStatus() == HttpURLConnection.HTTP_OK
+        getResponseContentAsMap().errors == null
+        getResponseContentAsMap().data.errorCodes != null
+    }
+
+    def 'fail to execute ad-hoc query when only persisted operations are allowed'() {
+        setup:
+        servlet.getPersistedOperations().register('GetErrorCodes', getQuery('GetErrorCodes'))
+        servlet.getPersistedOperations().setPersistedOperationsOnly(true)
+        request.addParameter(GRAPHQL_QUERY, getQuery('GetBaseFieldTypesQuery'))
+
+        when:
+        servlet.doGet(request, response)
+
+        then:
+        response.getStatus() == HttpURLConnection.HTTP_OK
+        getResponseContentAsMap().errors*.message == [PersistedOperations.UNKNOWN_PERSISTED_OPERATION]
+        getResponseContentAsMap().data == null
+    }
+
+    def 'successfully execute registered query text and schema query when only persisted operations are allowed'() {
+        setup:
+        servlet.getPersistedOperations().register('GetErrorCodes', getQuery('GetErrorCodes'))
+        servlet.getPersistedOperations().setPersistedOperationsOnly(true)
+        def schemaRequest = new MockHttpServletRequest()
+        schemaRequest.setPathInfo('/schema.json')
+        request.addParameter(GRAPHQL_QUERY, getQuery('GetErrorCodes'))
+
+        when:
+        servlet.doGet(request, response)
+
+        then:
+        getResponseContentAsMap().errors == null
+        getResponseContentAsMap().data.errorCodes != null
+
+        when:
+        response = new MockHttpServletResponse()
+        servlet.doGet(schemaRequest, response)
+
+        then:
+        getResponseContentAsMap().errors == null
+        getResponseContentAsMap().data.__schema != null
+    }
+
+    def 'batch function invocations from one request are executed together'() {
+        setup:
+        TestFieldProvider.BatchEcho.BATCH_SIZES.clear()
+        request.addParameter(GRAPHQL_QUERY, '''
+            query {
+              testing {
+                first: batchEcho(string: "a")
+                second: batchEcho(string: "b")
+                third: batchEcho(string: "c")
+              }
+            }''')
+
+        when:
+        servlet.doGet(request, response)
+
+        then:
+        response.getStatus() == HttpURLConnection.HTTP_OK
+        getResponseContentAsMap().errors == null
+        getResponseContentAsMap().data == [(FUNCTION_NAME): [first: 'a', second: 'b', third: 'c']]
+        TestFieldProvider.BatchEcho.BATCH_SIZES == [3]
+    }
+
+    def 'identical discovery function invocations are executed once'() {
+        setup:
+        TestFieldProvider.BatchEcho.BATCH_SIZES.clear()
+        request.addParameter(GRAPHQL_QUERY, '''
+            query {
+              testing {
+                first: batchEcho(string: "a")
+                second: batchEcho(string: "a")
+                third: batchEcho(string: "b")
+              }
+            }''')
+
+        when:
+        servlet.doGet(request, response)
+
+        then:
+        response.getStatus() == HttpURLConnection.HTTP_OK
+        getResponseContentAsMap().errors == null
+        getResponseContentAsMap().data == [(FUNCTION_NAME): [first: 'a', second: 'a', third: 'b']]
+        TestFieldProvider.BatchEcho.BATCH_SIZES == [2]
+    }
+
+    def 'batch function reports errors only for the failing invocation'() {
+        setup:
+        TestFieldProvider.BatchEcho.BATCH_SIZES.clear()
+        request.addParameter(GRAPHQL_QUERY, '''
+            query {
+              testing {
+                valid: batchEcho(string: "a")
+                invalid: batchEcho(string: "")
+              }
+            }''')
+
+        when:
+        servlet.doGet(request, response)
+
+        then:
+        response.getStatus() == HttpURLConnection.HTTP_OK
+        getResponseContentAsMap().errors*.message == [DefaultMessages.EMPTY_FIELD]
+        getResponseContentAsMap().errors[0].path == [FUNCTION_NAME, 'invalid', STRING]
+        TestFieldProvider.BatchEcho.BATCH_SIZES == [1]
+    }
+
+    def 'a failing batch only fails the invocations that fail on their own'() {
+        setup:
+        TestFieldProvider.BatchEcho.BATCH_SIZES.clear()
+        request.addParameter(GRAPHQL_QUERY, """
+            query {
+              testing {
+                first: batchEcho(string: "a")
+                failed: batchEcho(string: "${TestFieldProvider.BatchEcho.FAILING_ARG}")
+                third: batchEcho(string: "c")
+              }
+            }""")
+
+        when:
+        servlet.doGet(request, response)
+
+        then:
+        response.getStatus() == HttpURLConnection.HTTP_OK
+        getResponseContentAsMap().errors.size() == 1
+        getResponseContentAsMap().data == [(FUNCTION_NAME): [first: 'a', failed: null, third: 'c']]
+        TestFieldProvider.BatchEcho.BATCH_SIZES == [3, 1, 1, 1]
+    }
+
+    def 'wall time, calls and errors of fields and functions are recorded'() {
+        setup:
+        request.addParameter(GRAPHQL_QUERY, '''
+            query {
+              testing {
+                valid: batchEcho(string: "a")
+                invalid: batchEcho(string: "")
+              }
+            }''')
+
+        when:
+        servlet.doGet(request, response)
+        def timings = servlet.getMetrics().getFieldTimings().collectEntries { [(it.field): it] }
+
+        then:
+        response.getStatus() == HttpURLConnection.HTTP_OK
+        timings["Query.${FUNCTION_NAME}"].count == 1
+        !timings["Query.${FUNCTION_NAME}"].function
+
+        def batchEcho = timings.find { it.key.endsWith(".${TestFieldProvider.BATCH_ECHO_FUNCTION_NAME}") }.value
+        batchEcho.function
+        batchEcho.count == 2
+        batchEcho.errors == 1
+        batchEcho.maxMillis >= batchEcho.meanMillis
+    }
+
+    def 'queries are budgeted by the cost of the functions they execute'() {
+        setup:
+        def aliases = (1..50).collect { "alias$it: $function" }.join('\n')
+        request.addParameter(GRAPHQL_QUERY, "query { testing { $aliases } }")
+
+        when:
+        servlet.doGet(request, response)
+
+        then:
+        response.getStatus() == HttpURLConnection.HTTP_OK
+        (getResponseContentAsMap().errors == null) == allowed
+
+        where:
+        function                                                          | allowed
+        TestFieldProvider.GET_INT_FUNCTION_NAME                           | true
+        "${TestFieldProvider.BATCH_ECHO_FUNCTION_NAME}(string: \"a\")" | false
+    }
+
+    def 'results are streamed to the response output stream'() {
+        setup:
+        response.setWriterAccessAllowed(false)
+        def batchedRequest = new MockHttpServletRequest()
+        def batchedResponse = new MockHttpServletResponse()
+        batchedResponse.setWriterAccessAllowed(false)
+        def reqContent = toJson([[query: getQuery('GetErrorCodes')], [query: getQuery('GetErrorCodes')]]).bytes
+        batchedRequest.setContent(reqContent)
+        batchedRequest.setContentType('application/json')
+        request.addParameter(GRAPHQL_QUERY, getQuery('GetErrorCodes'))
+
+        when:
+        servlet.doGet(request, response)
+        servlet.doPost(batchedRequest, batchedResponse)
+
+        then:
+        response.getStatus() == HttpURLConnection.HTTP_OK
+        response.getContentType().startsWith('application/json')
+        getResponseContentAsMap().data.errorCodes != null
+
+        def batchedResults = mapper.readValue(batchedResponse.getContentAsByteArray(), List)
+        batchedResponse.getStatus() == HttpURLConnection.HTTP_OK
+        batchedResults.size() == 2
+        batchedResults.every { it.errors == null && it.data.errorCodes != null }
+    }
+
+    def 'deferred fields are delivered in the following parts of a multipart response'() {
+        setup:
+        request.addParameter(GRAPHQL_QUERY, """
+            query {
+              testing {
+                ${TestFieldProvider.GET_INT_FUNCTION_NAME}
+                ${TestFieldProvider.GET_STRING_FUNCTION_NAME} @defer
+              }
+            }""")
+
+        when:
+        servlet.doGet(request, response)
+        def content = response.getContentAsString()
+        def parts = content.substring(0, content.lastIndexOf('\r\n-----\r\n'))
+                .split('\r\n---\r\n')
+                .findAll { !it.isEmpty() }
+                .collect { mapper.readValue(it.substring(it.indexOf('\r\n\r\n') + 4), Map) }
+
+        then:
+        response.getStatus() == HttpURLConnection.HTTP_OK
+        response.getContentType().startsWith('multipart/mixed')
+        parts.size() == 2
+        parts[0].errors == null
+        parts[0].extensions == null
+        parts[0].data[FUNCTION_NAME].containsKey(TestFieldProvider.GET_INT_FUNCTION_NAME)
+        !parts[0].data[FUNCTION_NAME].containsKey(TestFieldProvider.GET_STRING_FUNCTION_NAME)
+        parts[1].path == [FUNCTION_NAME, TestFieldProvider.GET_STRING_FUNCTION_NAME]
+        parts[1].data != null
+    }
+
+    def 'probe progress is streamed as server-sent events until the probe completes'() {
+        setup:
+        def probe = ProbeProgress.open('streamed')
+        probe.report(ProgressEvent.URL_TRIED, 'https://localhost:8993/csw', true)
+        request.addParameter(GRAPHQL_QUERY,
+                'subscription { probeProgress(probeId: "streamed") { stage detail success } }')
+        Thread.start {
+            Thread.sleep(200)
+            probe.report(ProgressEvent.REACHABILITY, 'https://localhost:8993/csw', false)
+            probe.complete()
+        }
+
+        when:
+        servlet.doGet(request, response)
+        def events = response.getContentAsString().split('\n\n').findAll { !it.startsWith(':') }
+
+        then:
+        response.getStatus() == HttpURLConnection.HTTP_OK
+        response.getContentType().startsWith('text/event-stream')
+        events.size() == 3
+        events[0..1].every { it.startsWith('event: next\ndata: ') }
+        events[0..1].collect { mapper.readValue(it.substring(it.indexOf('{')), Map).data.probeProgress } == [
+                [stage: ProgressEvent.URL_TRIED, detail: 'https://localhost:8993/csw', success: true],
+                [stage: ProgressEvent.REACHABILITY, detail: 'https://localhost:8993/csw', success: false]]
+        events[2].startsWith('event: complete')
+    }
+
+    def 'subscribing to the progress of a completed probe completes right away'() {
+        setup:
+        ProbeProgress.open('completed').complete()
+        request.addParameter(GRAPHQL_QUERY,
+                'subscription { probeProgress(probeId: "completed") { stage } }')
+
+        when:
+        servlet.doGet(request, response)
+        def events = response.getContentAsString().split('\n\n').findAll { !it.startsWith(':') }
+
+        then:
+        response.getStatus() == HttpURLConnection.HTTP_OK
+        events.size() == 1
+        events[0].startsWith('event: complete')
+        !ProbeProgress.find('completed').isPresent()
+    }
+
+    def 'the progress stream ends once the request deadline passes'() {
+        setup:
+        System.setProperty(GraphQLTransformerServlet.REQUEST_TIMEOUT_PROPERTY, '1')
+        servlet = new GraphQLTransformerServlet()
+        servlet.setFieldProviders([new TestFieldProvider()])
+        servlet.refreshSchema()
+        def probe = ProbeProgress.open('neverCompleted')
+        request.addParameter(GRAPHQL_QUERY,
+                'subscription { probeProgress(probeId: "neverCompleted") { stage } }')
+
+        when:
+        servlet.doGet(request, response)
+        def events = response.getContentAsString().split('\n\n').findAll { !it.startsWith(':') }
+
+        then:
+        events.size() == 1
+        events[0].startsWith('event: complete')
+
+        cleanup:
+        System.clearProperty(GraphQLTransformerServlet.REQUEST_TIMEOUT_PROPERTY)
+        probe.complete()
+        servlet.destroy()
+    }
+
+    def 'abandoning the progress stream cancels the probe'() {
+        setup:
+        def probe = ProbeProgress.open('abandoned')
+        request.addParameter(GRAPHQL_QUERY,
+                'subscription { probeProgress(probeId: "abandoned") { stage } }')
+        response = new MockHttpServletResponse() {
+            @Override
+            ServletOutputStream getOutputStream() {
+                return new ServletOutputStream() {
+                    @Override
+                    void write(int b) {
+                        throw new IOException('Client went away')
+                    }
+
+                    @Override
+                    void flush() {
+                        throw new IOException('Client went away')
+                    }
+                }
+            }
+        }
+
+        when:
+        servlet.doGet(request, response)
+
+        then:
+        probe.isCancelled()
+
+        cleanup:
+        probe.complete()
+    }
+
     def getResponseContentAsMap() {
         mapper.readValue(response.getContentAsByteArray(), Map)
     }
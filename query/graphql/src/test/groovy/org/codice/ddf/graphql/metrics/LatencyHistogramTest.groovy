@@ -0,0 +1,73 @@
+package org.codice.ddf.graphql.metrics
+
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+
+class LatencyHistogramTest extends Specification {
+
+    LatencyHistogram histogram
+
+    def setup() {
+        histogram = new LatencyHistogram()
+    }
+
+    def 'an empty histogram reports zeros'() {
+        expect:
+        histogram.count == 0
+        histogram.errors == 0
+        histogram.meanMillis == 0
+        histogram.maxMillis == 0
+        histogram.getPercentileMillis(0.99) == 0
+    }
+
+    def 'counts, errors, mean and max are exact'() {
+        when:
+        histogram.record(millis(1), false)
+        histogram.record(millis(3), true)
+
+        then:
+        histogram.count == 2
+        histogram.errors == 1
+        histogram.meanMillis == 2
+        histogram.maxMillis == 3
+    }
+
+    def 'percentiles are accurate to within a factor of two'() {
+        when:
+        90.times { histogram.record(millis(1), false) }
+        10.times { histogram.record(millis(100), false) }
+
+        then:
+        histogram.getPercentileMillis(0.5) >= 1
+        histogram.getPercentileMillis(0.5) < 2
+        histogram.getPercentileMillis(0.99) >= 100
+        histogram.getPercentileMillis(0.99) <= 100
+    }
+
+    def 'the recorded time is kept per field'() {
+        setup:
+        def metrics = new GraphQLMetrics()
+
+        when:
+        metrics.record('Query.b', false, millis(1), false)
+        metrics.record('Query.a', true, millis(2), true)
+        metrics.record('Query.a', true, millis(4), false)
+
+        then:
+        metrics.fieldTimings*.field == ['Query.a', 'Query.b']
+        metrics.fieldTimings[0].function
+        metrics.fieldTimings[0].count == 2
+        metrics.fieldTimings[0].errors == 1
+
+        when:
+        metrics.reset()
+
+        then:
+        metrics.fieldTimings.isEmpty()
+    }
+
+    static long millis(long millis) {
+        TimeUnit.MILLISECONDS.toNanos(millis)
+    }
+}
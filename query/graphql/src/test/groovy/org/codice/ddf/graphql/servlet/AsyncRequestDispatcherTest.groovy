@@ -0,0 +1,193 @@
+package org.codice.ddf.graphql.servlet
+
+import org.codice.ddf.admin.api.progress.RequestDeadline
+import org.springframework.mock.web.MockHttpServletRequest
+import org.springframework.mock.web.MockHttpServletResponse
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import javax.servlet.AsyncEvent
+import javax.servlet.AsyncListener
+import javax.servlet.http.HttpServletResponse
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class AsyncRequestDispatcherTest extends Specification {
+
+    def dispatcher = new AsyncRequestDispatcher(1, 1)
+
+    def conditions = new PollingConditions(timeout: 5)
+
+    def cleanup() {
+        dispatcher.shutdown()
+    }
+
+    def 'requests are executed off the container thread and completed once executed'() {
+        setup:
+        def request = asyncRequest()
+        def containerThread = Thread.currentThread()
+        Thread executingThread = null
+
+        when:
+        dispatcher.dispatch(request, new MockHttpServletResponse(), { executingThread = Thread.currentThread() })
+
+        then:
+        conditions.eventually {
+            assert !request.isAsyncStarted()
+            assert executingThread != null
+        }
+        !executingThread.is(containerThread)
+    }
+
+    def 'requests are rejected once the queue is full'() {
+        setup:
+        def release = new CountDownLatch(1)
+        def started = new CountDownLatch(1)
+        def running = asyncRequest()
+        def queued = asyncRequest()
+        def rejected = asyncRequest()
+        def rejectedResponse = new MockHttpServletResponse()
+
+        when:
+        dispatcher.dispatch(running, new MockHttpServletResponse(), {
+            started.countDown()
+            release.await(5, TimeUnit.SECONDS)
+        })
+        started.await(5, TimeUnit.SECONDS)
+        dispatcher.dispatch(queued, new MockHttpServletResponse(), {})
+        dispatcher.dispatch(rejected, rejectedResponse, {})
+
+        then:
+        dispatcher.getQueuedRequests() == 1
+        rejectedResponse.getStatus() == HttpServletResponse.SC_SERVICE_UNAVAILABLE
+        rejectedResponse.getHeader(AsyncRequestDispatcher.RETRY_AFTER_HEADER) == AsyncRequestDispatcher.RETRY_AFTER_SECONDS
+        !rejected.isAsyncStarted()
+
+        when:
+        release.countDown()
+
+        then:
+        conditions.eventually {
+            assert !running.isAsyncStarted()
+            assert !queued.isAsyncStarted()
+        }
+    }
+
+    def 'the async timeout of a request follows its deadline'() {
+        setup:
+        def bounded = asyncRequest()
+        def unbounded = asyncRequest()
+
+        when:
+        dispatcher.dispatch(bounded, new MockHttpServletResponse(), {}, RequestDeadline.after(30, TimeUnit.SECONDS))
+        dispatcher.dispatch(unbounded, new MockHttpServletResponse(), {})
+
+        then:
+        bounded.getAsyncContext().getTimeout() > TimeUnit.SECONDS.toMillis(29)
+        bounded.getAsyncContext().getTimeout() <= TimeUnit.SECONDS.toMillis(30) + AsyncRequestDispatcher.TIMEOUT_GRACE_MILLIS
+        unbounded.getAsyncContext().getTimeout() == 0
+    }
+
+    def 'requests timed out by the container stop their task and are completed once'() {
+        setup:
+        def request = asyncRequest()
+        def deadline = RequestDeadline.after(30, TimeUnit.SECONDS)
+        def stopped = new CountDownLatch(1)
+        def taskStopped = false
+        def completions = new AtomicInteger()
+
+        when:
+        dispatcher.dispatch(request, new MockHttpServletResponse(), {
+            deadline.onCancel { stopped.countDown() }
+            try {
+                stopped.await(5, TimeUnit.SECONDS)
+            } catch (InterruptedException e) {
+                // The task may be interrupted before it notices the deadline was cancelled
+            }
+            taskStopped = stopped.getCount() == 0
+        }, deadline)
+        def asyncContext = request.getAsyncContext()
+        asyncContext.addListener(new AsyncListenerAdapter(onComplete: { completions.incrementAndGet() }))
+
+        // The mock container never times requests out, so time the request out as the container does
+        def timeout = new AsyncEvent(asyncContext)
+        asyncContext.getListeners().each { it.onTimeout(timeout) }
+
+        then:
+        deadline.isCancelled()
+        !request.isAsyncStarted()
+
+        when: 'the request thread is done with the request'
+        def next = new CountDownLatch(1)
+        dispatcher.dispatch(asyncRequest(), new MockHttpServletResponse(), { next.countDown() })
+
+        then:
+        next.await(5, TimeUnit.SECONDS)
+        taskStopped
+        completions.get() == 1
+    }
+
+    def 'tasks are interrupted and their writes dropped once the container times the request out'() {
+        setup:
+        def request = asyncRequest()
+        def response = new MockHttpServletResponse()
+        def started = new CountDownLatch(1)
+        def done = new CountDownLatch(1)
+        def interrupted = false
+        IOException writeFailure = null
+
+        when:
+        dispatcher.dispatch(request, response, { HttpServletResponse resp ->
+            started.countDown()
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(5))
+            } catch (InterruptedException e) {
+                interrupted = true
+            }
+            try {
+                resp.getOutputStream().write('late'.bytes)
+            } catch (IOException e) {
+                writeFailure = e
+            }
+            resp.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR)
+            done.countDown()
+        }, RequestDeadline.after(30, TimeUnit.SECONDS))
+        started.await(5, TimeUnit.SECONDS)
+        def asyncContext = request.getAsyncContext()
+        def timeout = new AsyncEvent(asyncContext)
+        asyncContext.getListeners().each { it.onTimeout(timeout) }
+
+        then:
+        done.await(5, TimeUnit.SECONDS)
+        interrupted
+        writeFailure != null
+        response.getContentAsByteArray().length == 0
+        response.getStatus() == HttpServletResponse.SC_OK
+    }
+
+    def asyncRequest() {
+        def request = new MockHttpServletRequest()
+        request.setAsyncSupported(true)
+        request
+    }
+
+    static class AsyncListenerAdapter implements AsyncListener {
+
+        Closure onComplete = {}
+
+        @Override
+        void onComplete(AsyncEvent event) {
+            onComplete.call()
+        }
+
+        @Override
+        void onTimeout(AsyncEvent event) {}
+
+        @Override
+        void onError(AsyncEvent event) {}
+
+        @Override
+        void onStartAsync(AsyncEvent event) {}
+    }
+}
@@ -0,0 +1,121 @@
+package org.codice.ddf.graphql.servlet
+
+import graphql.ExecutionResult
+import graphql.ExecutionResultImpl
+import graphql.parser.Parser
+import graphql.servlet.GraphQLBatchedInvocationInput
+import graphql.servlet.GraphQLSingleInvocationInput
+import graphql.servlet.internal.GraphQLRequest
+import org.codice.ddf.graphql.RequestGraphQLContext
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.function.Function
+
+class BatchedQueryInvokerTest extends Specification {
+
+    def sharedExecutor = Executors.newFixedThreadPool(4)
+
+    def batchedQueryInvoker = new BatchedQueryInvoker(sharedExecutor, 4, { schema, query -> new Parser().parseDocument(query) })
+
+    def context = new RequestGraphQLContext()
+
+    def cleanup() {
+        sharedExecutor.shutdownNow()
+    }
+
+    def 'queries of a batch execute concurrently and are handed out in order'() {
+        setup:
+        def requests = ['{ first }', '{ second }', '{ third }'].collect { new GraphQLRequest(it, [:], null) }
+        def started = new CountDownLatch(requests.size())
+        def results = []
+        def queryInvoker = queryInvoker { GraphQLSingleInvocationInput input ->
+            started.countDown()
+            // Only completes once every query of the batch is executing
+            def concurrent = started.await(5, TimeUnit.SECONDS)
+            [query: input.getExecutionInput().getQuery(), concurrent: concurrent, context: input.getContext()]
+        }
+
+        when:
+        batchedQueryInvoker.query(queryInvoker, requests, batch(requests), { results.add(it.data) })
+
+        then:
+        results.every { it.context.is(context) }
+        results*.query == requests*.query
+        results.every { it.concurrent }
+    }
+
+    def 'batches with a mutation execute one operation after another on the request thread'() {
+        setup:
+        def requests = ['{ first }', 'mutation { second }'].collect { new GraphQLRequest(it, [:], null) }
+        def requestThread = Thread.currentThread()
+        def results = []
+        def queryInvoker = queryInvoker { GraphQLSingleInvocationInput input ->
+            [query: input.getExecutionInput().getQuery(), thread: Thread.currentThread()]
+        }
+
+        when:
+        batchedQueryInvoker.query(queryInvoker, requests, batch(requests), { results.add(it.data) })
+
+        then:
+        results*.query == requests*.query
+        results.every { it.thread.is(requestThread) }
+    }
+
+    def 'batches with deferred fields execute one operation after another on the request thread'() {
+        setup:
+        def requests = ['{ first }', '{ second { slow @defer } }'].collect { new GraphQLRequest(it, [:], null) }
+        def requestThread = Thread.currentThread()
+        def threads = []
+        def queryInvoker = queryInvoker {
+            threads.add(Thread.currentThread())
+            [:]
+        }
+
+        when:
+        batchedQueryInvoker.query(queryInvoker, requests, batch(requests), {})
+
+        then:
+        threads.size() == 2
+        threads.every { it.is(requestThread) }
+    }
+
+    def 'an operation failing mid-batch is handed out as an error and the batch goes on'() {
+        setup:
+        def requests = queries.collect { new GraphQLRequest(it, [:], null) }
+        def results = []
+        def queryInvoker = queryInvoker { GraphQLSingleInvocationInput input ->
+            if (input.getExecutionInput().getQuery() == '{ second }') {
+                throw new IllegalStateException('failed')
+            }
+            [query: input.getExecutionInput().getQuery()]
+        }
+
+        when:
+        batchedQueryInvoker.query(queryInvoker, requests, batch(requests), { results.add(it) })
+
+        then:
+        results.size() == 3
+        results[0].data.query == queries[0]
+        results[1].data == null
+        results[1].errors.size() == 1
+        results[2].data.query == queries[2]
+
+        where:
+        queries << [
+                ['{ first }', '{ second }', '{ third }'],
+                ['{ first }', '{ second }', 'mutation { third }']
+        ]
+    }
+
+    /** Spock mocks handle one invocation at a time, so the invoker is a plain function. */
+    Function<GraphQLSingleInvocationInput, ExecutionResult> queryInvoker(Closure<Map> execute) {
+        return { GraphQLSingleInvocationInput input -> new ExecutionResultImpl(execute.call(input), []) } as Function
+    }
+
+    def batch(List<GraphQLRequest> requests) {
+        new GraphQLBatchedInvocationInput(requests, null, context, null)
+    }
+}
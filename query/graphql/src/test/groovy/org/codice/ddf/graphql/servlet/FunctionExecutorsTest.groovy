@@ -0,0 +1,74 @@
+package org.codice.ddf.graphql.servlet
+
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+
+class FunctionExecutorsTest extends Specification {
+
+    def 'tasks submitted to a shut down pool are rejected instead of discarded'() {
+        setup:
+        def executor = FunctionExecutors.newBoundedExecutor(1)
+        executor.shutdown()
+
+        when:
+        executor.execute {}
+
+        then:
+        thrown(RejectedExecutionException)
+    }
+
+    def 'tasks submitted to a shut down pool complete the request executor tasks on the caller'() {
+        setup:
+        def executor = FunctionExecutors.newBoundedExecutor(1)
+        executor.shutdown()
+        def ran = false
+
+        when:
+        new RequestExecutor(executor, 1).execute { ran = true }
+
+        then:
+        ran
+    }
+
+    def 'unbounded executors run no more than the given number of tasks at once'() {
+        setup:
+        def delegate = Executors.newCachedThreadPool()
+        def executor = new FunctionExecutors.BoundedExecutor(delegate, 2)
+        def release = new CountDownLatch(1)
+        def started = new CountDownLatch(2)
+        def threads = []
+
+        when:
+        2.times {
+            executor.execute {
+                started.countDown()
+                release.await(5, TimeUnit.SECONDS)
+            }
+        }
+        started.await(5, TimeUnit.SECONDS)
+        executor.execute { threads << Thread.currentThread() }
+
+        then:
+        threads == [Thread.currentThread()]
+
+        cleanup:
+        release.countDown()
+        executor.shutdown()
+    }
+
+    def 'the bounded executor rejects tasks once shut down'() {
+        setup:
+        def executor = new FunctionExecutors.BoundedExecutor(Executors.newCachedThreadPool(), 2)
+        executor.shutdown()
+
+        when:
+        executor.execute {}
+
+        then:
+        thrown(RejectedExecutionException)
+    }
+}
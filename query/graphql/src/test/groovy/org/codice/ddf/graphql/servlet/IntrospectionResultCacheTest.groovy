@@ -0,0 +1,27 @@
+package org.codice.ddf.graphql.servlet
+
+import graphql.introspection.IntrospectionQuery
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class IntrospectionResultCacheTest extends Specification {
+
+    static final String INTROSPECTION_QUERY = IntrospectionQuery.INTROSPECTION_QUERY
+
+    @Unroll
+    def 'the introspection operation is recognized by its ID or its text: #description'() {
+        expect:
+        IntrospectionResultCache.isIntrospectionQuery(query, operationName) == introspection
+
+        where:
+        description                     | query                                          | operationName        || introspection
+        'persisted operation ID'        | ' IntrospectionQuery '                         | null                 || true
+        'query text'                    | INTROSPECTION_QUERY                            | null                 || true
+        'query text on one line'        | INTROSPECTION_QUERY.replaceAll(/\s+/, ' ')     | 'IntrospectionQuery' || true
+        'other operation requested'     | INTROSPECTION_QUERY                            | 'other'              || false
+        'other query as long'           | INTROSPECTION_QUERY.replace('Introspection', 'Other') | null          || false
+        'introspection query extended'  | INTROSPECTION_QUERY + ' query other { a }'     | null                 || false
+        'short query'                   | '{ __schema { types { name } } }'              | null                 || false
+        'no query'                      | null                                           | null                 || false
+    }
+}
@@ -0,0 +1,60 @@
+package org.codice.ddf.graphql.servlet
+
+import graphql.execution.preparsed.PreparsedDocumentEntry
+import graphql.execution.preparsed.PreparsedDocumentProvider
+import graphql.language.Document
+import spock.lang.Specification
+
+class PersistedOperationsTest extends Specification {
+
+    def delegate = { query, parse -> parse.apply(query) } as PreparsedDocumentProvider
+
+    def persistedOperations = new PersistedOperations(delegate)
+
+    def 'operations are looked up by ID'() {
+        when:
+        persistedOperations.register('GetThing', '{ thing }')
+
+        then:
+        persistedOperations.lookup('GetThing') == '{ thing }'
+        persistedOperations.lookup(PersistedOperations.INTROSPECTION_OPERATION_ID) != null
+        persistedOperations.lookup('{ thing }') == null
+
+        when:
+        persistedOperations.unregister('GetThing')
+
+        then:
+        persistedOperations.lookup('GetThing') == null
+    }
+
+    def 'the operations handed out are a snapshot that later registrations do not change'() {
+        setup:
+        def operations = persistedOperations.getOperations()
+
+        when:
+        persistedOperations.register('GetThing', '{ thing }')
+
+        then:
+        !operations.containsKey('GetThing')
+        persistedOperations.getOperations().containsKey('GetThing')
+        persistedOperations.getOperations().is(persistedOperations.getOperations())
+    }
+
+    def 'only the text of the current registration of an ID is allowed once persisted operations only are enabled'() {
+        setup:
+        def parsed = []
+        def parse = { parsed.add(it); new PreparsedDocumentEntry(new Document([])) }
+        persistedOperations.setPersistedOperationsOnly(true)
+
+        when:
+        persistedOperations.register('GetThing', '{ thing }')
+        persistedOperations.register('GetThing', '{ otherThing }')
+        def replaced = persistedOperations.get('{ thing }', parse)
+        persistedOperations.get('GetThing', parse)
+        persistedOperations.get('{ otherThing }', parse)
+
+        then:
+        replaced.hasErrors()
+        parsed == ['{ otherThing }', '{ otherThing }']
+    }
+}
@@ -0,0 +1,126 @@
+package org.codice.ddf.graphql.servlet
+
+import graphql.GraphQLError
+import graphql.execution.preparsed.PreparsedDocumentEntry
+import graphql.language.Document
+import graphql.schema.GraphQLObjectType
+import graphql.schema.GraphQLSchema
+import spock.lang.Specification
+
+import static graphql.Scalars.GraphQLString
+import static graphql.schema.GraphQLFieldDefinition.newFieldDefinition
+
+class PreparsedDocumentCacheTest extends Specification {
+
+    static final String QUERY = '{ field }'
+
+    def documentCache = new PreparsedDocumentCache()
+
+    def schema = schema()
+
+    def 'documents are parsed once per schema'() {
+        setup:
+        def parses = 0
+        def parse = { parses++; new PreparsedDocumentEntry(new Document([])) }
+
+        when:
+        documentCache.validatingAgainst(schema, {
+            documentCache.get(QUERY, parse)
+            documentCache.get(QUERY, parse)
+            documentCache.invalidate()
+            documentCache.get(QUERY, parse)
+        })
+
+        then:
+        parses == 2
+        documentCache.getHitCount() == 1
+    }
+
+    def 'documents validated against different schemas are cached apart'() {
+        setup:
+        def readOnlySchema = schema()
+        def readOnly = new PreparsedDocumentEntry(new Document([]))
+        def full = new PreparsedDocumentEntry(new Document([]))
+
+        when:
+        documentCache.validatingAgainst(readOnlySchema, { documentCache.get(QUERY, { readOnly }) })
+        def validated = documentCache.validatingAgainst(schema, { documentCache.get(QUERY, { full }) })
+
+        then:
+        validated.is(full)
+        documentCache.size() == 2
+        documentCache.validatingAgainst(readOnlySchema, { documentCache.get(QUERY, { null }) }).is(readOnly)
+    }
+
+    def 'documents are not cached without the schema they are validated against'() {
+        setup:
+        def parses = 0
+        def parse = { parses++; new PreparsedDocumentEntry(new Document([])) }
+
+        when:
+        documentCache.get(QUERY, parse)
+        documentCache.get(QUERY, parse)
+
+        then:
+        parses == 2
+        documentCache.size() == 0
+    }
+
+    def 'documents that fail validation are not cached'() {
+        setup:
+        def entry = new PreparsedDocumentEntry([Mock(GraphQLError)])
+
+        when:
+        def validated = documentCache.validatingAgainst(schema, { documentCache.get(QUERY, { entry }) })
+
+        then:
+        validated.is(entry)
+        documentCache.size() == 0
+    }
+
+    def 'documents validated while the schema is replaced are not cached'() {
+        setup:
+        def entry = new PreparsedDocumentEntry(new Document([]))
+
+        when:
+        def validated = documentCache.validatingAgainst(schema, {
+            documentCache.get(QUERY, {
+                documentCache.invalidate()
+                entry
+            })
+        })
+
+        then:
+        validated.is(entry)
+        documentCache.size() == 0
+    }
+
+    def 'documents are parsed right away until they are cached'() {
+        setup:
+        def cached = new Document([])
+
+        when:
+        def parsed = documentCache.getDocument(schema, QUERY)
+
+        then:
+        parsed.getDefinitions().size() == 1
+        documentCache.size() == 0
+
+        when:
+        documentCache.validatingAgainst(schema, {
+            documentCache.get(QUERY, { new PreparsedDocumentEntry(cached) })
+        })
+
+        then:
+        documentCache.getDocument(schema, QUERY).is(cached)
+        !documentCache.getDocument(schema(), QUERY).is(cached)
+    }
+
+    static GraphQLSchema schema() {
+        GraphQLSchema.newSchema()
+                .query(GraphQLObjectType.newObject()
+                .name('Query')
+                .field(newFieldDefinition().name('field').type(GraphQLString)))
+                .build()
+    }
+}
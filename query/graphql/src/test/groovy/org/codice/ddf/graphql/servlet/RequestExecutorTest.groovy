@@ -0,0 +1,79 @@
+package org.codice.ddf.graphql.servlet
+
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+import java.util.concurrent.RejectedExecutionException
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class RequestExecutorTest extends Specification {
+
+    def sharedExecutor = Executors.newFixedThreadPool(4)
+
+    def cleanup() {
+        sharedExecutor.shutdownNow()
+    }
+
+    def 'no more than the maximum number of tasks run at once'() {
+        setup:
+        def executor = new RequestExecutor(sharedExecutor, 2)
+        def running = new AtomicInteger()
+        def maxRunning = new AtomicInteger()
+        def done = new CountDownLatch(6)
+
+        when:
+        6.times {
+            executor.execute {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math.&max)
+                Thread.sleep(50)
+                running.decrementAndGet()
+                done.countDown()
+            }
+        }
+
+        then:
+        done.await(5, TimeUnit.SECONDS)
+        maxRunning.get() == 2
+    }
+
+    def 'tasks run off the submitting thread'() {
+        setup:
+        def executor = new RequestExecutor(sharedExecutor, 1)
+        def taskThread
+        def done = new CountDownLatch(1)
+
+        when:
+        executor.execute {
+            taskThread = Thread.currentThread()
+            done.countDown()
+        }
+
+        then:
+        done.await(5, TimeUnit.SECONDS)
+        taskThread != Thread.currentThread()
+    }
+
+    def 'tasks rejected by the shared executor run on the submitting thread'() {
+        setup:
+        def rejecting = { throw new RejectedExecutionException() } as Executor
+        def executor = new RequestExecutor(rejecting, 1)
+        def threads = []
+
+        when:
+        2.times { executor.execute { threads << Thread.currentThread() } }
+
+        then:
+        threads == [Thread.currentThread(), Thread.currentThread()]
+    }
+
+    def 'the maximum concurrency must be positive'() {
+        when:
+        new RequestExecutor(sharedExecutor, 0)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
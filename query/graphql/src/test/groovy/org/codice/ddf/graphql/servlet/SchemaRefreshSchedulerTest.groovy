@@ -0,0 +1,142 @@
+package org.codice.ddf.graphql.servlet
+
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class SchemaRefreshSchedulerTest extends Specification {
+
+    def refreshes = new AtomicInteger()
+
+    def conditions = new PollingConditions(timeout: 5)
+
+    SchemaRefreshScheduler scheduler
+
+    def cleanup() {
+        scheduler?.shutdown()
+    }
+
+    def 'requests within the quiet period are coalesced into one refresh'() {
+        setup:
+        scheduler = new SchemaRefreshScheduler({ refreshes.incrementAndGet() }, 100, 5000, TimeUnit.MILLISECONDS)
+
+        when:
+        5.times { scheduler.requestRefresh() }
+
+        then:
+        conditions.eventually {
+            assert !scheduler.isPending()
+            assert refreshes.get() == 1
+        }
+
+        when:
+        Thread.sleep(300)
+
+        then:
+        refreshes.get() == 1
+    }
+
+    def 'a steady stream of requests does not postpone the refresh beyond the maximum delay'() {
+        setup:
+        scheduler = new SchemaRefreshScheduler({ refreshes.incrementAndGet() }, 100, 300, TimeUnit.MILLISECONDS)
+
+        when:
+        20.times {
+            scheduler.requestRefresh()
+            Thread.sleep(50)
+        }
+
+        then:
+        refreshes.get() >= 1
+    }
+
+    def 'requests arriving during a refresh schedule another refresh'() {
+        setup:
+        def started = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        scheduler = new SchemaRefreshScheduler({
+            if (refreshes.incrementAndGet() == 1) {
+                started.countDown()
+                release.await()
+            }
+        }, 10, 100, TimeUnit.MILLISECONDS)
+
+        when:
+        scheduler.requestRefresh()
+        started.await(5, TimeUnit.SECONDS)
+        scheduler.requestRefresh()
+        release.countDown()
+
+        then:
+        conditions.eventually {
+            assert refreshes.get() == 2
+        }
+    }
+
+    def 'a failed refresh does not prevent later refreshes'() {
+        setup:
+        scheduler = new SchemaRefreshScheduler({
+            if (refreshes.incrementAndGet() == 1) {
+                throw new IllegalStateException()
+            }
+        }, 10, 100, TimeUnit.MILLISECONDS)
+
+        when:
+        scheduler.requestRefresh()
+        conditions.eventually {
+            assert refreshes.get() == 1
+        }
+        scheduler.requestRefresh()
+
+        then:
+        conditions.eventually {
+            assert refreshes.get() == 2
+        }
+    }
+
+    def 'retries wait for their delay unless a request cuts them short'() {
+        setup:
+        scheduler = new SchemaRefreshScheduler({ refreshes.incrementAndGet() }, 50, 5000, TimeUnit.MILLISECONDS)
+
+        when:
+        scheduler.requestRetry(500, TimeUnit.MILLISECONDS)
+        Thread.sleep(200)
+
+        then:
+        scheduler.isPending()
+        refreshes.get() == 0
+
+        when:
+        scheduler.requestRetry(10, TimeUnit.MILLISECONDS)
+        scheduler.requestRefresh()
+
+        then:
+        conditions.eventually {
+            assert !scheduler.isPending()
+            assert refreshes.get() == 1
+        }
+
+        when:
+        Thread.sleep(500)
+
+        then:
+        refreshes.get() == 1
+    }
+
+    def 'requests after shutdown are ignored'() {
+        setup:
+        scheduler = new SchemaRefreshScheduler({ refreshes.incrementAndGet() }, 10, 100, TimeUnit.MILLISECONDS)
+
+        when:
+        scheduler.shutdown()
+        scheduler.requestRefresh()
+        Thread.sleep(100)
+
+        then:
+        !scheduler.isPending()
+        refreshes.get() == 0
+    }
+}
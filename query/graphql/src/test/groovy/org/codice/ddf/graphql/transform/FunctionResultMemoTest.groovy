@@ -0,0 +1,77 @@
+package org.codice.ddf.graphql.transform
+
+import spock.lang.Specification
+
+import java.util.concurrent.CompletableFuture
+
+class FunctionResultMemoTest extends Specification {
+
+    FunctionResultMemo memo
+
+    int executions
+
+    def setup() {
+        memo = new FunctionResultMemo()
+        executions = 0
+    }
+
+    def 'invocations with equal arguments share one execution'() {
+        when:
+        def first = memo.get('Query.function', [arg: 'value', other: null], { ++executions })
+        def second = memo.get('Query.function', [arg: 'value'], { ++executions })
+
+        then:
+        executions == 1
+        first == 1
+        second.get() == 1
+    }
+
+    def 'invocations of different functions or arguments are executed separately'() {
+        when:
+        memo.get('Query.function', [arg: 'value'], { ++executions })
+        memo.get('Query.function', [arg: 'other'], { ++executions })
+        memo.get('Query.otherFunction', [arg: 'value'], { ++executions })
+
+        then:
+        executions == 3
+    }
+
+    def 'failed executions are not shared'() {
+        when:
+        memo.get('Query.function', [:], { ++executions; throw new IllegalStateException() })
+
+        then:
+        thrown(IllegalStateException)
+
+        when:
+        def result = memo.get('Query.function', [:], { ++executions })
+
+        then:
+        executions == 2
+        result == 2
+    }
+
+    def 'invocations waiting on a failed asynchronous execution are executed on their own'() {
+        setup:
+        def pending = new CompletableFuture()
+
+        when:
+        memo.get('Query.function', [:], { ++executions; pending })
+        def waiting = memo.get('Query.function', [:], { ++executions; 'own result' })
+        pending.completeExceptionally(new IllegalStateException())
+
+        then:
+        executions == 2
+        waiting.get() == 'own result'
+    }
+
+    def 'clearing discards shared results'() {
+        when:
+        memo.get('Query.function', [:], { ++executions })
+        memo.clear()
+        memo.get('Query.function', [:], { ++executions })
+
+        then:
+        executions == 2
+    }
+}
@@ -0,0 +1,134 @@
+package org.codice.ddf.graphql.transform
+
+import graphql.schema.GraphQLObjectType
+import graphql.schema.GraphQLSchema
+import graphql.schema.idl.SchemaPrinter
+import graphql.servlet.GraphQLProvider
+import org.codice.ddf.admin.api.fields.FunctionField
+import org.codice.ddf.admin.common.fields.base.function.BaseFieldProvider
+import org.codice.ddf.admin.common.fields.test.TestFieldProvider
+import spock.lang.Specification
+
+class GraphQLTransformCommonsTest extends Specification {
+
+    GraphQLTransformCommons transformCommons
+
+    TestFieldProvider testProvider
+
+    def setup() {
+        transformCommons = new GraphQLTransformCommons()
+        testProvider = new TestFieldProvider()
+    }
+
+    def 'Unchanged field providers reuse their transformed schema fragment'() {
+        when:
+        def first = transformCommons.fieldProvidersToGraphQlProvider([testProvider])
+        def second = transformCommons.fieldProvidersToGraphQlProvider([testProvider])
+
+        then:
+        queryDefinition(first, TestFieldProvider.TEST_FUNCTION_NAME).is(queryDefinition(second, TestFieldProvider.TEST_FUNCTION_NAME))
+        toSchema(second) != null
+    }
+
+    def 'Only changed field providers are transformed again'() {
+        setup:
+        def otherProvider = new OtherFieldProvider()
+        def first = transformCommons.fieldProvidersToGraphQlProvider([testProvider, otherProvider])
+
+        when:
+        otherProvider.functions = [new TestFieldProvider.RequiredArgsFunction(), new TestFieldProvider.GetInt()]
+        def second = transformCommons.fieldProvidersToGraphQlProvider([testProvider, otherProvider])
+
+        then:
+        queryDefinition(first, TestFieldProvider.TEST_FUNCTION_NAME).is(queryDefinition(second, TestFieldProvider.TEST_FUNCTION_NAME))
+        !queryDefinition(first, OtherFieldProvider.NAME).is(queryDefinition(second, OtherFieldProvider.NAME))
+        ((GraphQLObjectType) queryDefinition(second, OtherFieldProvider.NAME).getType()).getFieldDefinitions().size() == 2
+
+        and: 'types shared between providers resolve to the same instances'
+        toSchema(second) != null
+    }
+
+    def 'Identical field providers are told apart by instance'() {
+        setup:
+        def otherInstance = new TestFieldProvider()
+
+        expect:
+        FieldProviderSignature.of(testProvider) == FieldProviderSignature.of(testProvider)
+        FieldProviderSignature.of(testProvider) != FieldProviderSignature.of(otherInstance)
+        FieldProviderSignature.shapeOf([testProvider]) == FieldProviderSignature.shapeOf([otherInstance])
+    }
+
+    def 'Removed field providers are dropped from the schema'() {
+        setup:
+        transformCommons.fieldProvidersToGraphQlProvider([testProvider, new OtherFieldProvider()])
+
+        when:
+        def provider = transformCommons.fieldProvidersToGraphQlProvider([testProvider])
+
+        then:
+        queryDefinition(provider, OtherFieldProvider.NAME) == null
+        toSchema(provider) != null
+    }
+
+    def 'Concurrent transforms produce the same schema as a sequential transform'() {
+        setup:
+        def providers = [testProvider, new OtherFieldProvider()] + (1..6).collect {
+            new OtherFieldProvider("other$it", "Other$it", [new TestFieldProvider.RequiredArgsFunction(), new TestFieldProvider.GetInt()])
+        }
+        def sequential = new GraphQLTransformCommons(1).fieldProvidersToGraphQlProvider(providers)
+
+        when:
+        def concurrent = (1..10).collect {
+            def transformCommons = new GraphQLTransformCommons(4)
+            try {
+                return transformCommons.fieldProvidersToGraphQlProvider(providers)
+            } finally {
+                transformCommons.shutdown()
+            }
+        }
+
+        then:
+        concurrent.every { it.getQueries()*.getName() == sequential.getQueries()*.getName() }
+        concurrent.every { printSchema(it) == printSchema(sequential) }
+    }
+
+    def queryDefinition(GraphQLProvider provider, String name) {
+        provider.getQueries().find { it.getName() == name }
+    }
+
+    def toSchema(GraphQLProvider provider) {
+        def query = GraphQLObjectType.newObject().name('Query').fields(provider.getQueries() as List).build()
+        def mutation = GraphQLObjectType.newObject().name('Mutation').fields(provider.getMutations() as List).build()
+        GraphQLSchema.newSchema().query(query).mutation(mutation).build(provider.getTypes() as Set)
+    }
+
+    def printSchema(GraphQLProvider provider) {
+        new SchemaPrinter().print(toSchema(provider))
+    }
+
+    static class OtherFieldProvider extends BaseFieldProvider {
+
+        static final String NAME = 'other'
+
+        List<FunctionField> functions
+
+        OtherFieldProvider() {
+            this(NAME, 'Other', [new TestFieldProvider.RequiredArgsFunction()])
+        }
+
+        OtherFieldProvider(String name, String typeName, List<FunctionField> functions) {
+            super(name, typeName, 'Shares types with the test field provider.')
+            this.functions = functions
+        }
+
+        @Override
+        List<FunctionField> getDiscoveryFunctions() {
+            return functions
+        }
+
+        @Override
+        List<FunctionField> getMutationFunctions() {
+            return []
+        }
+    }
+}
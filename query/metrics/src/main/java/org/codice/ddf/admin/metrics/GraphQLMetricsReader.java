@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.List;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import org.codice.ddf.admin.api.metrics.FieldTiming;
+import org.codice.ddf.admin.api.metrics.GraphQLMetricsMXBean;
+
+/** Reads the metrics the GraphQL servlet publishes through JMX. */
+public class GraphQLMetricsReader {
+
+  private final MBeanServer mBeanServer;
+
+  public GraphQLMetricsReader() {
+    this(ManagementFactory.getPlatformMBeanServer());
+  }
+
+  public GraphQLMetricsReader(MBeanServer mBeanServer) {
+    this.mBeanServer = mBeanServer;
+  }
+
+  /** @return the field timings, or an empty list if the GraphQL servlet is not running */
+  public List<FieldTiming> getFieldTimings() {
+    ObjectName name = objectName();
+    if (!mBeanServer.isRegistered(name)) {
+      return Collections.emptyList();
+    }
+
+    return JMX.newMXBeanProxy(mBeanServer, name, GraphQLMetricsMXBean.class).getFieldTimings();
+  }
+
+  private static ObjectName objectName() {
+    try {
+      return new ObjectName(GraphQLMetricsMXBean.OBJECT_NAME);
+    } catch (MalformedObjectNameException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
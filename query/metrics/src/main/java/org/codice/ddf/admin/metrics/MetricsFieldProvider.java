@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.metrics;
+
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import org.codice.ddf.admin.api.fields.FunctionField;
+import org.codice.ddf.admin.common.fields.base.function.BaseFieldProvider;
+import org.codice.ddf.admin.metrics.discover.GetFieldTimings;
+
+public class MetricsFieldProvider extends BaseFieldProvider {
+
+  public static final String FIELD_NAME = "metrics";
+
+  public static final String FIELD_TYPE_NAME = "Metrics";
+
+  public static final String DESCRIPTION =
+      "Performance metrics of the GraphQL endpoint, such as how long each field and function takes to execute.";
+
+  private GetFieldTimings getFieldTimings;
+
+  public MetricsFieldProvider() {
+    this(new GraphQLMetricsReader());
+  }
+
+  public MetricsFieldProvider(GraphQLMetricsReader metricsReader) {
+    super(FIELD_NAME, FIELD_TYPE_NAME, DESCRIPTION);
+    getFieldTimings = new GetFieldTimings(metricsReader);
+  }
+
+  @Override
+  public List<FunctionField> getDiscoveryFunctions() {
+    return ImmutableList.of(getFieldTimings);
+  }
+
+  @Override
+  public List<FunctionField> getMutationFunctions() {
+    return ImmutableList.of();
+  }
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.metrics.discover;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.codice.ddf.admin.api.fields.FunctionCost;
+import org.codice.ddf.admin.api.fields.FunctionField;
+import org.codice.ddf.admin.common.fields.base.function.GetFunctionField;
+import org.codice.ddf.admin.metrics.GraphQLMetricsReader;
+import org.codice.ddf.admin.metrics.fields.FieldTimingField;
+
+public class GetFieldTimings extends GetFunctionField<FieldTimingField.ListImpl> {
+
+  public static final String FIELD_NAME = "fieldTimings";
+
+  public static final String DESCRIPTION =
+      "Retrieves the wall time, call count and error count of every GraphQL field and function executed since the metrics were last reset, ordered by field.";
+
+  private static final FieldTimingField.ListImpl RETURN_TYPE = new FieldTimingField.ListImpl();
+
+  private final GraphQLMetricsReader metricsReader;
+
+  public GetFieldTimings(GraphQLMetricsReader metricsReader) {
+    super(FIELD_NAME, DESCRIPTION);
+    this.metricsReader = metricsReader;
+  }
+
+  @Override
+  public FieldTimingField.ListImpl performFunction() {
+    List<FieldTimingField> timings =
+        metricsReader
+            .getFieldTimings()
+            .stream()
+            .map(timing -> new FieldTimingField().timing(timing))
+            .collect(Collectors.toList());
+
+    return new FieldTimingField.ListImpl().addAll(timings);
+  }
+
+  @Override
+  public FieldTimingField.ListImpl getReturnType() {
+    return RETURN_TYPE;
+  }
+
+  @Override
+  public FunctionField<FieldTimingField.ListImpl> newInstance() {
+    return new GetFieldTimings(metricsReader);
+  }
+
+  @Override
+  public Set<String> getFunctionErrorCodes() {
+    return Collections.emptySet();
+  }
+
+  @Override
+  public FunctionCost getCost() {
+    return FunctionCost.COMPUTE;
+  }
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.metrics.fields;
+
+import com.google.common.collect.ImmutableList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import org.codice.ddf.admin.api.Field;
+import org.codice.ddf.admin.api.metrics.FieldTiming;
+import org.codice.ddf.admin.common.fields.base.BaseListField;
+import org.codice.ddf.admin.common.fields.base.BaseObjectField;
+import org.codice.ddf.admin.common.fields.base.scalar.BooleanField;
+import org.codice.ddf.admin.common.fields.base.scalar.FloatField;
+import org.codice.ddf.admin.common.fields.base.scalar.LongField;
+import org.codice.ddf.admin.common.fields.base.scalar.StringField;
+
+public class FieldTimingField extends BaseObjectField {
+
+  public static final String DEFAULT_FIELD_NAME = "fieldTiming";
+  public static final String FIELD_TYPE_NAME = "FieldTiming";
+  public static final String DESCRIPTION =
+      "The wall time, call count and error count of a GraphQL field since the metrics were last reset. Times are in milliseconds.";
+
+  public static final String FIELD = "field";
+  public static final String FUNCTION = "function";
+  public static final String COUNT = "count";
+  public static final String ERRORS = "errors";
+  public static final String MEAN = "meanMillis";
+  public static final String P50 = "p50Millis";
+  public static final String P95 = "p95Millis";
+  public static final String P99 = "p99Millis";
+  public static final String MAX = "maxMillis";
+
+  private StringField field;
+  private BooleanField function;
+  private LongField count;
+  private LongField errors;
+  private FloatField mean;
+  private FloatField p50;
+  private FloatField p95;
+  private FloatField p99;
+  private FloatField max;
+
+  public FieldTimingField() {
+    super(DEFAULT_FIELD_NAME, FIELD_TYPE_NAME, DESCRIPTION);
+    field = new StringField(FIELD);
+    function = new BooleanField(FUNCTION);
+    count = new LongField(COUNT);
+    errors = new LongField(ERRORS);
+    mean = new FloatField(MEAN);
+    p50 = new FloatField(P50);
+    p95 = new FloatField(P95);
+    p99 = new FloatField(P99);
+    max = new FloatField(MAX);
+  }
+
+  public FieldTimingField timing(FieldTiming timing) {
+    field.setValue(timing.getField());
+    function.setValue(timing.isFunction());
+    count.setValue(timing.getCount());
+    errors.setValue(timing.getErrors());
+    mean.setValue((float) timing.getMeanMillis());
+    p50.setValue((float) timing.getP50Millis());
+    p95.setValue((float) timing.getP95Millis());
+    p99.setValue((float) timing.getP99Millis());
+    max.setValue((float) timing.getMaxMillis());
+    return this;
+  }
+
+  public String field() {
+    return field.getValue();
+  }
+
+  public Boolean function() {
+    return function.getValue();
+  }
+
+  public Long count() {
+    return count.getValue();
+  }
+
+  public Long errors() {
+    return errors.getValue();
+  }
+
+  @Override
+  public List<Field> getFields() {
+    return ImmutableList.of(field, function, count, errors, mean, p50, p95, p99, max);
+  }
+
+  public static class ListImpl extends BaseListField<FieldTimingField> {
+
+    public static final String DEFAULT_FIELD_NAME = "fieldTimings";
+
+    public ListImpl() {
+      super(DEFAULT_FIELD_NAME);
+    }
+
+    @Override
+    public Callable<FieldTimingField> getCreateListEntryCallable() {
+      return FieldTimingField::new;
+    }
+
+    @Override
+    public ListImpl addAll(Collection<FieldTimingField> values) {
+      super.addAll(values);
+      return this;
+    }
+  }
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) Codice Foundation
+ *
+ * <p>This is free software: you can redistribute it and/or modify it under the terms of the GNU
+ * Lesser General Public License as published by the Free Software Foundation, either version 3 of
+ * the License, or any later version.
+ *
+ * <p>This program is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU Lesser General Public License for more details. A copy of the GNU Lesser General Public
+ * License is distributed along with this program and can be found at
+ * <http://www.gnu.org/licenses/lgpl.html>.
+ */
+package org.codice.ddf.admin.metrics
+
+import org.codice.ddf.admin.api.metrics.FieldTiming
+import org.codice.ddf.admin.api.metrics.GraphQLMetricsMXBean
+import org.codice.ddf.admin.metrics.discover.GetFieldTimings
+import org.codice.ddf.admin.metrics.fields.FieldTimingField
+import spock.lang.Specification
+
+import javax.management.MBeanServer
+import javax.management.MBeanServerFactory
+import javax.management.ObjectName
+
+class GetFieldTimingsTest extends Specification {
+
+    MBeanServer mBeanServer
+
+    def setup() {
+        mBeanServer = MBeanServerFactory.newMBeanServer()
+    }
+
+    def 'Field timings are read from the GraphQL metrics MBean'() {
+        setup:
+        def timing = new FieldTiming('Query.function', true, 3, 1, 2.0, 2.0, 4.0, 4.0, 4.0)
+        def metrics = Mock(GraphQLMetricsMXBean) {
+            getFieldTimings() >> [timing]
+        }
+        mBeanServer.registerMBean(new TestMetrics(metrics), new ObjectName(GraphQLMetricsMXBean.OBJECT_NAME))
+
+        when:
+        def report = new GetFieldTimings(new GraphQLMetricsReader(mBeanServer)).execute([:], [GetFieldTimings.FIELD_NAME])
+        def timings = report.getResult().getList()
+
+        then:
+        timings.size() == 1
+        timings[0].field() == 'Query.function'
+        timings[0].function()
+        timings[0].count() == 3
+        timings[0].errors() == 1
+        timings[0].getValue()[FieldTimingField.P95] == 4.0f
+    }
+
+    def 'No field timings are returned when the GraphQL servlet is not running'() {
+        when:
+        def report = new GetFieldTimings(new GraphQLMetricsReader(mBeanServer)).execute([:], [GetFieldTimings.FIELD_NAME])
+
+        then:
+        report.getResult().getList().isEmpty()
+    }
+
+    static class TestMetrics implements GraphQLMetricsMXBean {
+
+        private final GraphQLMetricsMXBean delegate
+
+        TestMetrics(GraphQLMetricsMXBean delegate) {
+            this.delegate = delegate
+        }
+
+        @Override
+        List<FieldTiming> getFieldTimings() {
+            return delegate.getFieldTimings()
+        }
+
+        @Override
+        long getSchemaRebuilds() {
+            return delegate.getSchemaRebuilds()
+        }
+
+        @Override
+        long getSkippedSchemaRebuilds() {
+            return delegate.getSkippedSchemaRebuilds()
+        }
+
+        @Override
+        long getDocumentCacheHits() {
+            return delegate.getDocumentCacheHits()
+        }
+
+        @Override
+        long getDocumentCacheMisses() {
+            return delegate.getDocumentCacheMisses()
+        }
+
+        @Override
+        void reset() {
+            delegate.reset()
+        }
+    }
+}
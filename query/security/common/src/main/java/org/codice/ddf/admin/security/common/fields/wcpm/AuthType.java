@@ -80,9 +80,10 @@ public class AuthType extends BaseEnumField<String> {
 
     @Override
     public ListImpl useDefaultRequired() {
+      ServiceReader reader = serviceReader;
       newAuthType =
           () -> {
-            AuthType authType = new AuthType(serviceReader);
+            AuthType authType = new AuthType(reader);
             authType.isRequired(true);
             return authType;
           };
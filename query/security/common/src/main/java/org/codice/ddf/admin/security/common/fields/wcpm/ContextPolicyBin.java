@@ -158,9 +158,10 @@ public class ContextPolicyBin extends BaseObjectField {
 
     @Override
     public ListImpl useDefaultRequired() {
+      ServiceReader reader = serviceReader;
       newPolicy =
           () -> {
-            ContextPolicyBin bin = new ContextPolicyBin(serviceReader);
+            ContextPolicyBin bin = new ContextPolicyBin(reader);
             bin.useDefaultRequiredFields();
             return bin;
           };
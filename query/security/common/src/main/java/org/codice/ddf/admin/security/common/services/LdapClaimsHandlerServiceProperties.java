@@ -14,6 +14,7 @@
 package org.codice.ddf.admin.security.common.services;
 
 import java.util.Map;
+import org.codice.ddf.admin.common.services.ConfigReads;
 import org.codice.ddf.internal.admin.configurator.actions.ConfiguratorSuite;
 
 public class LdapClaimsHandlerServiceProperties {
@@ -59,8 +60,8 @@ public class LdapClaimsHandlerServiceProperties {
   }
 
   public Map<String, Map<String, Object>> getLdapClaimsHandlerManagedServices() {
-    return configuratorSuite
-        .getManagedServiceActions()
-        .read(LDAP_CLAIMS_HANDLER_MANAGED_SERVICE_FACTORY_PID);
+    return ConfigReads.read(
+        configuratorSuite.getManagedServiceActions(),
+        LDAP_CLAIMS_HANDLER_MANAGED_SERVICE_FACTORY_PID);
   }
 }
@@ -14,6 +14,7 @@
 package org.codice.ddf.admin.security.common.services;
 
 import java.util.Map;
+import org.codice.ddf.admin.common.services.ConfigReads;
 import org.codice.ddf.internal.admin.configurator.actions.ConfiguratorSuite;
 
 public class LdapLoginServiceProperties {
@@ -56,8 +57,7 @@ public class LdapLoginServiceProperties {
   }
 
   public Map<String, Map<String, Object>> getLdapLoginManagedServices() {
-    return configuratorSuite
-        .getManagedServiceActions()
-        .read(LDAP_LOGIN_MANAGED_SERVICE_FACTORY_PID);
+    return ConfigReads.read(
+        configuratorSuite.getManagedServiceActions(), LDAP_LOGIN_MANAGED_SERVICE_FACTORY_PID);
   }
 }
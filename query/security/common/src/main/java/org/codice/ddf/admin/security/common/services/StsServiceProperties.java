@@ -17,6 +17,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import org.codice.ddf.admin.common.services.ConfigReads;
 import org.codice.ddf.internal.admin.configurator.actions.ServiceActions;
 
 public class StsServiceProperties {
@@ -29,7 +30,8 @@ public class StsServiceProperties {
   //
 
   public List<String> getConfiguredStsClaims(ServiceActions serviceActions) {
-    Map<String, Object> stsConfig = serviceActions.read(STS_CLAIMS_CONFIGURATION_CONFIG_ID);
+    Map<String, Object> stsConfig =
+        ConfigReads.read(serviceActions, STS_CLAIMS_CONFIGURATION_CONFIG_ID);
 
     return stsConfig != null
         ? Arrays.asList((String[]) stsConfig.get(STS_CLAIMS_PROPS_KEY_CLAIMS))
@@ -33,6 +33,7 @@ import org.codice.ddf.admin.api.fields.FunctionField;
 import org.codice.ddf.admin.common.fields.base.BaseFunctionField;
 import org.codice.ddf.admin.common.fields.base.scalar.BooleanField;
 import org.codice.ddf.admin.common.report.message.DefaultMessages;
+import org.codice.ddf.admin.common.services.ServiceCommons;
 import org.codice.ddf.admin.configurator.Configurator;
 import org.codice.ddf.admin.configurator.ConfiguratorFactory;
 import org.codice.ddf.admin.configurator.OperationReport;
@@ -92,7 +93,7 @@ public class InstallEmbeddedLdap extends BaseFunctionField<BooleanField> {
         break;
     }
 
-    OperationReport report = configurator.commit("Installed Embedded LDAP");
+    OperationReport report = ServiceCommons.commit(configurator, "Installed Embedded LDAP");
 
     if (report.containsFailedResults()) {
       addErrorMessage(failedPersistError());
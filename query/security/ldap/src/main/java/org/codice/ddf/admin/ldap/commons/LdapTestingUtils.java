@@ -26,7 +26,11 @@ import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import javax.net.ssl.SSLContext;
+import org.codice.ddf.admin.api.progress.ProbeProgress;
+import org.codice.ddf.admin.api.progress.ProgressEvent;
+import org.codice.ddf.admin.api.progress.RequestDeadline;
 import org.codice.ddf.admin.api.report.Report;
 import org.codice.ddf.admin.common.report.Reports;
 import org.codice.ddf.admin.ldap.fields.LdapDistinguishedName;
@@ -42,6 +46,7 @@ import org.forgerock.opendj.ldap.requests.Requests;
 import org.forgerock.opendj.ldap.responses.SearchResultEntry;
 import org.forgerock.opendj.ldif.ConnectionEntryReader;
 import org.forgerock.util.Options;
+import org.forgerock.util.time.Duration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -52,8 +57,17 @@ public class LdapTestingUtils {
 
   private static final String HTTP_PROTOCOLS_SYS_PROP = "https.protocols";
 
+  private static final String CONNECT_STAGE = "Connect to %s:%d";
+
+  private static final String BIND_STAGE = "Bind as %s";
+
+  // The default connect timeout of the connection factory
+  private static final long CONNECT_TIMEOUT_MILLIS = 10000;
+
   /**
-   * Attempts to connect to the given ldap address given the hostname, port, and encryptionMethod
+   * Attempts to connect to the given ldap address given the hostname, port, and encryptionMethod.
+   * The connection and its requests time out no later than the {@link RequestDeadline} of the
+   * request, and no connection is attempted once it has passed.
    *
    * <p>Possible message types: FAILED_TEST_SETUP, CANNOT_CONNECT, FAILED_TEST_SETUP
    *
@@ -62,6 +76,25 @@ public class LdapTestingUtils {
   @SuppressWarnings("squid:S2095" /* Method returns an open LdapConnectionAttempt */)
   public LdapConnectionAttempt getLdapConnection(LdapConnectionField connection) {
     Options ldapOptions = Options.defaultOptions();
+    String stage = String.format(CONNECT_STAGE, connection.hostname(), connection.port());
+
+    RequestDeadline deadline = RequestDeadline.current();
+    if (deadline.isExpired()) {
+      LOGGER.debug(
+          "Request deadline passed, not connecting to [{}:{}]",
+          connection.hostname(),
+          connection.port());
+      ProbeProgress.current().report(ProgressEvent.LDAP_STAGE, stage, false);
+      return new LdapConnectionAttempt().addErrorMessage(cannotConnectError(connection.getPath()));
+    }
+
+    ldapOptions.set(
+        LDAPConnectionFactory.CONNECT_TIMEOUT,
+        timeout(deadline.limit(CONNECT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)));
+    long remainingMillis = deadline.remaining(TimeUnit.MILLISECONDS);
+    if (remainingMillis != Long.MAX_VALUE) {
+      ldapOptions.set(LDAPConnectionFactory.REQUEST_TIMEOUT, timeout(remainingMillis));
+    }
 
     try {
       if (connection.encryptionMethod().equals(LDAPS) //
@@ -97,9 +130,11 @@ public class LdapTestingUtils {
     } catch (Exception e) {
       LOGGER.debug(
           "Error opening LDAP connection to [{}:{}]", connection.hostname(), connection.port());
+      ProbeProgress.current().report(ProgressEvent.LDAP_STAGE, stage, false);
       return new LdapConnectionAttempt().addErrorMessage(cannotConnectError(connection.getPath()));
     }
 
+    ProbeProgress.current().report(ProgressEvent.LDAP_STAGE, stage, true);
     return new LdapConnectionAttempt(ldapConnection);
   }
 
@@ -124,6 +159,7 @@ public class LdapTestingUtils {
     }
 
     Connection connection = connectionAttempt.getResult();
+    String stage = String.format(BIND_STAGE, bindInfo.credentialsField().username());
 
     try {
       BindRequest bindRequest =
@@ -136,6 +172,7 @@ public class LdapTestingUtils {
       connection.bind(bindRequest);
     } catch (Exception e) {
       LOGGER.debug("Error binding to LDAP", e);
+      ProbeProgress.current().report(ProgressEvent.LDAP_STAGE, stage, false);
       try {
         connectionAttempt.close();
       } catch (IOException closeException) {
@@ -145,6 +182,7 @@ public class LdapTestingUtils {
           .addErrorMessage(LdapMessages.cannotBindError(bindInfo.getPath()));
     }
 
+    ProbeProgress.current().report(ProgressEvent.LDAP_STAGE, stage, true);
     return new LdapConnectionAttempt(connection);
   }
 
@@ -175,8 +213,9 @@ public class LdapTestingUtils {
     }
 
     List<SearchResultEntry> entries = new ArrayList<>();
+    RequestDeadline deadline = RequestDeadline.current();
     try {
-      while (entries.size() < maxResults && reader.hasNext()) {
+      while (entries.size() < maxResults && !deadline.isExpired() && reader.hasNext()) {
         if (!reader.isReference()) {
           SearchResultEntry resultEntry = reader.readEntry();
           entries.add(resultEntry);
@@ -192,6 +231,10 @@ public class LdapTestingUtils {
     return entries;
   }
 
+  private static Duration timeout(long millis) {
+    return Duration.duration(Math.max(1, millis), TimeUnit.MILLISECONDS);
+  }
+
   private static BindRequest selectBindMethod(
       String bindMethod, String bindUser, String password, String realm, String kdcAddress) {
     BindRequest request;
@@ -13,6 +13,9 @@
  */
 package org.codice.ddf.admin.ldap.discover;
 
+import static org.codice.ddf.admin.security.common.services.LdapClaimsHandlerServiceProperties.LDAP_CLAIMS_HANDLER_MANAGED_SERVICE_FACTORY_PID;
+import static org.codice.ddf.admin.security.common.services.LdapLoginServiceProperties.LDAP_LOGIN_MANAGED_SERVICE_FACTORY_PID;
+
 import com.google.common.collect.ImmutableSet;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
@@ -61,6 +64,17 @@ public class GetLdapConfigurations extends GetFunctionField<ListField<LdapConfig
     return new GetLdapConfigurations(configuratorSuite);
   }
 
+  @Override
+  protected Object getResultSource() {
+    return configuratorSuite;
+  }
+
+  @Override
+  protected Set<String> getResultDependencies() {
+    return ImmutableSet.of(
+        LDAP_LOGIN_MANAGED_SERVICE_FACTORY_PID, LDAP_CLAIMS_HANDLER_MANAGED_SERVICE_FACTORY_PID);
+  }
+
   @Override
   public Set<String> getFunctionErrorCodes() {
     return ImmutableSet.of();
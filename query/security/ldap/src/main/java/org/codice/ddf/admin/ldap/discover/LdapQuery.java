@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.codice.ddf.admin.api.Field;
+import org.codice.ddf.admin.api.fields.FunctionCost;
 import org.codice.ddf.admin.api.fields.FunctionField;
 import org.codice.ddf.admin.common.fields.base.BaseFunctionField;
 import org.codice.ddf.admin.common.fields.base.scalar.IntegerField;
@@ -132,7 +133,7 @@ public class LdapQuery extends BaseFunctionField<MapField.ListImpl> {
 
   @Override
   public FunctionField<MapField.ListImpl> newInstance() {
-    return new LdapQuery();
+    return copy();
   }
 
   @Override
@@ -153,4 +154,9 @@ public class LdapQuery extends BaseFunctionField<MapField.ListImpl> {
   private void setTestingUtils(LdapTestingUtils utils) {
     this.utils = utils;
   }
+
+  @Override
+  public FunctionCost getCost() {
+    return FunctionCost.NETWORK_PROBE;
+  }
 }
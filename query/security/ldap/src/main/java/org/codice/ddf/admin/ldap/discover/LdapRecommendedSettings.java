@@ -19,6 +19,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Set;
 import org.codice.ddf.admin.api.Field;
+import org.codice.ddf.admin.api.fields.FunctionCost;
 import org.codice.ddf.admin.api.fields.FunctionField;
 import org.codice.ddf.admin.common.fields.base.BaseFunctionField;
 import org.codice.ddf.admin.common.report.message.DefaultMessages;
@@ -116,4 +117,9 @@ public class LdapRecommendedSettings extends BaseFunctionField<LdapRecommendedSe
   private void setTestingUtils(LdapTestingUtils utils) {
     this.utils = utils;
   }
+
+  @Override
+  public FunctionCost getCost() {
+    return FunctionCost.NETWORK_PROBE;
+  }
 }
@@ -20,6 +20,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 import org.codice.ddf.admin.api.Field;
+import org.codice.ddf.admin.api.fields.FunctionCost;
 import org.codice.ddf.admin.api.fields.FunctionField;
 import org.codice.ddf.admin.common.fields.base.BaseFunctionField;
 import org.codice.ddf.admin.common.fields.base.scalar.StringField;
@@ -117,4 +118,9 @@ public class LdapUserAttributes extends BaseFunctionField<StringField.ListImpl>
   private void setTestingUtils(LdapTestingUtils utils) {
     this.utils = utils;
   }
+
+  @Override
+  public FunctionCost getCost() {
+    return FunctionCost.NETWORK_PROBE;
+  }
 }
@@ -35,6 +35,7 @@ import org.codice.ddf.admin.common.fields.base.BaseFunctionField;
 import org.codice.ddf.admin.common.fields.base.scalar.BooleanField;
 import org.codice.ddf.admin.common.fields.base.scalar.StringField;
 import org.codice.ddf.admin.common.report.message.DefaultMessages;
+import org.codice.ddf.admin.common.services.ServiceCommons;
 import org.codice.ddf.admin.configurator.Configurator;
 import org.codice.ddf.admin.configurator.OperationReport;
 import org.codice.ddf.admin.ldap.commons.LdapServiceCommons;
@@ -135,7 +136,7 @@ public class CreateLdapConfiguration extends BaseFunctionField<BooleanField> {
     OperationReport report =
         AccessController.doPrivileged(
             (PrivilegedAction<OperationReport>)
-                () -> configurator.commit("Creating LDAP configuration."));
+                () -> ServiceCommons.commit(configurator, "Creating LDAP configuration."));
 
     if (report.containsFailedResults()) {
       addErrorMessage(failedPersistError());
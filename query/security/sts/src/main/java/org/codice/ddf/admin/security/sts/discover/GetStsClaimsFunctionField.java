@@ -13,6 +13,8 @@
  */
 package org.codice.ddf.admin.security.sts.discover;
 
+import static org.codice.ddf.admin.security.common.services.StsServiceProperties.STS_CLAIMS_CONFIGURATION_CONFIG_ID;
+
 import com.google.common.collect.ImmutableSet;
 import java.util.List;
 import java.util.Set;
@@ -65,6 +67,16 @@ public class GetStsClaimsFunctionField extends GetFunctionField<ListField<StsCla
     return new GetStsClaimsFunctionField(serviceActions);
   }
 
+  @Override
+  protected Object getResultSource() {
+    return serviceActions;
+  }
+
+  @Override
+  protected Set<String> getResultDependencies() {
+    return ImmutableSet.of(STS_CLAIMS_CONFIGURATION_CONFIG_ID);
+  }
+
   @Override
   public Set<String> getFunctionErrorCodes() {
     return ImmutableSet.of();
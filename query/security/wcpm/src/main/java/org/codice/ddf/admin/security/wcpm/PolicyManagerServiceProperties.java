@@ -21,6 +21,7 @@ import java.util.Map;
 import java.util.stream.Collectors;
 import org.apache.commons.collections.ListUtils;
 import org.codice.ddf.admin.common.fields.common.ContextPath;
+import org.codice.ddf.admin.common.services.ConfigReads;
 import org.codice.ddf.admin.common.services.ServiceCommons;
 import org.codice.ddf.admin.security.common.fields.wcpm.ContextPolicyBin;
 import org.codice.ddf.internal.admin.configurator.actions.ConfiguratorSuite;
@@ -143,7 +144,8 @@ public class PolicyManagerServiceProperties {
 
   public static List<String> getWhitelistContexts(ConfiguratorSuite configuratorSuite) {
     Object whitelistProp =
-        configuratorSuite.getServiceActions().read(POLICY_MANAGER_PID).get(WHITE_LIST_CONTEXT);
+        ConfigReads.read(configuratorSuite.getServiceActions(), POLICY_MANAGER_PID)
+            .get(WHITE_LIST_CONTEXT);
 
     if (whitelistProp instanceof String[]) {
       return new ServiceCommons(configuratorSuite).resolveProperties((String[]) whitelistProp);
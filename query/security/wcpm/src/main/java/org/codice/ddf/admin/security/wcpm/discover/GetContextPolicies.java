@@ -13,6 +13,8 @@
  */
 package org.codice.ddf.admin.security.wcpm.discover;
 
+import static org.codice.ddf.admin.security.wcpm.PolicyManagerServiceProperties.POLICY_MANAGER_PID;
+
 import com.google.common.collect.ImmutableSet;
 import java.util.Set;
 import org.codice.ddf.admin.api.fields.FunctionField;
@@ -55,6 +57,16 @@ public class GetContextPolicies extends GetFunctionField<ContextPolicyBin.ListIm
     return new GetContextPolicies(serviceReader);
   }
 
+  @Override
+  protected Object getResultSource() {
+    return serviceReader;
+  }
+
+  @Override
+  protected Set<String> getResultDependencies() {
+    return ImmutableSet.of(POLICY_MANAGER_PID);
+  }
+
   @Override
   public Set<String> getFunctionErrorCodes() {
     return ImmutableSet.of();
@@ -32,6 +32,7 @@ import org.codice.ddf.admin.api.fields.FunctionField;
 import org.codice.ddf.admin.common.fields.base.BaseFunctionField;
 import org.codice.ddf.admin.common.fields.base.scalar.StringField;
 import org.codice.ddf.admin.common.report.message.DefaultMessages;
+import org.codice.ddf.admin.common.services.ServiceCommons;
 import org.codice.ddf.admin.configurator.Configurator;
 import org.codice.ddf.admin.configurator.OperationReport;
 import org.codice.ddf.admin.security.common.SecurityMessages;
@@ -82,7 +83,7 @@ public class SaveContextPolices extends BaseFunctionField<ContextPolicyBin.ListI
                     .contextPoliciesToPolicyManagerProps(contextPolicies.getList()),
                 true));
 
-    OperationReport configReport = configurator.commit("Web Context Policy saved.");
+    OperationReport configReport = ServiceCommons.commit(configurator, "Web Context Policy saved.");
 
     if (configReport.containsFailedResults()) {
       addErrorMessage(failedPersistError());
@@ -156,7 +157,7 @@ public class SaveContextPolices extends BaseFunctionField<ContextPolicyBin.ListI
 
   @Override
   public FunctionField<ContextPolicyBin.ListImpl> newInstance() {
-    return new SaveContextPolices(configuratorSuite);
+    return copy();
   }
 
   @Override
@@ -25,6 +25,7 @@ import org.codice.ddf.admin.api.Field;
 import org.codice.ddf.admin.common.fields.base.BaseFunctionField;
 import org.codice.ddf.admin.common.fields.common.ContextPath;
 import org.codice.ddf.admin.common.report.message.DefaultMessages;
+import org.codice.ddf.admin.common.services.ServiceCommons;
 import org.codice.ddf.admin.configurator.Configurator;
 import org.codice.ddf.admin.configurator.OperationReport;
 import org.codice.ddf.admin.security.wcpm.PolicyManagerServiceProperties;
@@ -71,7 +72,7 @@ public class SaveWhitelistContexts extends BaseFunctionField<ContextPath.ListImp
                 new PolicyManagerServiceProperties().whiteListToPolicyManagerProps(contexts),
                 true));
 
-    OperationReport configReport = configurator.commit("Whitelist Contexts saved.");
+    OperationReport configReport = ServiceCommons.commit(configurator, "Whitelist Contexts saved.");
 
     if (configReport.containsFailedResults()) {
       addErrorMessage(failedPersistError());
@@ -21,10 +21,14 @@ import java.net.URLConnection;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import javax.ws.rs.ProcessingException;
 import javax.ws.rs.core.Response;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.cxf.jaxrs.client.WebClient;
+import org.codice.ddf.admin.api.progress.ProbeProgress;
+import org.codice.ddf.admin.api.progress.ProgressEvent;
+import org.codice.ddf.admin.api.progress.RequestDeadline;
 import org.codice.ddf.admin.api.report.Report;
 import org.codice.ddf.admin.common.fields.common.CredentialsField;
 import org.codice.ddf.admin.common.fields.common.ResponseField;
@@ -86,6 +90,10 @@ public class RequestUtils {
       return responseResult;
     }
 
+    if (RequestDeadline.current().isExpired()) {
+      return Reports.from(cannotConnectError(urlField.getPath()));
+    }
+
     try {
       Response response = webClient.get();
       return Reports.from(responseFieldFromResponse(response, urlField));
@@ -136,6 +144,11 @@ public class RequestUtils {
     if (endpointIsReachableReport.containsErrorMessages()) {
       return Reports.fromErrors(endpointIsReachable(urlField));
     }
+
+    if (RequestDeadline.current().isExpired()) {
+      return Reports.from(cannotConnectError(urlField.getPath()));
+    }
+
     try {
       Response response = webClient.post(content);
       return Reports.from(responseFieldFromResponse(response, urlField));
@@ -146,7 +159,8 @@ public class RequestUtils {
   }
 
   /**
-   * Attempts to open a connection to a URL.
+   * Attempts to open a connection to a URL. The connection times out no later than the {@link
+   * RequestDeadline} of the request, and is not attempted once it has passed.
    *
    * <p>Possible Error Codes to be returned - {@link
    * org.codice.ddf.admin.common.report.message.DefaultMessages#CANNOT_CONNECT}
@@ -156,14 +170,29 @@ public class RequestUtils {
    *     org.codice.ddf.admin.api.report.ErrorMessage}s on failure.
    */
   public Report<Void> endpointIsReachable(UrlField urlField) {
+    ProbeProgress probe = ProbeProgress.current();
+    probe.report(ProgressEvent.URL_TRIED, urlField.getValue(), true);
+
+    RequestDeadline deadline = RequestDeadline.current();
+    if (deadline.isExpired()) {
+      LOGGER.debug("Request deadline passed, not connecting to {}.", urlField);
+      probe.report(ProgressEvent.REACHABILITY, urlField.getValue(), false);
+      return Reports.from(cannotConnectError(urlField.getPath()));
+    }
+
+    int timeoutMillis =
+        (int) Math.max(1, deadline.limit(CLIENT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
     URLConnection urlConnection = null;
     try {
       urlConnection = new URL(urlField.getValue()).openConnection();
-      urlConnection.setConnectTimeout(CLIENT_TIMEOUT_MILLIS);
+      urlConnection.setConnectTimeout(timeoutMillis);
+      urlConnection.setReadTimeout(timeoutMillis);
       urlConnection.connect();
       LOGGER.debug("Successfully reached {}.", urlField);
+      probe.report(ProgressEvent.REACHABILITY, urlField.getValue(), true);
     } catch (IOException e) {
       LOGGER.debug("Failed to reach {}, returning an error.", urlField, e);
+      probe.report(ProgressEvent.REACHABILITY, urlField.getValue(), false);
       return Reports.from(cannotConnectError(urlField.getPath()));
     } finally {
       try {
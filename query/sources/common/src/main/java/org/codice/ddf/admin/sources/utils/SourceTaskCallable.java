@@ -15,6 +15,8 @@ package org.codice.ddf.admin.sources.utils;
 
 import java.util.concurrent.Callable;
 import java.util.function.BiFunction;
+import org.codice.ddf.admin.api.progress.ProbeProgress;
+import org.codice.ddf.admin.api.progress.ProgressEvent;
 import org.codice.ddf.admin.api.report.Report;
 import org.codice.ddf.admin.common.fields.common.CredentialsField;
 import org.codice.ddf.admin.common.fields.common.HostField;
@@ -48,6 +50,8 @@ public class SourceTaskCallable<T> implements Callable<Report<T>> {
     requestUrl.setValue(formattedUrl);
 
     Report<T> configResult = function.apply(requestUrl, creds);
+    ProbeProgress.current()
+        .report(ProgressEvent.PARSE, formattedUrl, !configResult.containsErrorMessages());
 
     if (!configResult.containsErrorMessages()) {
       return configResult;
@@ -22,6 +22,8 @@ import ddf.catalog.source.Source;
 import java.io.IOException;
 import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -31,6 +33,7 @@ import javax.xml.parsers.ParserConfigurationException;
 import org.apache.commons.lang.StringUtils;
 import org.codice.ddf.admin.common.fields.base.scalar.BooleanField;
 import org.codice.ddf.admin.common.fields.common.PidField;
+import org.codice.ddf.admin.common.services.ConfigReads;
 import org.codice.ddf.admin.sources.fields.type.SourceConfigField;
 import org.codice.ddf.internal.admin.configurator.actions.ConfiguratorSuite;
 import org.codice.ddf.platform.util.XMLUtils;
@@ -117,7 +120,7 @@ public class SourceUtilCommons {
       List<String> factoryPids, Function<Map<String, Object>, T> mapper, String pid) {
     List<T> sourceConfigs = new ArrayList<>();
     if (StringUtils.isNotEmpty(pid)) {
-      T config = mapper.apply(configuratorSuite.getServiceActions().read(pid));
+      T config = mapper.apply(ConfigReads.read(configuratorSuite.getServiceActions(), pid));
       config.credentials().password(FLAG_PASSWORD);
       sourceConfigs.add(config);
       return sourceConfigs;
@@ -127,7 +130,9 @@ public class SourceUtilCommons {
         .stream()
         .flatMap(
             factoryPid ->
-                configuratorSuite.getManagedServiceActions().read(factoryPid).values().stream())
+                ConfigReads.read(configuratorSuite.getManagedServiceActions(), factoryPid)
+                    .values()
+                    .stream())
         .map(mapper)
         .forEach(sourceConfigs::add);
 
@@ -135,6 +140,28 @@ public class SourceUtilCommons {
     return sourceConfigs;
   }
 
+  /**
+   * Looks up the source references once and checks the availability of each source configured with
+   * one of the {@code pids}, so that a batch of configurations does not look them up once per
+   * configuration.
+   *
+   * @param pids servicePids of the sources to check
+   * @return the availability of each source found, keyed by servicePid. Pids of sources that could
+   *     not be found are left out
+   */
+  public Map<String, Boolean> getAvailability(Collection<String> pids) {
+    Map<String, Boolean> availability = new HashMap<>();
+    for (Source source : getAllSourceReferences()) {
+      if (source instanceof ConfiguredService) {
+        String servicePid = ((ConfiguredService) source).getConfigurationPid();
+        if (pids.contains(servicePid) && !availability.containsKey(servicePid)) {
+          availability.put(servicePid, source.isAvailable());
+        }
+      }
+    }
+    return availability;
+  }
+
   @SuppressWarnings("squid:S135" /* Two break statements required */)
   public void populateAvailability(BooleanField availability, PidField pid) {
     for (Source source : getAllSourceReferences()) {
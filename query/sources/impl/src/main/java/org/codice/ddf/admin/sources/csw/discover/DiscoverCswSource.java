@@ -18,6 +18,7 @@ import com.google.common.collect.ImmutableSet;
 import java.util.List;
 import java.util.Set;
 import org.codice.ddf.admin.api.Field;
+import org.codice.ddf.admin.api.fields.FunctionCost;
 import org.codice.ddf.admin.api.fields.FunctionField;
 import org.codice.ddf.admin.api.report.Report;
 import org.codice.ddf.admin.common.fields.base.BaseFunctionField;
@@ -88,4 +89,9 @@ public class DiscoverCswSource extends BaseFunctionField<CswSourceConfigurationF
   public Set<String> getFunctionErrorCodes() {
     return ImmutableSet.of(DefaultMessages.CANNOT_CONNECT, DefaultMessages.UNKNOWN_ENDPOINT);
   }
+
+  @Override
+  public FunctionCost getCost() {
+    return FunctionCost.NETWORK_PROBE;
+  }
 }
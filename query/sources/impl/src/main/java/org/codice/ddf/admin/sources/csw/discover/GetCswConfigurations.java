@@ -22,6 +22,7 @@ import com.google.common.collect.ImmutableSet;
 import java.util.List;
 import java.util.Set;
 import org.codice.ddf.admin.api.Field;
+import org.codice.ddf.admin.api.fields.FunctionCost;
 import org.codice.ddf.admin.api.fields.FunctionField;
 import org.codice.ddf.admin.api.fields.ListField;
 import org.codice.ddf.admin.common.fields.base.BaseFunctionField;
@@ -105,4 +106,9 @@ public class GetCswConfigurations extends BaseFunctionField<ListField<CswSourceI
   public Set<String> getFunctionErrorCodes() {
     return ImmutableSet.of(DefaultMessages.NO_EXISTING_CONFIG);
   }
+
+  @Override
+  public FunctionCost getCost() {
+    return FunctionCost.NETWORK_PROBE;
+  }
 }
@@ -18,12 +18,16 @@ import static org.codice.ddf.admin.sources.services.OpenSearchServiceProperties.
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.codice.ddf.admin.api.Field;
+import org.codice.ddf.admin.api.fields.FunctionCost;
 import org.codice.ddf.admin.api.fields.FunctionField;
 import org.codice.ddf.admin.api.fields.ListField;
-import org.codice.ddf.admin.common.fields.base.BaseFunctionField;
+import org.codice.ddf.admin.common.fields.base.BaseBatchFunctionField;
 import org.codice.ddf.admin.common.fields.common.PidField;
 import org.codice.ddf.admin.common.report.message.DefaultMessages;
 import org.codice.ddf.admin.common.services.ServiceCommons;
@@ -32,7 +36,7 @@ import org.codice.ddf.admin.sources.opensearch.OpenSearchSourceInfoField;
 import org.codice.ddf.admin.sources.utils.SourceUtilCommons;
 
 public class GetOpenSearchConfigurations
-    extends BaseFunctionField<ListField<OpenSearchSourceInfoField>> {
+    extends BaseBatchFunctionField<ListField<OpenSearchSourceInfoField>> {
 
   public static final String FIELD_NAME = "sources";
 
@@ -57,24 +61,43 @@ public class GetOpenSearchConfigurations
     pid = new PidField();
   }
 
+  /**
+   * Reads the configurations of every invocation, then checks the availability of all of their
+   * sources at once, so that each source is only checked once however many invocations return it.
+   */
   @Override
-  public ListField<OpenSearchSourceInfoField> performFunction() {
-    ListField<OpenSearchSourceInfoField> cswSourceInfoFields =
-        new OpenSearchSourceInfoField.ListImpl();
-
-    List<OpenSearchSourceConfigurationField> configs =
-        sourceUtilCommons.getSourceConfigurations(
-            OPENSEARCH_FACTORY_PIDS, SERVICE_PROPS_TO_OPENSEARCH_CONFIG, pid.getValue());
-
-    configs.forEach(
-        config -> cswSourceInfoFields.add(new OpenSearchSourceInfoField().config(config)));
+  public List<ListField<OpenSearchSourceInfoField>> performBatchFunction(
+      List<BaseBatchFunctionField<ListField<OpenSearchSourceInfoField>>> functions) {
+    List<ListField<OpenSearchSourceInfoField>> results = new ArrayList<>(functions.size());
+    Set<String> pids = new HashSet<>();
+
+    for (BaseBatchFunctionField<ListField<OpenSearchSourceInfoField>> function : functions) {
+      ListField<OpenSearchSourceInfoField> openSearchSourceInfoFields =
+          new OpenSearchSourceInfoField.ListImpl();
+
+      List<OpenSearchSourceConfigurationField> configs =
+          sourceUtilCommons.getSourceConfigurations(
+              OPENSEARCH_FACTORY_PIDS,
+              SERVICE_PROPS_TO_OPENSEARCH_CONFIG,
+              ((GetOpenSearchConfigurations) function).pid.getValue());
+
+      configs.forEach(
+          config -> {
+            openSearchSourceInfoFields.add(new OpenSearchSourceInfoField().config(config));
+            pids.add(config.pid());
+          });
+      results.add(openSearchSourceInfoFields);
+    }
 
-    for (OpenSearchSourceInfoField sourceInfoField : cswSourceInfoFields.getList()) {
-      sourceUtilCommons.populateAvailability(
-          sourceInfoField.isAvailableField(), sourceInfoField.config().pidField());
+    Map<String, Boolean> availability = sourceUtilCommons.getAvailability(pids);
+    for (ListField<OpenSearchSourceInfoField> openSearchSourceInfoFields : results) {
+      for (OpenSearchSourceInfoField sourceInfoField : openSearchSourceInfoFields.getList()) {
+        sourceInfoField.isAvailable(
+            availability.getOrDefault(sourceInfoField.config().pid(), false));
+      }
     }
 
-    return cswSourceInfoFields;
+    return results;
   }
 
   @Override
@@ -108,4 +131,9 @@ public class GetOpenSearchConfigurations
   public Set<String> getFunctionErrorCodes() {
     return ImmutableSet.of(DefaultMessages.NO_EXISTING_CONFIG);
   }
+
+  @Override
+  public FunctionCost getCost() {
+    return FunctionCost.NETWORK_PROBE;
+  }
 }
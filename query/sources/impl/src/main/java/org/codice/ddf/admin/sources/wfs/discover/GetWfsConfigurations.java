@@ -20,6 +20,7 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import java.util.List;
 import java.util.Set;
+import org.codice.ddf.admin.api.fields.FunctionCost;
 import org.codice.ddf.admin.api.fields.FunctionField;
 import org.codice.ddf.admin.api.fields.ListField;
 import org.codice.ddf.admin.common.fields.base.BaseFunctionField;
@@ -102,4 +103,9 @@ public class GetWfsConfigurations extends BaseFunctionField<ListField<WfsSourceI
   public Set<String> getFunctionErrorCodes() {
     return ImmutableSet.of(DefaultMessages.NO_EXISTING_CONFIG);
   }
+
+  @Override
+  public FunctionCost getCost() {
+    return FunctionCost.NETWORK_PROBE;
+  }
 }
@@ -76,8 +76,8 @@ class GetOpenSearchConfigsSpec extends SourceCommonsSpec {
 
         then:
         1 * managedServiceActions.read(_ as String) >> baseManagedServiceConfigs
-        2 * serviceReader.getServices(_, _) >> [new TestSource(S_PID_1, true)]
-        2 * serviceReader.getServices(_, _) >> [new TestSource(S_PID_2, false)]
+        1 * serviceReader.getServices(_, _) >> [new TestSource(S_PID_1, true)]
+        1 * serviceReader.getServices(_, _) >> [new TestSource(S_PID_2, false)]
         report.getResult() != null
         list.getList().size() == 2
         assertConfig(list.getList().get(0), TEST_SHORT_NAME, S_PID_1, true)
@@ -98,6 +98,27 @@ class GetOpenSearchConfigsSpec extends SourceCommonsSpec {
         assertConfig(list.getList().get(0), TEST_SHORT_NAME, S_PID_2, false)
     }
 
+    def 'Batched invocations look up the sources once'() {
+        setup:
+        serviceActions.read(S_PID_1) >> baseManagedServiceConfigs.get(S_PID_1)
+        serviceActions.read(S_PID_2) >> baseManagedServiceConfigs.get(S_PID_2)
+
+        when:
+        def reports = getOpenSearchConfigsFunction.executeBatch([[(PID): S_PID_1], [(PID): S_PID_2], [:]],
+                [FUNCTION_PATH, FUNCTION_PATH, FUNCTION_PATH])
+        def lists = reports*.getResult().collect { ((ListField) it).getList() }
+
+        then:
+        1 * managedServiceActions.read(_ as String) >> baseManagedServiceConfigs
+        1 * serviceReader.getServices(_, _) >> [new TestSource(S_PID_1, true)]
+        1 * serviceReader.getServices(_, _) >> [new TestSource(S_PID_2, false)]
+        lists*.size() == [1, 1, 2]
+        assertConfig(lists[0][0], TEST_SHORT_NAME, S_PID_1, true)
+        assertConfig(lists[1][0], TEST_SHORT_NAME, S_PID_2, false)
+        assertConfig(lists[2][0], TEST_SHORT_NAME, S_PID_1, true)
+        assertConfig(lists[2][1], TEST_SHORT_NAME, S_PID_2, false)
+    }
+
     def 'Fail due to no existing config with specified pid'() {
         setup:
         args.put(PID, S_PID)